@@ -9,6 +9,7 @@ import java.util.TimeZone;
 
 import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ScheduleMode;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthRange;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.ScrollMultiSelectableCalendarView;
 
 /**
@@ -27,16 +28,14 @@ public class MainActivity extends AppCompatActivity {
         // カレンダーView生成
         ScrollMultiSelectableCalendarView calendarView = (ScrollMultiSelectableCalendarView) findViewById(R.id.calendar_view);
 
+        // 設定の一括変更を開始する。（※endUpdate()で一度だけ再描画する。）
+        calendarView.beginUpdate();
+
         // スケジュールモードをセットする。（※デフォルト：範囲指定）
         calendarView.setScheduleMode(ScheduleMode.RANGE);
 
         // カレンダーの表示範囲を設定する。
-        calendarView.addViewCalendar(getCalendar(2017, 1, 1));
-        calendarView.addViewCalendar(getCalendar(2017, 2, 1));
-        calendarView.addViewCalendar(getCalendar(2017, 3, 1));
-        calendarView.addViewCalendar(getCalendar(2017, 4, 1));
-        calendarView.addViewCalendar(getCalendar(2017, 5, 1));
-        calendarView.addViewCalendar(getCalendar(2017, 6, 1));
+        calendarView.setMonthRange(MonthRange.of(getCalendar(2017, 1, 1), getCalendar(2017, 6, 1)));
 
         // カレンダーの選択範囲を設定する。
         AvailableSchedule availableSchedule = calendarView.getAvailableSchedule();
@@ -44,6 +43,9 @@ public class MainActivity extends AppCompatActivity {
         availableSchedule.selectableToCalendar = getCalendar(2017, 5, 10);
         calendarView.setAvailableSchedule(availableSchedule);
 
+        // 設定の一括変更を終了する。
+        calendarView.endUpdate();
+
         // クリックイベントをセットする。
         calendarView.setOnDateClickListener(new ScrollMultiSelectableCalendarView.OnDateClickListener() {
             @Override
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.CellStateResolver;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 日セルの描画状態の判定のベンチマーク。
+ * <p>12ヶ月分（504セル）の描画状態を、選択中の日の件数毎に求める。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CellStateBenchmark {
+
+    /** 月数 */
+    private static final int MONTHS = 12;
+
+    /** 選択中の日の件数 */
+    @Param({"10", "100", "1000", "10000"})
+    public int selectedDays;
+
+    /** 月毎の1日のカレンダー */
+    private Calendar[] mCalendars;
+    /** 月毎のセル配置 */
+    private MonthGrid[] mMonthGrids;
+
+    /** エポック日化以前のスケジュール */
+    private LegacyCalendarCells.Schedule mLegacySchedule;
+    /** 描画状態の判定 */
+    private CellStateResolver mCellStateResolver;
+
+    /** セル毎の描画状態の格納先 */
+    private final int[] mCellStates = new int[MonthGrid.CELL_COUNT];
+
+    @Setup
+    public void setUp() {
+        mCalendars = new Calendar[MONTHS];
+        mMonthGrids = new MonthGrid[MONTHS];
+        for (int i = 0; i < MONTHS; i++) {
+            int yearMonth = Fixtures.START_YEAR_MONTH + i;
+            mCalendars[i] = EpochDays.toCalendar(EpochDays.firstDayOf(yearMonth));
+            mMonthGrids[i] = MonthGrid.of(yearMonth);
+        }
+
+        int[] selectedEpochDays = Fixtures.selectedEpochDays(selectedDays);
+        mLegacySchedule = Fixtures.newLegacySchedule(selectedEpochDays);
+        mCellStateResolver = new CellStateResolver();
+        mCellStateResolver.setAvailableSchedule(Fixtures.newSchedule(selectedEpochDays));
+    }
+
+    /**
+     * 比較基準：カレンダーオブジェクトによるセル毎の判定。
+     *
+     * @return 描画状態の合計
+     */
+    @Benchmark
+    public int legacyCalendar() {
+        int sum = 0;
+        for (int i = 0; i < MONTHS; i++) {
+            LegacyCalendarCells.resolve(mCalendars[i], mLegacySchedule, mCellStates);
+            sum += sum(mCellStates);
+        }
+        return sum;
+    }
+
+    /**
+     * {@link CellStateResolver}による判定。
+     *
+     * @return 描画状態の合計
+     */
+    @Benchmark
+    public int cellStateResolver() {
+        int sum = 0;
+        for (int i = 0; i < MONTHS; i++) {
+            mCellStateResolver.resolveMonth(mMonthGrids[i], mCellStates);
+            sum += sum(mCellStates);
+        }
+        return sum;
+    }
+
+    /**
+     * 配列の合計を返す。
+     *
+     * @param values 配列
+     * @return 合計
+     */
+    private static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * ベンチマーク用のデータを生成するクラス。
+ * <p>結果を変更前後で比較できるよう、乱数のシードは固定する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+final class Fixtures {
+
+    /** 乱数のシード */
+    static final long SEED = 20170713L;
+
+    /** 開始日（2017年1月1日） */
+    static final int START_DAY = EpochDays.of(2017, 1, 1);
+
+    /** 開始年月 */
+    static final int START_YEAR_MONTH = EpochDays.yearMonthOf(START_DAY);
+
+    /**
+     * コンストラクタ。（※インスタンス化禁止）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * 選択中の日を生成する。
+     * <p>開始日から最短2年（※件数が多い場合は件数の2倍の日数）の期間に散らばった日を返す。
+     *
+     * @param count 件数
+     * @return エポック日の昇順配列（重複なし）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static int[] selectedEpochDays(int count) {
+        int span = spanOf(count);
+        boolean[] used = new boolean[span];
+        int[] epochDays = new int[count];
+        Random random = new Random(SEED);
+        for (int i = 0; i < count; ) {
+            int offset = random.nextInt(span);
+            if (!used[offset]) {
+                used[offset] = true;
+                epochDays[i++] = START_DAY + offset;
+            }
+        }
+        Arrays.sort(epochDays);
+        return epochDays;
+    }
+
+    /**
+     * 選択中の日と同じ期間の日を検索用に生成する。
+     *
+     * @param selectedCount 選択中の日の件数
+     * @param count 件数
+     * @return エポック日の配列
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static int[] queryEpochDays(int selectedCount, int count) {
+        int span = spanOf(selectedCount);
+        int[] epochDays = new int[count];
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < count; i++) {
+            epochDays[i] = START_DAY + random.nextInt(span);
+        }
+        return epochDays;
+    }
+
+    /**
+     * エポック日の配列をカレンダーオブジェクトのリストに変換する。
+     *
+     * @param epochDays エポック日の配列
+     * @return カレンダーオブジェクトのリスト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static List<Calendar> toCalendarList(int[] epochDays) {
+        List<Calendar> calendarList = new ArrayList<>(epochDays.length);
+        for (int epochDay : epochDays) {
+            calendarList.add(EpochDays.toCalendar(epochDay));
+        }
+        return calendarList;
+    }
+
+    /**
+     * 選択可能範囲（開始日から2年）と選択中の日をセットしたスケジュールを生成する。
+     *
+     * @param selectedEpochDays 選択中の日
+     * @return 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static AvailableSchedule newSchedule(int[] selectedEpochDays) {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(START_DAY);
+        availableSchedule.selectableToCalendar = EpochDays.toCalendar(START_DAY + 730);
+        for (int epochDay : selectedEpochDays) {
+            availableSchedule.getSelectedDayIndex().add(epochDay);
+        }
+        return availableSchedule;
+    }
+
+    /**
+     * {@link #newSchedule(int[])}と同じ内容の、エポック日化以前のスケジュールを生成する。
+     *
+     * @param selectedEpochDays 選択中の日
+     * @return スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static LegacyCalendarCells.Schedule newLegacySchedule(int[] selectedEpochDays) {
+        LegacyCalendarCells.Schedule schedule = new LegacyCalendarCells.Schedule();
+        schedule.selectableFromCalendar = EpochDays.toCalendar(START_DAY);
+        schedule.selectableToCalendar = EpochDays.toCalendar(START_DAY + 730);
+        schedule.selectedCalendarList = toCalendarList(selectedEpochDays);
+        return schedule;
+    }
+
+    /**
+     * 件数に応じた期間の日数を返す。
+     *
+     * @param count 件数
+     * @return 日数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int spanOf(int count) {
+        return Math.max(count * 2, 731);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.benchmark;
+
+import java.util.Calendar;
+import java.util.List;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+
+/**
+ * 比較基準：カレンダーオブジェクトによるセル毎の判定。
+ * <p>{@code MonthListAdapter#setViewHolderWeekView}（エポック日化以前）の判定処理を、View操作を除いて移植したもの。
+ * 背景・文字色の代わりに{@link CellState}を返す。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+final class LegacyCalendarCells {
+
+    /**
+     * コンストラクタ。（※インスタンス化禁止）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private LegacyCalendarCells() {
+    }
+
+    /**
+     * 1ヶ月分のセルの日を求める。
+     *
+     * @param calendar 表示するカレンダー（※1日）
+     * @param cellDays セル毎の日の格納先（※日付の無いセルは0）
+     * @return 週数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static int layout(Calendar calendar, int[] cellDays) {
+
+        // 1日の曜日を取得する。
+        int oneOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+
+        // ある月が何週あるか（週の数）
+        int weekOfMonth = calendar.getActualMaximum(Calendar.WEEK_OF_MONTH);
+
+        // ある月が何日あるか（日数）
+        int dayOfMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+
+        int day = 1;
+        for (int i = 0; i < MonthGrid.MAX_WEEKS; i++) {
+            for (int j = 0; j < MonthGrid.DAYS_OF_WEEK; j++) {
+                int cellIndex = i * MonthGrid.DAYS_OF_WEEK + j;
+                if (weekOfMonth < (i + 1) || dayOfMonth < day || (day == 1 && oneOfWeek > (j + 1))) {
+                    cellDays[cellIndex] = 0;
+                    continue;
+                }
+                cellDays[cellIndex] = day;
+                day++;
+            }
+        }
+        return weekOfMonth;
+    }
+
+    /**
+     * 1ヶ月分のセルの描画状態を求める。
+     *
+     * @param calendar 表示するカレンダー（※1日）
+     * @param schedule スケジュール
+     * @param cellStates セル毎の描画状態の格納先（※日付の無いセルは{@link CellState#UNKNOWN}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static void resolve(Calendar calendar, Schedule schedule, int[] cellStates) {
+        int oneOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+        int weekOfMonth = calendar.getActualMaximum(Calendar.WEEK_OF_MONTH);
+        int dayOfMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+
+        int day = 1;
+        for (int i = 0; i < MonthGrid.MAX_WEEKS; i++) {
+            for (int j = 0; j < MonthGrid.DAYS_OF_WEEK; j++) {
+                int cellIndex = i * MonthGrid.DAYS_OF_WEEK + j;
+                if (weekOfMonth < (i + 1) || dayOfMonth < day || (day == 1 && oneOfWeek > (j + 1))) {
+                    cellStates[cellIndex] = CellState.UNKNOWN;
+                    continue;
+                }
+
+                // 日付をカレンダーにセットする。
+                Calendar targetCalendar = Calendar.getInstance();
+                targetCalendar.setTime(calendar.getTime());
+                targetCalendar.set(Calendar.DATE, day);
+
+                cellStates[cellIndex] = resolve(targetCalendar, schedule);
+                day++;
+            }
+        }
+    }
+
+    /**
+     * セルの描画状態を求める。
+     *
+     * @param targetCalendar 対象のカレンダー
+     * @param schedule スケジュール
+     * @return 描画状態
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int resolve(Calendar targetCalendar, Schedule schedule) {
+        int state = CellState.NONE;
+
+        // 選択状態（個別選択）
+        if (schedule.selectedCalendarList != null && !schedule.selectedCalendarList.isEmpty()) {
+            for (Calendar selectedCalendar : schedule.selectedCalendarList) {
+                if (selectedCalendar.compareTo(targetCalendar) == 0) {
+                    state = CellState.SELECTED;
+                }
+            }
+        }
+
+        // 選択状態（範囲選択）
+        Calendar from = schedule.selectedFromCalendar;
+        Calendar to = schedule.selectedToCalendar;
+        if (from != null && to != null) {
+            if (from.compareTo(targetCalendar) <= 0 && to.compareTo(targetCalendar) >= 0) {
+                if (!(from.compareTo(targetCalendar) == 0 || to.compareTo(targetCalendar) == 0)) {
+                    state = CellState.RANGE_MID;
+                } else if (from.compareTo(targetCalendar) == 0 && to.compareTo(targetCalendar) == 0) {
+                    state = CellState.SELECTED;
+                } else if (from.compareTo(targetCalendar) == 0) {
+                    state = CellState.RANGE_FROM;
+                } else {
+                    state = CellState.RANGE_TO;
+                }
+            }
+        } else if (from != null && from.compareTo(targetCalendar) == 0) {
+            state = CellState.CLICKED;
+        }
+
+        // 選択可否
+        Calendar selectableFrom = schedule.selectableFromCalendar;
+        Calendar selectableTo = schedule.selectableToCalendar;
+        if ((selectableFrom != null && selectableFrom.compareTo(targetCalendar) <= 0)
+                && (selectableTo != null && selectableTo.compareTo(targetCalendar) >= 0)) {
+            state |= CellState.FLAG_SELECTABLE;
+        } else if ((selectableFrom != null && selectableFrom.compareTo(targetCalendar) <= 0) && selectableTo == null) {
+            state |= CellState.FLAG_SELECTABLE;
+        } else if (selectableFrom == null && (selectableTo != null && selectableTo.compareTo(targetCalendar) >= 0)) {
+            state |= CellState.FLAG_SELECTABLE;
+        } else {
+            state |= CellState.FLAG_DISABLED;
+        }
+        return state;
+    }
+
+    /**
+     * エポック日化以前のスケジュール。（※選択中の日はカレンダーオブジェクトのリストで保持する。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static final class Schedule {
+        /** 選択可能範囲：開始カレンダー */
+        Calendar selectableFromCalendar;
+        /** 選択可能範囲：終了カレンダー */
+        Calendar selectableToCalendar;
+        /** 選択中のカレンダー */
+        List<Calendar> selectedCalendarList;
+        /** 選択中のカレンダー：選択開始 */
+        Calendar selectedFromCalendar;
+        /** 選択中のカレンダー：選択終了 */
+        Calendar selectedToCalendar;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 月のセル配置の生成のベンチマーク。
+ * <p>{@code months}が{@link MonthGrid}のキャッシュ上限以下の場合はキャッシュヒット、超える場合は毎回生成となる。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonthGridBenchmark {
+
+    /** 月数 */
+    @Param({"12", "1200"})
+    public int months;
+
+    /** 月毎の1日のカレンダー */
+    private Calendar[] mCalendars;
+
+    /** セル毎の日の格納先 */
+    private final int[] mCellDays = new int[MonthGrid.CELL_COUNT];
+
+    @Setup
+    public void setUp() {
+        mCalendars = new Calendar[months];
+        for (int i = 0; i < months; i++) {
+            mCalendars[i] = EpochDays.toCalendar(EpochDays.firstDayOf(Fixtures.START_YEAR_MONTH + i));
+        }
+    }
+
+    /**
+     * 比較基準：カレンダーオブジェクトによるセル配置。
+     *
+     * @return 週数の合計
+     */
+    @Benchmark
+    public int legacyCalendar() {
+        int weeks = 0;
+        for (int i = 0; i < months; i++) {
+            weeks += LegacyCalendarCells.layout(mCalendars[i], mCellDays);
+        }
+        return weeks;
+    }
+
+    /**
+     * {@link MonthGrid#of(int)}によるセル配置。
+     *
+     * @return 週数の合計
+     */
+    @Benchmark
+    public int monthGrid() {
+        int weeks = 0;
+        for (int i = 0; i < months; i++) {
+            weeks += MonthGrid.of(Fixtures.START_YEAR_MONTH + i).getWeekCount();
+        }
+        return weeks;
+    }
+}
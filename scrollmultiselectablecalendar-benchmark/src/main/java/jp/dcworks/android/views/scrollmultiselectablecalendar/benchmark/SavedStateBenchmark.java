@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionIndex;
+
+/**
+ * 選択状態の保存・復元のベンチマーク。
+ * <p>バイト列への書き出しと読み込みを1回とする。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SavedStateBenchmark {
+
+    /** 選択中の日の件数 */
+    @Param({"10", "100", "1000", "10000"})
+    public int selectedDays;
+
+    /** 比較基準：選択中の日をカレンダーのリストで保持したスケジュール */
+    private AvailableSchedule mLegacySchedule;
+    /** 選択状態 */
+    private SelectionIndex mSelectionIndex;
+
+    @Setup
+    public void setUp() {
+        int[] selectedEpochDays = Fixtures.selectedEpochDays(selectedDays);
+        mLegacySchedule = new AvailableSchedule();
+        mLegacySchedule.selectedCalendarList = Fixtures.toCalendarList(selectedEpochDays);
+        mSelectionIndex = Fixtures.newSchedule(selectedEpochDays).getSelectedDayIndex();
+    }
+
+    /**
+     * 比較基準：スケジュールのシリアライズ。（※{@code Bundle#putSerializable}で保存していた方式）
+     *
+     * @return 復元した選択中の件数
+     * @throws IOException 入出力エラー
+     * @throws ClassNotFoundException 復元エラー
+     */
+    @Benchmark
+    public int legacySerializable() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(mLegacySchedule);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        AvailableSchedule restored = (AvailableSchedule) in.readObject();
+        return restored.selectedCalendarList.size();
+    }
+
+    /**
+     * 連続した日の並び（開始日、日数）による保存・復元。（※{@code SavedState}と同じ方式）
+     *
+     * @return 復元した選択中の件数
+     * @throws IOException 入出力エラー
+     */
+    @Benchmark
+    public int selectionRuns() throws IOException {
+        int[] runs = mSelectionIndex.toRuns();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(runs.length);
+        for (int value : runs) {
+            out.writeInt(value);
+        }
+        out.close();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        int length = in.readInt();
+        SelectionIndex restored = new SelectionIndex();
+        for (int i = 0; i < length; i += 2) {
+            int start = in.readInt();
+            int count = in.readInt();
+            restored.addRange(start, start + count - 1);
+        }
+        return restored.size();
+    }
+}
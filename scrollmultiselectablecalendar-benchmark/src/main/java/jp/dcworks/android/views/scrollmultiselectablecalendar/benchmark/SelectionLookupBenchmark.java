@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionIndex;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 選択中の日（個別選択）の検索のベンチマーク。
+ * <p>1回の呼び出しで{@value #QUERIES}件を検索する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectionLookupBenchmark {
+
+    /** 検索件数 */
+    private static final int QUERIES = 1024;
+
+    /** 選択中の日の件数 */
+    @Param({"10", "100", "1000", "10000"})
+    public int selectedDays;
+
+    /** 検索する日（エポック日） */
+    private int[] mQueryEpochDays;
+    /** 検索する日（カレンダー） */
+    private Calendar[] mQueryCalendars;
+
+    /** 比較基準：選択中のカレンダーのリスト */
+    private List<Calendar> mSelectedCalendarList;
+    /** 選択状態 */
+    private SelectionIndex mSelectionIndex;
+
+    @Setup
+    public void setUp() {
+        int[] selectedEpochDays = Fixtures.selectedEpochDays(selectedDays);
+        mSelectedCalendarList = Fixtures.toCalendarList(selectedEpochDays);
+        mSelectionIndex = new SelectionIndex();
+        for (int epochDay : selectedEpochDays) {
+            mSelectionIndex.add(epochDay);
+        }
+
+        mQueryEpochDays = Fixtures.queryEpochDays(selectedDays, QUERIES);
+        mQueryCalendars = new Calendar[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            mQueryCalendars[i] = EpochDays.toCalendar(mQueryEpochDays[i]);
+        }
+    }
+
+    /**
+     * 比較基準：カレンダーオブジェクトのリストの線形探索。
+     *
+     * @return 選択中だった件数
+     */
+    @Benchmark
+    public int legacyCalendarList() {
+        int hits = 0;
+        for (Calendar targetCalendar : mQueryCalendars) {
+            for (Calendar selectedCalendar : mSelectedCalendarList) {
+                if (selectedCalendar.compareTo(targetCalendar) == 0) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * {@link SelectionIndex#contains(int)}による検索。
+     *
+     * @return 選択中だった件数
+     */
+    @Benchmark
+    public int selectionIndex() {
+        int hits = 0;
+        for (int epochDay : mQueryEpochDays) {
+            if (mSelectionIndex.contains(epochDay)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * {@link SelectionIndex#getMonthMask(int)}による検索。（※描画時と同じく年月毎のマスクを参照する。）
+     *
+     * @return 選択中だった件数
+     */
+    @Benchmark
+    public int selectionIndexMonthMask() {
+        int hits = 0;
+        for (int epochDay : mQueryEpochDays) {
+            int mask = mSelectionIndex.getMonthMask(EpochDays.yearMonthOf(epochDay));
+            if ((mask & (1 << (EpochDays.dayOfMonth(epochDay) - 1))) != 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
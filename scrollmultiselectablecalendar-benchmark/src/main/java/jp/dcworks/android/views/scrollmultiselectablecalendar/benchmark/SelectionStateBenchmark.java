@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ScheduleMode;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.SelectionStateMachine;
+
+/**
+ * 日付クリック時の選択状態の遷移のベンチマーク。
+ * <p>1回の呼び出しで{@value #CLICKS}回クリックする。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionStateBenchmark {
+
+    /** クリック回数 */
+    private static final int CLICKS = 256;
+
+    /**
+     * 単一選択モードの状態。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    @State(Scope.Thread)
+    public static class SingleState {
+
+        /** 選択中の日の件数 */
+        @Param({"10", "100", "1000", "10000"})
+        public int selectedDays;
+
+        /** クリックする日（エポック日） */
+        int[] clickEpochDays;
+        /** クリックする日（カレンダー） */
+        Calendar[] clickCalendars;
+
+        /** 比較基準：選択中のカレンダーのリスト */
+        List<Calendar> selectedCalendarList;
+        /** 利用可能スケジュール */
+        AvailableSchedule availableSchedule;
+        /** 再描画が必要な年月 */
+        final DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        @Setup
+        public void setUp() {
+            int[] selectedEpochDays = Fixtures.selectedEpochDays(selectedDays);
+            selectedCalendarList = Fixtures.toCalendarList(selectedEpochDays);
+            availableSchedule = Fixtures.newSchedule(selectedEpochDays);
+
+            clickEpochDays = Fixtures.queryEpochDays(selectedDays, CLICKS);
+            clickCalendars = new Calendar[CLICKS];
+            for (int i = 0; i < CLICKS; i++) {
+                clickCalendars[i] = EpochDays.toCalendar(clickEpochDays[i]);
+            }
+        }
+    }
+
+    /**
+     * 範囲選択モードの状態。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    @State(Scope.Thread)
+    public static class RangeState {
+
+        /** クリックする日（エポック日） */
+        int[] clickEpochDays;
+        /** クリックする日（カレンダー） */
+        Calendar[] clickCalendars;
+
+        /** 比較基準：選択開始 */
+        Calendar selectedFromCalendar;
+        /** 比較基準：選択終了 */
+        Calendar selectedToCalendar;
+        /** 利用可能スケジュール */
+        final AvailableSchedule availableSchedule = Fixtures.newSchedule(new int[0]);
+        /** 再描画が必要な年月 */
+        final DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        @Setup
+        public void setUp() {
+            clickEpochDays = Fixtures.queryEpochDays(0, CLICKS);
+            clickCalendars = new Calendar[CLICKS];
+            for (int i = 0; i < CLICKS; i++) {
+                clickCalendars[i] = EpochDays.toCalendar(clickEpochDays[i]);
+            }
+        }
+    }
+
+    /**
+     * 比較基準：カレンダーオブジェクトのリストによる個別選択の反転。
+     *
+     * @param state 単一選択モードの状態
+     * @return 選択中の件数
+     */
+    @Benchmark
+    public int legacySingleToggle(SingleState state) {
+        List<Calendar> selectedCalendarList = state.selectedCalendarList;
+        for (Calendar calendar : state.clickCalendars) {
+            if (selectedCalendarList.contains(calendar)) {
+                selectedCalendarList.remove(calendar);
+            } else {
+                selectedCalendarList.add(calendar);
+            }
+        }
+        return selectedCalendarList.size();
+    }
+
+    /**
+     * {@link SelectionStateMachine}による個別選択の反転。
+     *
+     * @param state 単一選択モードの状態
+     * @return 結果のフラグの合計
+     */
+    @Benchmark
+    public int singleToggle(SingleState state) {
+        int sum = 0;
+        for (int epochDay : state.clickEpochDays) {
+            sum += SelectionStateMachine.onDateClick(
+                    state.availableSchedule, ScheduleMode.SINGLE, epochDay, state.dirtyMonthSet);
+            state.dirtyMonthSet.clear();
+        }
+        return sum;
+    }
+
+    /**
+     * 比較基準：カレンダーオブジェクトによる範囲選択の遷移。
+     *
+     * @param state 範囲選択モードの状態
+     * @return 範囲が決まった回数
+     */
+    @Benchmark
+    public int legacyRangeToggle(RangeState state) {
+        int fixed = 0;
+        for (Calendar calendar : state.clickCalendars) {
+            if (state.selectedFromCalendar == null) {
+                state.selectedFromCalendar = calendar;
+            } else if (state.selectedToCalendar == null) {
+                if (state.selectedFromCalendar.compareTo(calendar) > 0) {
+                    state.selectedFromCalendar = calendar;
+                } else {
+                    state.selectedToCalendar = calendar;
+                    fixed++;
+                }
+            } else {
+                state.selectedFromCalendar = calendar;
+                state.selectedToCalendar = null;
+            }
+        }
+        return fixed;
+    }
+
+    /**
+     * {@link SelectionStateMachine}による範囲選択の遷移。（※再描画が必要な年月の算出を含む。）
+     *
+     * @param state 範囲選択モードの状態
+     * @return 結果のフラグの合計
+     */
+    @Benchmark
+    public int rangeToggle(RangeState state) {
+        int sum = 0;
+        for (int epochDay : state.clickEpochDays) {
+            sum += SelectionStateMachine.onDateClick(
+                    state.availableSchedule, ScheduleMode.RANGE, epochDay, state.dirtyMonthSet);
+            state.dirtyMonthSet.clear();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.consts;
+
+/**
+ * 日セルの描画状態。
+ * <p>下位3bitに背景の種類、上位bitにフラグを持つ{@code int}で表現する。
+ * <ul>
+ *     <li>{@code NONE}：未選択</li>
+ *     <li>{@code SELECTED}：選択（個別選択、または範囲選択の開始日＝終了日）</li>
+ *     <li>{@code RANGE_FROM}：範囲選択の開始日</li>
+ *     <li>{@code RANGE_TO}：範囲選択の終了日</li>
+ *     <li>{@code RANGE_MID}：範囲選択の開始日、終了日の間</li>
+ *     <li>{@code CLICKED}：範囲選択の開始日（※終了日未決定）</li>
+ *     <li>{@code FLAG_SELECTABLE}：選択可能</li>
+ *     <li>{@code FLAG_DISABLED}：選択不可</li>
+ * </ul>
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class CellState {
+
+    /** 背景：未選択 */
+    public static final int NONE = 0;
+    /** 背景：選択 */
+    public static final int SELECTED = 1;
+    /** 背景：範囲選択の開始日 */
+    public static final int RANGE_FROM = 2;
+    /** 背景：範囲選択の終了日 */
+    public static final int RANGE_TO = 3;
+    /** 背景：範囲選択の開始日、終了日の間 */
+    public static final int RANGE_MID = 4;
+    /** 背景：範囲選択の開始日（※終了日未決定） */
+    public static final int CLICKED = 5;
+
+    /** 背景の種類数 */
+    public static final int BACKGROUND_COUNT = 6;
+
+    /** 背景のマスク */
+    private static final int BACKGROUND_MASK = 0x07;
+
+    /** フラグ：選択不可 */
+    public static final int FLAG_DISABLED = 0x08;
+    /** フラグ：選択可能 */
+    public static final int FLAG_SELECTABLE = 0x10;
+
+    /** 未描画を表す値 */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * コンストラクタ。（※インスタンス化禁止）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private CellState() {
+    }
+
+    /**
+     * 背景の種類を返す。
+     *
+     * @param state 描画状態
+     * @return 背景の種類（{@code NONE}〜{@code CLICKED}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int background(int state) {
+        return state & BACKGROUND_MASK;
+    }
+
+    /**
+     * 選択可能かどうかを返す。
+     *
+     * @param state 描画状態
+     * @return 選択可能な場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static boolean isSelectable(int state) {
+        return state != UNKNOWN && (state & FLAG_SELECTABLE) != 0;
+    }
+
+    /**
+     * 選択不可かどうかを返す。
+     *
+     * @param state 描画状態
+     * @return 選択不可の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static boolean isDisabled(int state) {
+        return state != UNKNOWN && (state & FLAG_DISABLED) != 0;
+    }
+}
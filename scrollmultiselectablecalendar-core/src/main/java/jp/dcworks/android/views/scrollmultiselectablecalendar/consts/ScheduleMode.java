@@ -22,6 +22,7 @@ package jp.dcworks.android.views.scrollmultiselectablecalendar.consts;
  *     <li>{@code SINGLE}：単一選択</li>
  *     <li>{@code RANGE}：範囲選択</li>
  *     <li>{@code DISPLAY}：表示のみ（※選択制御無し。）</li>
+ *     <li>{@code MULTI_RANGE}：複数範囲選択</li>
  * </ul>
  *
  * @author tomo-sato
@@ -30,5 +31,6 @@ package jp.dcworks.android.views.scrollmultiselectablecalendar.consts;
 public enum ScheduleMode {
     SINGLE,
     RANGE,
-    DISPLAY
+    DISPLAY,
+    MULTI_RANGE
 }
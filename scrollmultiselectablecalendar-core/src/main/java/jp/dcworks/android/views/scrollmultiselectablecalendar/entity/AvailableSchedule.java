@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.io.Serializable;
+import java.util.Calendar;
+import java.util.List;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * スケジュールエンティティクラス。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class AvailableSchedule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 選択可能範囲：開始カレンダー */
+    public Calendar selectableFromCalendar;
+    /** 選択可能範囲：終了カレンダー */
+    public Calendar selectableToCalendar;
+
+    /** 選択不可の日：年月毎のビットマスクで保持。（※選択可能範囲内でも選択不可とする。休日、売切れ日等。） */
+    private SelectionIndex mDisabledDayIndex = new SelectionIndex();
+
+    /** 選択中の日：年月毎のビットマスクで選択状態を保持。（※{@code ScheduleMode.SINGLE} 時利用。） */
+    private SelectionIndex mSelectedDayIndex = new SelectionIndex();
+
+    /**
+     * 選択中のカレンダー：選択状態を保持。（※{@code ScheduleMode.SINGLE} 時利用。）
+     * <p>{@link #getSelectedDayIndex()}を参照するリストのため、要素は日付の昇順・重複なしとなる。
+     * 別のリストを代入した場合、次回{@link #getSelectedDayIndex()}呼び出し時に取り込む。
+     */
+    public List<Calendar> selectedCalendarList = new SelectedCalendarList(mSelectedDayIndex);
+
+    /**
+     * 選択中のカレンダー：選択開始。（※{@code ScheduleMode.RANGE} 時利用。）
+     * <p>{@code ScheduleMode.MULTI_RANGE} 時は、範囲が決まっていない選択開始を保持する。
+     */
+    public Calendar selectedFromCalendar;
+    /** 選択中のカレンダー：選択終了。（※{@code ScheduleMode.RANGE} 時利用。） */
+    public Calendar selectedToCalendar;
+
+    /** 選択中の範囲：開始日の昇順・結合済みの区間で保持。（※{@code ScheduleMode.MULTI_RANGE} 時利用。） */
+    private IntervalSet mSelectedRanges = new IntervalSet();
+
+    /**
+     * 選択可能範囲の開始日をエポック日で返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getSelectableFromEpochDay() {
+        return EpochDays.of(this.selectableFromCalendar);
+    }
+
+    /**
+     * 選択可能範囲の終了日をエポック日で返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getSelectableToEpochDay() {
+        return EpochDays.of(this.selectableToCalendar);
+    }
+
+    /**
+     * 選択開始日をエポック日で返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getSelectedFromEpochDay() {
+        return EpochDays.of(this.selectedFromCalendar);
+    }
+
+    /**
+     * 選択終了日をエポック日で返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getSelectedToEpochDay() {
+        return EpochDays.of(this.selectedToCalendar);
+    }
+
+    /**
+     * 選択中の日（個別選択）の選択状態を返す。
+     * <p>{@code selectedCalendarList}に別のリストが代入されている場合、その内容で選択状態を作り直す。
+     *
+     * @return 選択状態
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionIndex getSelectedDayIndex() {
+        if (!(this.selectedCalendarList instanceof SelectedCalendarList)
+                || ((SelectedCalendarList) this.selectedCalendarList).getSelectionIndex() != mSelectedDayIndex) {
+
+            SelectionIndex selectionIndex = new SelectionIndex();
+            if (this.selectedCalendarList != null) {
+                for (Calendar calendar : this.selectedCalendarList) {
+                    selectionIndex.add(EpochDays.of(calendar));
+                }
+            }
+            mSelectedDayIndex = selectionIndex;
+            this.selectedCalendarList = new SelectedCalendarList(selectionIndex);
+        }
+        return mSelectedDayIndex;
+    }
+
+    /**
+     * 選択不可の日を返す。
+     *
+     * @return 選択不可の日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionIndex getDisabledDayIndex() {
+        return mDisabledDayIndex;
+    }
+
+    /**
+     * 引数で指定された日を選択不可にする。
+     *
+     * @param calendar 対象のカレンダー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void addDisabledCalendar(Calendar calendar) {
+        mDisabledDayIndex.add(EpochDays.of(calendar));
+    }
+
+    /**
+     * 引数で指定された範囲の日を選択不可にする。
+     *
+     * @param fromCalendar 開始カレンダー
+     * @param toCalendar 終了カレンダー（※開始日を含む。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void addDisabledRange(Calendar fromCalendar, Calendar toCalendar) {
+        mDisabledDayIndex.addRange(EpochDays.of(fromCalendar), EpochDays.of(toCalendar));
+    }
+
+    /**
+     * 引数で指定された日が選択不可の日かどうかを返す。
+     *
+     * @param epochDay エポック日
+     * @return 選択不可の日の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isDisabled(int epochDay) {
+        return mDisabledDayIndex.contains(epochDay);
+    }
+
+    /**
+     * 選択中の範囲（複数範囲選択）を返す。
+     *
+     * @return 選択中の範囲
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public IntervalSet getSelectedRanges() {
+        return mSelectedRanges;
+    }
+
+    /**
+     * 選択中の日（個別選択）をエポック日の昇順配列で返す。
+     *
+     * @return エポック日の配列（重複なし）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int[] getSelectedEpochDays() {
+        return getSelectedDayIndex().toEpochDays();
+    }
+
+    /**
+     * 引数で指定された日が選択中（個別選択）かどうかを返す。
+     *
+     * @param epochDay エポック日
+     * @return 選択中の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isSelected(int epochDay) {
+        return getSelectedDayIndex().contains(epochDay);
+    }
+
+    /**
+     * 引数で指定された日の選択状態（個別選択）を反転する。
+     * <p>同日かどうかはエポック日で判定する。（※時刻は比較しない。）
+     *
+     * @param calendar 対象のカレンダー
+     * @return 反転後に選択中の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean toggleSelectedCalendar(Calendar calendar) {
+        return getSelectedDayIndex().toggle(EpochDays.of(calendar));
+    }
+
+    /**
+     * 引数で指定された日が選択可能かどうかを返す。
+     * <p>選択可能範囲内、かつ選択不可の日ではない場合に選択可能とする。
+     *
+     * @param epochDay エポック日
+     * @return 選択可能な場合trueを返す。（※選択可能範囲の開始・終了が共に未設定の場合はfalseを返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isSelectable(int epochDay) {
+        return isSelectable(epochDay, getSelectableFromEpochDay(), getSelectableToEpochDay()) && !isDisabled(epochDay);
+    }
+
+    /**
+     * 引数で指定された日が選択可能範囲内かどうかを返す。
+     *
+     * @param epochDay エポック日
+     * @param selectableFrom 選択可能範囲の開始日（エポック日）
+     * @param selectableTo 選択可能範囲の終了日（エポック日）
+     * @return 選択可能な場合trueを返す。（※選択可能範囲の開始・終了が共に未設定の場合はfalseを返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static boolean isSelectable(int epochDay, int selectableFrom, int selectableTo) {
+        if (selectableFrom == EpochDays.NONE && selectableTo == EpochDays.NONE) {
+            return false;
+        }
+        return (selectableFrom == EpochDays.NONE || selectableFrom <= epochDay)
+                && (selectableTo == EpochDays.NONE || epochDay <= selectableTo);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+/**
+ * 日セルの装飾を保持する不変クラス。
+ * <p>日付の下に表示するラベル（料金等）と、日付の上に表示するドット（予約状況等）を保持する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class DayDecoration {
+
+    /** ドット無し */
+    public static final int NO_DOT = 0;
+
+    /** ラベル */
+    private final CharSequence mLabel;
+    /** ドットの色 */
+    private final int mDotColor;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param label ラベル（{@code null}の場合は表示しない。）
+     * @param dotColor ドットの色（{@link #NO_DOT}の場合は表示しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public DayDecoration(CharSequence label, int dotColor) {
+        mLabel = label;
+        mDotColor = dotColor;
+    }
+
+    /**
+     * ラベルを返す。
+     *
+     * @return ラベル（無い場合{@code null}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public CharSequence getLabel() {
+        return mLabel;
+    }
+
+    /**
+     * ドットの色を返す。
+     *
+     * @return ドットの色（無い場合{@link #NO_DOT}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getDotColor() {
+        return mDotColor;
+    }
+
+    /**
+     * ドットを表示するかどうかを返す。
+     *
+     * @return 表示する場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean hasDot() {
+        return mDotColor != NO_DOT;
+    }
+}
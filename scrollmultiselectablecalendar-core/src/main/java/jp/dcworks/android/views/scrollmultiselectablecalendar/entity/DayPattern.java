@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.util.Calendar;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 一括選択の対象とする日のパターンを保持する不変クラス。（曜日指定、N日毎）
+ * <p>対象の日は年月毎のビットマスク（{@link SelectionIndex}と同じ形式）で返す。
+ * 1週分（または1周期分）のビットをシフトで複製して求めるため、処理量は月の日数に比例しない。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class DayPattern {
+
+    /** 曜日のビット：全ての曜日 */
+    private static final int ALL_DAYS_OF_WEEK = 0x7F;
+
+    /** 毎日 */
+    public static final DayPattern EVERY_DAY = new DayPattern(ALL_DAYS_OF_WEEK, 0, 0);
+    /** 平日（月〜金） */
+    public static final DayPattern WEEKDAYS = ofDaysOfWeek(
+            Calendar.MONDAY, Calendar.TUESDAY, Calendar.WEDNESDAY, Calendar.THURSDAY, Calendar.FRIDAY);
+    /** 週末（土・日） */
+    public static final DayPattern WEEKENDS = ofDaysOfWeek(Calendar.SATURDAY, Calendar.SUNDAY);
+
+    /** 曜日のビット（※{@code 1 << (曜日 - Calendar.SUNDAY)}。N日毎の場合は未使用。） */
+    private final int mDaysOfWeek;
+    /** N日毎の基準日（エポック日） */
+    private final int mStartEpochDay;
+    /** N日毎の間隔（※0の場合は曜日指定。） */
+    private final int mStep;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param daysOfWeek 曜日のビット
+     * @param startEpochDay N日毎の基準日（エポック日）
+     * @param step N日毎の間隔（0の場合は曜日指定。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private DayPattern(int daysOfWeek, int startEpochDay, int step) {
+        mDaysOfWeek = daysOfWeek;
+        mStartEpochDay = startEpochDay;
+        mStep = step;
+    }
+
+    /**
+     * 曜日指定のパターンを返す。
+     *
+     * @param daysOfWeek 曜日（{@link Calendar#SUNDAY}〜{@link Calendar#SATURDAY}）
+     * @return パターン
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static DayPattern ofDaysOfWeek(int... daysOfWeek) {
+        int bits = 0;
+        for (int dayOfWeek : daysOfWeek) {
+            if (dayOfWeek < Calendar.SUNDAY || Calendar.SATURDAY < dayOfWeek) {
+                throw new IllegalArgumentException("dayOfWeek=" + dayOfWeek);
+            }
+            bits |= 1 << (dayOfWeek - Calendar.SUNDAY);
+        }
+        return new DayPattern(bits, 0, 0);
+    }
+
+    /**
+     * 基準日からN日毎のパターンを返す。（※基準日より前の日は対象外とする。）
+     *
+     * @param startCalendar 基準日
+     * @param step 間隔（日数。1の場合、基準日以降の毎日。）
+     * @return パターン
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static DayPattern everyNthDay(Calendar startCalendar, int step) {
+        return everyNthDay(EpochDays.of(startCalendar), step);
+    }
+
+    /**
+     * 基準日からN日毎のパターンを返す。（※基準日より前の日は対象外とする。）
+     *
+     * @param startEpochDay 基準日（エポック日）
+     * @param step 間隔（日数。1の場合、基準日以降の毎日。）
+     * @return パターン
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static DayPattern everyNthDay(int startEpochDay, int step) {
+        if (startEpochDay == EpochDays.NONE || step < 1) {
+            throw new IllegalArgumentException("startEpochDay=" + startEpochDay + ", step=" + step);
+        }
+        return new DayPattern(0, startEpochDay, step);
+    }
+
+    /**
+     * 引数で指定された年月の対象の日をビットマスクで返す。
+     *
+     * @param yearMonth 年月キー
+     * @return ビットマスク（※日（1〜31）を{@code 1 << (日 - 1)}で表す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getMonthMask(int yearMonth) {
+        int firstDay = EpochDays.firstDayOf(yearMonth);
+        int mask;
+
+        if (mStep == 0) {
+            // 1日の曜日がビット0になるよう1週分のビットを回転し、7日・14日・28日ずらして複製する。
+            int shift = EpochDays.dayOfWeek(firstDay) - Calendar.SUNDAY;
+            int week = ((mDaysOfWeek >>> shift) | (mDaysOfWeek << (7 - shift))) & ALL_DAYS_OF_WEEK;
+            mask = week | (week << 7);
+            mask |= (mask << 14) | (week << 28);
+        } else {
+            // 月内で最初に対象となる日を求め、間隔を倍にしながら複製する。
+            int offset = mStartEpochDay - firstDay;
+            if (offset < 0) {
+                offset %= mStep;
+                if (offset < 0) {
+                    offset += mStep;
+                }
+            }
+            if (offset >= 31) {
+                return 0;
+            }
+            mask = 1 << offset;
+            for (int width = mStep; width < 31; width <<= 1) {
+                mask |= mask << width;
+            }
+        }
+        return mask & SelectionIndex.fullMask(yearMonth);
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 選択中の範囲（エポック日の区間）を保持するクラス。
+ * <p>区間は開始日の昇順に並べ、重なる区間・隣接する区間は結合して保持する。（※区間同士は常に離れている。）
+ * 日を含む区間の検索、区間の追加位置の検索は二分探索で行う。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class IntervalSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 配列の初期容量 */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** 区間の開始日（エポック日） */
+    private int[] mStarts;
+    /** 区間の終了日（エポック日。※{@code mStarts}と同じ添字） */
+    private int[] mEnds;
+    /** 区間の数 */
+    private int mCount;
+    /** 変更回数 */
+    private transient int mModCount;
+    /** 選択状態の変更の記録先（※{@code null}の場合は記録しない。） */
+    private transient SelectionRecorder mSelectionRecorder;
+
+    /**
+     * コンストラクタ。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public IntervalSet() {
+        mStarts = new int[INITIAL_CAPACITY];
+        mEnds = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * コピーコンストラクタ。
+     *
+     * @param source コピー元
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public IntervalSet(IntervalSet source) {
+        int capacity = Math.max(source.mCount, INITIAL_CAPACITY);
+        mStarts = Arrays.copyOf(source.mStarts, capacity);
+        mEnds = Arrays.copyOf(source.mEnds, capacity);
+        mCount = source.mCount;
+    }
+
+    /**
+     * 選択状態の変更の記録先をセットする。（※コピーコンストラクタではコピーしない。）
+     *
+     * @param selectionRecorder 記録先（{@code null}の場合は記録しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setSelectionRecorder(SelectionRecorder selectionRecorder) {
+        mSelectionRecorder = selectionRecorder;
+    }
+
+    /**
+     * 選択状態の変更の記録先を返す。
+     *
+     * @return 記録先
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionRecorder getSelectionRecorder() {
+        return mSelectionRecorder;
+    }
+
+    /**
+     * 区間の数を返す。
+     *
+     * @return 区間の数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int size() {
+        return mCount;
+    }
+
+    /**
+     * 区間が無いかどうかを返す。
+     *
+     * @return 区間が無い場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isEmpty() {
+        return mCount == 0;
+    }
+
+    /**
+     * 引数で指定された区間の開始日を返す。
+     *
+     * @param index 区間の添字（0〜{@link #size()} - 1）
+     * @return 開始日（エポック日）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getStart(int index) {
+        return mStarts[index];
+    }
+
+    /**
+     * 引数で指定された区間の終了日を返す。
+     *
+     * @param index 区間の添字（0〜{@link #size()} - 1）
+     * @return 終了日（エポック日）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getEnd(int index) {
+        return mEnds[index];
+    }
+
+    /**
+     * 引数で指定された日を含む区間の添字を返す。
+     *
+     * @param epochDay エポック日
+     * @return 区間の添字（含む区間が無い場合は-1を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int indexOf(int epochDay) {
+        int index = firstEndAtLeast(epochDay);
+        return (index < mCount && mStarts[index] <= epochDay) ? index : -1;
+    }
+
+    /**
+     * 引数で指定された日がいずれかの区間に含まれるかどうかを返す。
+     *
+     * @param epochDay エポック日
+     * @return 含まれる場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean contains(int epochDay) {
+        return indexOf(epochDay) >= 0;
+    }
+
+    /**
+     * 区間を追加する。
+     * <p>重なる区間・隣接する区間は1つに結合する。
+     *
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日。開始日を含む。）
+     * @return 追加（結合）後の区間の添字を返す。（開始日が終了日より後の場合は何もせず-1を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int add(int fromEpochDay, int toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            return -1;
+        }
+
+        // 結合対象：終了日が開始日の前日以降、かつ開始日が終了日の翌日以前の区間
+        int from = firstEndAtLeast(fromEpochDay - 1);
+        int to = firstStartAfter(toEpochDay + 1);
+        if (from + 1 == to && mStarts[from] <= fromEpochDay && toEpochDay <= mEnds[from]) {
+            // 既存の区間に含まれる場合は変更しない。
+            return from;
+        }
+        mModCount++;
+
+        // 既存の区間に含まれていなかった日のみ記録する。
+        if (mSelectionRecorder != null) {
+            int epochDay = fromEpochDay;
+            for (int i = from; i < to && epochDay <= toEpochDay; i++) {
+                if (epochDay < mStarts[i]) {
+                    mSelectionRecorder.onRangeChanged(epochDay, Math.min(mStarts[i] - 1, toEpochDay), true);
+                }
+                epochDay = Math.max(epochDay, mEnds[i] + 1);
+            }
+            if (epochDay <= toEpochDay) {
+                mSelectionRecorder.onRangeChanged(epochDay, toEpochDay, true);
+            }
+        }
+
+        if (from == to) {
+            // 結合対象が無い場合は挿入する。
+            insert(from, fromEpochDay, toEpochDay);
+            return from;
+        }
+
+        // 結合対象を先頭の区間にまとめ、残りを詰める。
+        mStarts[from] = Math.min(mStarts[from], fromEpochDay);
+        mEnds[from] = Math.max(mEnds[to - 1], toEpochDay);
+        removeRange(from + 1, to);
+        return from;
+    }
+
+    /**
+     * 引数で指定された区間の集合のうち、範囲に重なる部分を追加する。
+     * <p>処理量はコピー元の全ての区間の数ではなく、範囲に重なる区間の数に比例する。
+     *
+     * @param source 追加元
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日。開始日を含む。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void addAll(IntervalSet source, int fromEpochDay, int toEpochDay) {
+        int to = source.firstStartAfter(toEpochDay);
+        for (int i = source.firstEndAtLeast(fromEpochDay); i < to; i++) {
+            add(Math.max(source.mStarts[i], fromEpochDay), Math.min(source.mEnds[i], toEpochDay));
+        }
+    }
+
+    /**
+     * 引数で指定された範囲の日を区間から除く。
+     * <p>範囲に一部だけ重なる区間は、重ならない部分を残す。（※区間の途中を除く場合は2つに分割する。）
+     *
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日。開始日を含む。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void remove(int fromEpochDay, int toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            return;
+        }
+
+        // 対象：終了日が開始日以降、かつ開始日が終了日以前の区間
+        int from = firstEndAtLeast(fromEpochDay);
+        int to = firstStartAfter(toEpochDay);
+        if (from == to) {
+            return;
+        }
+        mModCount++;
+
+        if (mSelectionRecorder != null) {
+            for (int i = from; i < to; i++) {
+                mSelectionRecorder.onRangeChanged(
+                        Math.max(mStarts[i], fromEpochDay), Math.min(mEnds[i], toEpochDay), false);
+            }
+        }
+
+        boolean keepHead = mStarts[from] < fromEpochDay;
+        boolean keepTail = toEpochDay < mEnds[to - 1];
+        if (keepHead && keepTail && from + 1 == to) {
+            // 1つの区間の途中を除く場合は、後ろ側を挿入する。
+            insert(to, toEpochDay + 1, mEnds[from]);
+            mEnds[from] = fromEpochDay - 1;
+            return;
+        }
+
+        // 先頭・末尾の区間の重ならない部分を残し、残りを詰める。
+        if (keepHead) {
+            mEnds[from] = fromEpochDay - 1;
+            from++;
+        }
+        if (keepTail) {
+            mStarts[to - 1] = toEpochDay + 1;
+            to--;
+        }
+        removeRange(from, to);
+    }
+
+    /**
+     * 引数で指定された区間を削除する。
+     *
+     * @param index 区間の添字（0〜{@link #size()} - 1）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void removeAt(int index) {
+        if (mSelectionRecorder != null) {
+            mSelectionRecorder.onRangeChanged(mStarts[index], mEnds[index], false);
+        }
+        removeRange(index, index + 1);
+        mModCount++;
+    }
+
+    /**
+     * 全ての区間を削除する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void clear() {
+        if (mSelectionRecorder != null) {
+            for (int i = 0; i < mCount; i++) {
+                mSelectionRecorder.onRangeChanged(mStarts[i], mEnds[i], false);
+            }
+        }
+        mCount = 0;
+        mModCount++;
+    }
+
+    /**
+     * 変更回数を返す。（※キャッシュの有効判定に利用する。）
+     *
+     * @return 変更回数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getModCount() {
+        return mModCount;
+    }
+
+    /**
+     * 引数で指定された日から{@code length}日分の、区間に含まれる日をビットマスクで返す。
+     * <p>{@code fromEpochDay + n}日が区間に含まれる場合、{@code 1L << n}のビットを立てる。
+     * 処理量は全ての区間の数ではなく、対象の日に重なる区間の数に比例する。
+     *
+     * @param fromEpochDay 開始日（エポック日）
+     * @param length 日数（1〜64）
+     * @return ビットマスク
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public long toMask(int fromEpochDay, int length) {
+        int toEpochDay = fromEpochDay + length - 1;
+        long mask = 0;
+        for (int i = firstEndAtLeast(fromEpochDay); i < mCount && mStarts[i] <= toEpochDay; i++) {
+            int from = Math.max(mStarts[i], fromEpochDay) - fromEpochDay;
+            int to = Math.min(mEnds[i], toEpochDay) - fromEpochDay;
+            int bitCount = to - from + 1;
+            mask |= ((bitCount == 64) ? -1L : ((1L << bitCount) - 1)) << from;
+        }
+        return mask;
+    }
+
+    /**
+     * 区間を（開始日、日数）の昇順配列で返す。
+     * <p>{@code [開始日0, 日数0, 開始日1, 日数1, ...]}の形式で返す。（※{@link SelectionIndex#toRuns()}と同じ形式）
+     *
+     * @return 区間の配列
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int[] toRuns() {
+        int[] runs = new int[mCount * 2];
+        for (int i = 0; i < mCount; i++) {
+            runs[i * 2] = mStarts[i];
+            runs[i * 2 + 1] = mEnds[i] - mStarts[i] + 1;
+        }
+        return runs;
+    }
+
+    /**
+     * 終了日が引数で指定された日以降となる最初の区間の添字を返す。
+     *
+     * @param epochDay エポック日
+     * @return 区間の添字（該当する区間が無い場合は{@link #size()}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private int firstEndAtLeast(int epochDay) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mEnds[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 開始日が引数で指定された日より後となる最初の区間の添字を返す。
+     *
+     * @param epochDay エポック日
+     * @return 区間の添字（該当する区間が無い場合は{@link #size()}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private int firstStartAfter(int epochDay) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mStarts[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 引数で指定された位置に区間を挿入する。
+     *
+     * @param index 挿入位置の添字
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void insert(int index, int fromEpochDay, int toEpochDay) {
+        if (mCount == mStarts.length) {
+            mStarts = Arrays.copyOf(mStarts, mCount * 2);
+            mEnds = Arrays.copyOf(mEnds, mCount * 2);
+        }
+        System.arraycopy(mStarts, index, mStarts, index + 1, mCount - index);
+        System.arraycopy(mEnds, index, mEnds, index + 1, mCount - index);
+        mStarts[index] = fromEpochDay;
+        mEnds[index] = toEpochDay;
+        mCount++;
+    }
+
+    /**
+     * 引数で指定された添字の範囲の区間を削除する。
+     *
+     * @param from 開始添字
+     * @param to 終了添字（※含まない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void removeRange(int from, int to) {
+        System.arraycopy(mStarts, to, mStarts, from, mCount - to);
+        System.arraycopy(mEnds, to, mEnds, from, mCount - to);
+        mCount -= to - from;
+    }
+}
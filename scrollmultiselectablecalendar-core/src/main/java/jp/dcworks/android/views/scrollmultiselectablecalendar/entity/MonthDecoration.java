@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 1ヶ月分の日セルの装飾を保持する不変クラス。
+ * <p>日（1〜31）毎に{@link DayDecoration}を保持する。（※装飾の無い日は{@code null}）
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class MonthDecoration {
+
+    /** 年月キー */
+    private final int mYearMonth;
+    /** 日毎の装飾（※添字0を1日とする。） */
+    private final DayDecoration[] mDecorations;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param yearMonth 年月キー
+     * @param decorations 日毎の装飾（※添字0を1日とする。月の日数を超える要素は無視する。{@code null}の場合は装飾無し。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public MonthDecoration(int yearMonth, DayDecoration[] decorations) {
+        mYearMonth = yearMonth;
+        mDecorations = new DayDecoration[EpochDays.lengthOfMonth(yearMonth)];
+        if (decorations != null) {
+            System.arraycopy(decorations, 0, mDecorations, 0, Math.min(decorations.length, mDecorations.length));
+        }
+    }
+
+    /**
+     * 年月キーを返す。
+     *
+     * @return 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getYearMonth() {
+        return mYearMonth;
+    }
+
+    /**
+     * 引数で指定された日の装飾を返す。
+     *
+     * @param dayOfMonth 日（1〜31）
+     * @return 装飾（無い場合{@code null}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public DayDecoration get(int dayOfMonth) {
+        return (1 <= dayOfMonth && dayOfMonth <= mDecorations.length) ? mDecorations[dayOfMonth - 1] : null;
+    }
+}
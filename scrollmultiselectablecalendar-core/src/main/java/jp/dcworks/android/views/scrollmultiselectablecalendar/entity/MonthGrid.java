@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 1ヶ月分のセル配置（6週×7日）を保持する不変クラス。
+ * <p>日曜始まりで配置し、セル番号は{@code 週 * 7 + 曜日}（0〜41）とする。
+ * 年月キー毎に一度だけ計算し、{@link #of(int)}でキャッシュから返す。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class MonthGrid {
+
+    /** 1週間の日数 */
+    public static final int DAYS_OF_WEEK = 7;
+    /** 最大週数 */
+    public static final int MAX_WEEKS = 6;
+    /** セル数 */
+    public static final int CELL_COUNT = DAYS_OF_WEEK * MAX_WEEKS;
+
+    /** キャッシュする月数の上限 */
+    private static final int MAX_CACHE_SIZE = 120;
+
+    /** 年月キーをキーとしたキャッシュ（※アクセス順で古いものから破棄する。） */
+    private static final Map<Integer, MonthGrid> CACHE = new LinkedHashMap<Integer, MonthGrid>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, MonthGrid> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /** 年月キー */
+    private final int mYearMonth;
+    /** 1日のエポック日 */
+    private final int mFirstDay;
+    /** 1日の曜日（{@link Calendar#SUNDAY}〜{@link Calendar#SATURDAY}） */
+    private final int mFirstDayOfWeek;
+    /** 日数 */
+    private final int mDayCount;
+    /** 週数 */
+    private final int mWeekCount;
+    /** セル毎の日（※日付の無いセルは0） */
+    private final int[] mCellDays;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param yearMonth 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private MonthGrid(int yearMonth) {
+        mYearMonth = yearMonth;
+        mFirstDay = EpochDays.firstDayOf(yearMonth);
+        mFirstDayOfWeek = EpochDays.dayOfWeek(mFirstDay);
+        mDayCount = EpochDays.lengthOfMonth(yearMonth);
+
+        int offset = mFirstDayOfWeek - Calendar.SUNDAY;
+        mWeekCount = (offset + mDayCount + DAYS_OF_WEEK - 1) / DAYS_OF_WEEK;
+
+        mCellDays = new int[CELL_COUNT];
+        for (int day = 1; day <= mDayCount; day++) {
+            mCellDays[offset + day - 1] = day;
+        }
+    }
+
+    /**
+     * 引数で指定された年月のセル配置を返す。
+     *
+     * @param yearMonth 年月キー
+     * @return セル配置
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static MonthGrid of(int yearMonth) {
+        synchronized (CACHE) {
+            MonthGrid monthGrid = CACHE.get(yearMonth);
+            if (monthGrid == null) {
+                monthGrid = new MonthGrid(yearMonth);
+                CACHE.put(yearMonth, monthGrid);
+            }
+            return monthGrid;
+        }
+    }
+
+    /**
+     * 引数で指定されたカレンダーの年月のセル配置を返す。
+     *
+     * @param calendar カレンダーオブジェクト
+     * @return セル配置
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static MonthGrid of(Calendar calendar) {
+        return of(EpochDays.yearMonthOf(calendar));
+    }
+
+    /**
+     * 年月キーを返す。
+     *
+     * @return 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getYearMonth() {
+        return mYearMonth;
+    }
+
+    /**
+     * 1日のエポック日を返す。
+     *
+     * @return エポック日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getFirstDay() {
+        return mFirstDay;
+    }
+
+    /**
+     * 月末日のエポック日を返す。
+     *
+     * @return エポック日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getLastDay() {
+        return mFirstDay + mDayCount - 1;
+    }
+
+    /**
+     * 1日の曜日を返す。
+     *
+     * @return 曜日（{@link Calendar#SUNDAY}〜{@link Calendar#SATURDAY}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getFirstDayOfWeek() {
+        return mFirstDayOfWeek;
+    }
+
+    /**
+     * 日数を返す。
+     *
+     * @return 日数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getDayCount() {
+        return mDayCount;
+    }
+
+    /**
+     * 週数を返す。
+     *
+     * @return 週数（4〜6）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getWeekCount() {
+        return mWeekCount;
+    }
+
+    /**
+     * セルの日を返す。
+     *
+     * @param cellIndex セル番号（0〜41）
+     * @return 日（※日付の無いセルは0を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getDayOfMonth(int cellIndex) {
+        return mCellDays[cellIndex];
+    }
+
+    /**
+     * セルのエポック日を返す。
+     *
+     * @param cellIndex セル番号（0〜41）
+     * @return エポック日（※日付の無いセルは{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getEpochDay(int cellIndex) {
+        int day = mCellDays[cellIndex];
+        return (day == 0) ? EpochDays.NONE : mFirstDay + day - 1;
+    }
+
+    /**
+     * 日のセル番号を返す。
+     *
+     * @param dayOfMonth 日（1〜日数）
+     * @return セル番号
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getCellIndex(int dayOfMonth) {
+        return mFirstDayOfWeek - Calendar.SUNDAY + dayOfMonth - 1;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 任意に指定された月の並び。
+ * <p>{@code ScrollMultiSelectableCalendarView#addViewCalendar(Calendar)}
+ * で追加されたカレンダーを、年月キーの配列として保持する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class MonthList implements MonthSource {
+
+    /** 空の月の並び */
+    public static final MonthList EMPTY = new MonthList(new int[0]);
+
+    /** 年月キー（※表示順） */
+    private final int[] mYearMonths;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param yearMonths 年月キー（※表示順）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private MonthList(int[] yearMonths) {
+        mYearMonths = yearMonths;
+    }
+
+    /**
+     * 引数で指定されたカレンダーのリストの月の並びを返す。
+     *
+     * @param calendarList カレンダーのリスト（※表示順）
+     * @return 月の並び
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static MonthList of(List<Calendar> calendarList) {
+        int[] yearMonths = new int[calendarList.size()];
+        for (int i = 0; i < yearMonths.length; i++) {
+            yearMonths[i] = EpochDays.yearMonthOf(calendarList.get(i));
+        }
+        return new MonthList(yearMonths);
+    }
+
+    @Override
+    public int getCount() {
+        return mYearMonths.length;
+    }
+
+    @Override
+    public int getYearMonth(int position) {
+        return mYearMonths[position];
+    }
+
+    @Override
+    public int getPosition(int yearMonth) {
+        for (int i = 0; i < mYearMonths.length; i++) {
+            if (mYearMonths[i] == yearMonth) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getInitialPosition() {
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return (o instanceof MonthList) && Arrays.equals(mYearMonths, ((MonthList) o).mYearMonths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(mYearMonths);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.util.Calendar;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 開始年月〜終了年月の連続した月の並び。
+ * <p>位置と年月キーは計算で相互に変換するため、月数に関わらず使用メモリは一定。
+ * 開始、終了を指定しない場合は、基準の年月から{@link #UNBOUNDED_MONTHS}ヶ月先（前）までを表示する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class MonthRange implements MonthSource {
+
+    /** 開始、終了を指定しない場合の月数（基準の年月から片側） */
+    public static final int UNBOUNDED_MONTHS = 12 * 1000;
+
+    /** 開始年月キー */
+    private final int mFromYearMonth;
+    /** 終了年月キー */
+    private final int mToYearMonth;
+    /** 最初に表示する年月キー */
+    private final int mInitialYearMonth;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param fromYearMonth 開始年月キー
+     * @param toYearMonth 終了年月キー
+     * @param initialYearMonth 最初に表示する年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private MonthRange(int fromYearMonth, int toYearMonth, int initialYearMonth) {
+        if (fromYearMonth > toYearMonth) {
+            throw new IllegalArgumentException("fromYearMonth > toYearMonth");
+        }
+        mFromYearMonth = fromYearMonth;
+        mToYearMonth = toYearMonth;
+        mInitialYearMonth = Math.min(Math.max(initialYearMonth, fromYearMonth), toYearMonth);
+    }
+
+    /**
+     * 開始年月〜終了年月の月の並びを返す。
+     *
+     * @param fromCalendar 開始年月（{@code null}の場合、終了年月から{@link #UNBOUNDED_MONTHS}ヶ月前まで）
+     * @param toCalendar 終了年月（{@code null}の場合、開始年月から{@link #UNBOUNDED_MONTHS}ヶ月先まで）
+     * @return 月の並び（※最初に表示する年月は開始年月、開始年月が{@code null}の場合は終了年月とする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static MonthRange of(Calendar fromCalendar, Calendar toCalendar) {
+        if (fromCalendar == null && toCalendar == null) {
+            throw new IllegalArgumentException("fromCalendar and toCalendar are null");
+        }
+        if (fromCalendar == null) {
+            int toYearMonth = EpochDays.yearMonthOf(toCalendar);
+            return new MonthRange(toYearMonth - UNBOUNDED_MONTHS, toYearMonth, toYearMonth);
+        }
+        int fromYearMonth = EpochDays.yearMonthOf(fromCalendar);
+        int toYearMonth = (toCalendar != null) ? EpochDays.yearMonthOf(toCalendar) : fromYearMonth + UNBOUNDED_MONTHS;
+        return new MonthRange(fromYearMonth, toYearMonth, fromYearMonth);
+    }
+
+    /**
+     * 基準の年月から前後{@link #UNBOUNDED_MONTHS}ヶ月の月の並びを返す。
+     *
+     * @param initialCalendar 基準の年月（※最初に表示する年月とする。）
+     * @return 月の並び
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static MonthRange unbounded(Calendar initialCalendar) {
+        int initialYearMonth = EpochDays.yearMonthOf(initialCalendar);
+        return new MonthRange(initialYearMonth - UNBOUNDED_MONTHS, initialYearMonth + UNBOUNDED_MONTHS, initialYearMonth);
+    }
+
+    /**
+     * 開始年月キーを返す。
+     *
+     * @return 開始年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getFromYearMonth() {
+        return mFromYearMonth;
+    }
+
+    /**
+     * 終了年月キーを返す。
+     *
+     * @return 終了年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getToYearMonth() {
+        return mToYearMonth;
+    }
+
+    @Override
+    public int getCount() {
+        return mToYearMonth - mFromYearMonth + 1;
+    }
+
+    @Override
+    public int getYearMonth(int position) {
+        return mFromYearMonth + position;
+    }
+
+    @Override
+    public int getPosition(int yearMonth) {
+        if (yearMonth < mFromYearMonth || mToYearMonth < yearMonth) {
+            return -1;
+        }
+        return yearMonth - mFromYearMonth;
+    }
+
+    @Override
+    public int getInitialPosition() {
+        return mInitialYearMonth - mFromYearMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MonthRange)) {
+            return false;
+        }
+        MonthRange other = (MonthRange) o;
+        return mFromYearMonth == other.mFromYearMonth
+                && mToYearMonth == other.mToYearMonth
+                && mInitialYearMonth == other.mInitialYearMonth;
+    }
+
+    @Override
+    public int hashCode() {
+        return (mFromYearMonth * 31 + mToYearMonth) * 31 + mInitialYearMonth;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+/**
+ * 1ヶ月分の描画内容を保持する不変クラス。
+ * <p>セル配置、セル毎の描画状態（{@link jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState}）、
+ * セル毎の文字色を保持する。バックグラウンドで生成し、描画時はこの内容をViewにコピーするのみとする。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class MonthRenderModel {
+
+    /** セル配置 */
+    private final MonthGrid mMonthGrid;
+    /** 生成元のスケジュールのバージョン（※新しいスケジュールほど大きい。） */
+    private final int mVersion;
+    /** セル毎の描画状態 */
+    private final int[] mCellStates;
+    /** セル毎の文字色 */
+    private final int[] mTextColors;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param monthGrid セル配置
+     * @param version 生成元のスケジュールのバージョン
+     * @param cellStates セル毎の描画状態（※コピーして保持する。）
+     * @param textColors セル毎の文字色（※コピーして保持する。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public MonthRenderModel(MonthGrid monthGrid, int version, int[] cellStates, int[] textColors) {
+        mMonthGrid = monthGrid;
+        mVersion = version;
+        mCellStates = cellStates.clone();
+        mTextColors = textColors.clone();
+    }
+
+    /**
+     * セル配置を返す。
+     *
+     * @return セル配置
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public MonthGrid getMonthGrid() {
+        return mMonthGrid;
+    }
+
+    /**
+     * 年月キーを返す。
+     *
+     * @return 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getYearMonth() {
+        return mMonthGrid.getYearMonth();
+    }
+
+    /**
+     * 生成元のスケジュールのバージョンを返す。
+     *
+     * @return バージョン
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * セルの描画状態を返す。
+     *
+     * @param cellIndex セル番号（0〜41）
+     * @return 描画状態
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getCellState(int cellIndex) {
+        return mCellStates[cellIndex];
+    }
+
+    /**
+     * セルの文字色を返す。
+     *
+     * @param cellIndex セル番号（0〜41）
+     * @return 文字色
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getTextColor(int cellIndex) {
+        return mTextColors[cellIndex];
+    }
+
+    /**
+     * セル毎の描画状態を引数で指定された配列にコピーする。
+     *
+     * @param dest コピー先（※{@link MonthGrid#CELL_COUNT}以上の長さであること。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void copyCellStates(int[] dest) {
+        System.arraycopy(mCellStates, 0, dest, 0, mCellStates.length);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+/**
+ * 月リストに表示する月の並びを表すインターフェース。
+ * <p>リストの位置と年月キーを相互に変換する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public interface MonthSource {
+
+    /**
+     * 月数を返す。
+     *
+     * @return 月数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    int getCount();
+
+    /**
+     * 引数で指定された位置の年月キーを返す。
+     *
+     * @param position 位置（0〜{@link #getCount()} - 1）
+     * @return 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    int getYearMonth(int position);
+
+    /**
+     * 引数で指定された年月キーの位置を返す。
+     *
+     * @param yearMonth 年月キー
+     * @return 位置（※含まれない場合は-1を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    int getPosition(int yearMonth);
+
+    /**
+     * 最初に表示する位置を返す。
+     *
+     * @return 位置
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    int getInitialPosition();
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Calendar;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * {@link SelectionIndex}を{@code List<Calendar>}として扱うためのクラス。
+ * <p>要素は日付の昇順・重複なしとなり、取得する度に新しいカレンダーオブジェクトを返す。
+ * 追加・削除・{@code contains}は{@link SelectionIndex}に委譲する。
+ * <p>要素の位置は日付で決まるため、{@code add(int, Calendar)}・{@code set(int, Calendar)}で指定した位置には格納されない。
+ * 並べ替えはできず、{@code set(int, Calendar)}で他の位置にある日付をセットした場合は{@link IllegalArgumentException}となる。
+ * （※{@code Collections.sort}は昇順の場合のみ利用でき、それ以外の順序の場合は要素を変更せずに例外となる。）
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+class SelectedCalendarList extends AbstractList<Calendar> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 選択状態 */
+    private final SelectionIndex mSelectionIndex;
+
+    /** 要素のエポック日（※{@code get}用のキャッシュ） */
+    private transient int[] mEpochDays;
+    /** キャッシュ生成時の変更回数 */
+    private transient int mEpochDaysModCount;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param selectionIndex 選択状態
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    SelectedCalendarList(SelectionIndex selectionIndex) {
+        mSelectionIndex = selectionIndex;
+    }
+
+    /**
+     * 選択状態を返す。
+     *
+     * @return 選択状態
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    SelectionIndex getSelectionIndex() {
+        return mSelectionIndex;
+    }
+
+    @Override
+    public Calendar get(int index) {
+        if (mEpochDays == null || mEpochDaysModCount != mSelectionIndex.getModCount()) {
+            mEpochDays = mSelectionIndex.toEpochDays();
+            mEpochDaysModCount = mSelectionIndex.getModCount();
+        }
+        if (index < 0 || mEpochDays.length <= index) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + mEpochDays.length);
+        }
+        return EpochDays.toCalendar(mEpochDays[index]);
+    }
+
+    @Override
+    public int size() {
+        return mSelectionIndex.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return (o instanceof Calendar) && mSelectionIndex.contains(EpochDays.of((Calendar) o));
+    }
+
+    @Override
+    public boolean add(Calendar calendar) {
+        modCount++;
+        return mSelectionIndex.add(EpochDays.of(calendar));
+    }
+
+    /**
+     * 要素を追加する。
+     * <p>位置は日付で決まるため、日付の昇順の位置に追加する。（※{@code index}は範囲の検査のみに利用する。）
+     *
+     * @param index 位置（0〜{@link #size()}）
+     * @param calendar 追加するカレンダー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    @Override
+    public void add(int index, Calendar calendar) {
+        if (index < 0 || size() < index) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size());
+        }
+        add(calendar);
+    }
+
+    /**
+     * 要素を置き換える。
+     * <p>指定位置の要素を削除し、新しい要素を日付の昇順の位置に追加する。（※要素数は変わらない。）
+     *
+     * @param index 位置（0〜{@link #size()} - 1）
+     * @param calendar 新しいカレンダー
+     * @return 置き換え前のカレンダー
+     * @throws IllegalArgumentException 新しい要素と同日の要素が、指定位置以外にある場合
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    @Override
+    public Calendar set(int index, Calendar calendar) {
+        Calendar oldCalendar = get(index);
+        int oldEpochDay = EpochDays.of(oldCalendar);
+        int newEpochDay = EpochDays.of(calendar);
+        if (oldEpochDay == newEpochDay) {
+            return oldCalendar;
+        }
+        // 同日の要素が他の位置にある場合、置き換えると要素数が減るため受け付けない。
+        if (mSelectionIndex.contains(newEpochDay)) {
+            throw new IllegalArgumentException("Already contains the date at another index. index=" + index);
+        }
+        modCount++;
+        mSelectionIndex.remove(oldEpochDay);
+        mSelectionIndex.add(newEpochDay);
+        return oldCalendar;
+    }
+
+    @Override
+    public Calendar remove(int index) {
+        Calendar calendar = get(index);
+        modCount++;
+        mSelectionIndex.remove(EpochDays.of(calendar));
+        return calendar;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Calendar)) {
+            return false;
+        }
+        modCount++;
+        return mSelectionIndex.remove(EpochDays.of((Calendar) o));
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        mSelectionIndex.clear();
+    }
+}
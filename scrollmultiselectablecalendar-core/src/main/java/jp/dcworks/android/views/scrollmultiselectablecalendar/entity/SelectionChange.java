@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 選択状態の差分を保持する不変クラス。
+ * <p>選択された日・選択が解除された日を、連続した日の並び（{@code [開始日0, 日数0, 開始日1, 日数1, ...]}）で保持する。
+ * （※{@link SelectionIndex#toRuns()}と同じ形式）
+ * 範囲選択の開始・終了（未確定の選択開始を含む。）は、変更前後のエポック日で保持する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class SelectionChange {
+
+    /** 選択された日の並び */
+    private final int[] mAddedRuns;
+    /** 選択が解除された日の並び */
+    private final int[] mRemovedRuns;
+    /** 変更前の選択開始日（エポック日） */
+    private final int mOldFromEpochDay;
+    /** 変更前の選択終了日（エポック日） */
+    private final int mOldToEpochDay;
+    /** 変更後の選択開始日（エポック日） */
+    private final int mNewFromEpochDay;
+    /** 変更後の選択終了日（エポック日） */
+    private final int mNewToEpochDay;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param addedRuns 選択された日の並び
+     * @param removedRuns 選択が解除された日の並び
+     * @param oldFromEpochDay 変更前の選択開始日（エポック日）
+     * @param oldToEpochDay 変更前の選択終了日（エポック日）
+     * @param newFromEpochDay 変更後の選択開始日（エポック日）
+     * @param newToEpochDay 変更後の選択終了日（エポック日）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionChange(int[] addedRuns, int[] removedRuns, int oldFromEpochDay, int oldToEpochDay,
+                           int newFromEpochDay, int newToEpochDay) {
+        mAddedRuns = addedRuns;
+        mRemovedRuns = removedRuns;
+        mOldFromEpochDay = oldFromEpochDay;
+        mOldToEpochDay = oldToEpochDay;
+        mNewFromEpochDay = newFromEpochDay;
+        mNewToEpochDay = newToEpochDay;
+    }
+
+    /**
+     * 選択された日の並びを返す。
+     *
+     * @return {@code [開始日0, 日数0, 開始日1, 日数1, ...]}（※開始日の昇順。配列は変更しないこと。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int[] getAddedRuns() {
+        return mAddedRuns;
+    }
+
+    /**
+     * 選択が解除された日の並びを返す。
+     *
+     * @return {@code [開始日0, 日数0, 開始日1, 日数1, ...]}（※開始日の昇順。配列は変更しないこと。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int[] getRemovedRuns() {
+        return mRemovedRuns;
+    }
+
+    /**
+     * 変更前の選択開始日を返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getOldFromEpochDay() {
+        return mOldFromEpochDay;
+    }
+
+    /**
+     * 変更前の選択終了日を返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getOldToEpochDay() {
+        return mOldToEpochDay;
+    }
+
+    /**
+     * 変更後の選択開始日を返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getNewFromEpochDay() {
+        return mNewFromEpochDay;
+    }
+
+    /**
+     * 変更後の選択終了日を返す。
+     *
+     * @return エポック日（未設定の場合、{@link EpochDays#NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getNewToEpochDay() {
+        return mNewToEpochDay;
+    }
+
+    /**
+     * 選択開始・終了が変わったかどうかを返す。
+     *
+     * @return 変わった場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isRangeChanged() {
+        return mOldFromEpochDay != mNewFromEpochDay || mOldToEpochDay != mNewToEpochDay;
+    }
+
+    /**
+     * 差分が無いかどうかを返す。
+     *
+     * @return 選択された日・選択が解除された日が無く、選択開始・終了も変わっていない場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isEmpty() {
+        return mAddedRuns.length == 0 && mRemovedRuns.length == 0 && !isRangeChanged();
+    }
+}
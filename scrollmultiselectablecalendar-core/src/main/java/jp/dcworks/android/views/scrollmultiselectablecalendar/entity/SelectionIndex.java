@@ -0,0 +1,494 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 選択中の日を年月毎のビットマスクで保持するクラス。（※選択不可の日の保持にも利用する。）
+ * <p>年月キーをキーとしたハッシュテーブルに、日（1〜31）を{@code 1 << (日 - 1)}のビットで保持する。
+ * 判定・追加・削除・月単位の取得は定数時間で行う。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class SelectionIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 未使用のキー */
+    private static final int EMPTY_KEY = Integer.MIN_VALUE;
+
+    /** テーブルの初期容量（※2の累乗） */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** 年月キーのテーブル */
+    private int[] mKeys;
+    /** ビットマスクのテーブル（※{@code mKeys}と同じ添字） */
+    private int[] mMasks;
+    /** 使用中のスロット数（※マスクが0になったスロットも含む。） */
+    private int mUsed;
+    /** 選択中の日数 */
+    private int mSize;
+    /** 変更回数 */
+    private transient int mModCount;
+    /** 選択状態の変更の記録先（※{@code null}の場合は記録しない。） */
+    private transient SelectionRecorder mSelectionRecorder;
+
+    /**
+     * コンストラクタ。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionIndex() {
+        mKeys = newKeys(INITIAL_CAPACITY);
+        mMasks = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * コピーコンストラクタ。
+     *
+     * @param source コピー元
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionIndex(SelectionIndex source) {
+        mKeys = source.mKeys.clone();
+        mMasks = source.mMasks.clone();
+        mUsed = source.mUsed;
+        mSize = source.mSize;
+    }
+
+    /**
+     * 選択状態の変更の記録先をセットする。（※コピーコンストラクタではコピーしない。）
+     *
+     * @param selectionRecorder 記録先（{@code null}の場合は記録しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setSelectionRecorder(SelectionRecorder selectionRecorder) {
+        mSelectionRecorder = selectionRecorder;
+    }
+
+    /**
+     * 選択状態の変更の記録先を返す。
+     *
+     * @return 記録先
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionRecorder getSelectionRecorder() {
+        return mSelectionRecorder;
+    }
+
+    /**
+     * 引数で指定された日が選択中かどうかを返す。
+     *
+     * @param epochDay エポック日
+     * @return 選択中の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean contains(int epochDay) {
+        if (epochDay == EpochDays.NONE) {
+            return false;
+        }
+        int yearMonth = EpochDays.yearMonthOf(epochDay);
+        return (getMonthMask(yearMonth) & bitOf(yearMonth, epochDay)) != 0;
+    }
+
+    /**
+     * 引数で指定された日を選択状態にする。
+     *
+     * @param epochDay エポック日
+     * @return 選択状態が変わった場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean add(int epochDay) {
+        if (epochDay == EpochDays.NONE) {
+            return false;
+        }
+        int yearMonth = EpochDays.yearMonthOf(epochDay);
+        int mask = getMonthMask(yearMonth);
+        return setMonthMask(yearMonth, mask | bitOf(yearMonth, epochDay)) != mask;
+    }
+
+    /**
+     * 引数で指定された日の選択状態を解除する。
+     *
+     * @param epochDay エポック日
+     * @return 選択状態が変わった場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean remove(int epochDay) {
+        if (epochDay == EpochDays.NONE) {
+            return false;
+        }
+        int yearMonth = EpochDays.yearMonthOf(epochDay);
+        int mask = getMonthMask(yearMonth);
+        return setMonthMask(yearMonth, mask & ~bitOf(yearMonth, epochDay)) != mask;
+    }
+
+    /**
+     * 引数で指定された日の選択状態を反転する。
+     *
+     * @param epochDay エポック日
+     * @return 反転後に選択中の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean toggle(int epochDay) {
+        if (epochDay == EpochDays.NONE) {
+            return false;
+        }
+        int yearMonth = EpochDays.yearMonthOf(epochDay);
+        int bit = bitOf(yearMonth, epochDay);
+        return (setMonthMask(yearMonth, getMonthMask(yearMonth) ^ bit) & bit) != 0;
+    }
+
+    /**
+     * 引数で指定された範囲の日を選択状態にする。（※月単位でビットマスクをまとめて更新する。）
+     *
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日。開始日を含む。）
+     * @return 選択状態が変わった場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean addRange(int fromEpochDay, int toEpochDay) {
+        if (fromEpochDay == EpochDays.NONE || toEpochDay == EpochDays.NONE || fromEpochDay > toEpochDay) {
+            return false;
+        }
+        boolean changed = false;
+        int toYearMonth = EpochDays.yearMonthOf(toEpochDay);
+        for (int yearMonth = EpochDays.yearMonthOf(fromEpochDay); yearMonth <= toYearMonth; yearMonth++) {
+            int mask = getMonthMask(yearMonth);
+            changed |= setMonthMask(yearMonth, mask | rangeMask(yearMonth, fromEpochDay, toEpochDay)) != mask;
+        }
+        return changed;
+    }
+
+    /**
+     * 引数で指定された年月のビットマスクを返す。
+     *
+     * @param yearMonth 年月キー
+     * @return ビットマスク（※日（1〜31）を{@code 1 << (日 - 1)}で表す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getMonthMask(int yearMonth) {
+        int slot = findSlot(mKeys, yearMonth);
+        return (mKeys[slot] == yearMonth) ? mMasks[slot] : 0;
+    }
+
+    /**
+     * 引数で指定された年月のビットマスクを置き換える。
+     *
+     * @param yearMonth 年月キー
+     * @param mask ビットマスク（※月の日数を超えるビットは無視する。）
+     * @return 置き換え後のビットマスクを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int setMonthMask(int yearMonth, int mask) {
+        mask &= fullMask(yearMonth);
+
+        int slot = findSlot(mKeys, yearMonth);
+        int oldMask = (mKeys[slot] == yearMonth) ? mMasks[slot] : 0;
+        if (oldMask == mask) {
+            return mask;
+        }
+
+        if (mKeys[slot] != yearMonth) {
+            // 負荷率が1/2を超える場合、テーブルを拡張する。
+            if ((mUsed + 1) * 2 > mKeys.length) {
+                rehash();
+                slot = findSlot(mKeys, yearMonth);
+            }
+            mKeys[slot] = yearMonth;
+            mUsed++;
+        }
+        mMasks[slot] = mask;
+        mSize += Integer.bitCount(mask) - Integer.bitCount(oldMask);
+        mModCount++;
+
+        if (mSelectionRecorder != null) {
+            mSelectionRecorder.onDaysChanged(yearMonth, mask & ~oldMask, oldMask & ~mask);
+        }
+        return mask;
+    }
+
+    /**
+     * 選択中の日数を返す。
+     *
+     * @return 選択中の日数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 選択中の日が無いかどうかを返す。
+     *
+     * @return 選択中の日が無い場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * 全ての選択状態を解除する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void clear() {
+        if (mSelectionRecorder != null) {
+            for (int i = 0; i < mKeys.length; i++) {
+                if (mKeys[i] != EMPTY_KEY && mMasks[i] != 0) {
+                    mSelectionRecorder.onDaysChanged(mKeys[i], 0, mMasks[i]);
+                }
+            }
+        }
+        mKeys = newKeys(INITIAL_CAPACITY);
+        mMasks = new int[INITIAL_CAPACITY];
+        mUsed = 0;
+        mSize = 0;
+        mModCount++;
+    }
+
+    /**
+     * 変更回数を返す。（※キャッシュの有効判定に利用する。）
+     *
+     * @return 変更回数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getModCount() {
+        return mModCount;
+    }
+
+    /**
+     * 選択中の日を含む年月キーを昇順配列で返す。
+     *
+     * @return 年月キーの配列
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int[] getYearMonths() {
+        int[] yearMonths = new int[mUsed];
+        int count = 0;
+        for (int i = 0; i < mKeys.length; i++) {
+            if (mKeys[i] != EMPTY_KEY && mMasks[i] != 0) {
+                yearMonths[count++] = mKeys[i];
+            }
+        }
+        yearMonths = Arrays.copyOf(yearMonths, count);
+        Arrays.sort(yearMonths);
+        return yearMonths;
+    }
+
+    /**
+     * 選択中の日をエポック日の昇順配列で返す。
+     *
+     * @return エポック日の配列
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int[] toEpochDays() {
+        int[] epochDays = new int[mSize];
+        int count = 0;
+        for (int yearMonth : getYearMonths()) {
+            int firstDay = EpochDays.firstDayOf(yearMonth);
+            int mask = getMonthMask(yearMonth);
+            while (mask != 0) {
+                epochDays[count++] = firstDay + Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+            }
+        }
+        return epochDays;
+    }
+
+    /**
+     * 選択中の日を連続した日の並び（開始日、日数）の昇順配列で返す。
+     * <p>{@code [開始日0, 日数0, 開始日1, 日数1, ...]}の形式で返す。月を跨いで連続する日は1つにまとめる。
+     * 処理量は選択中の日数ではなく、連続した日の並びの数と年月の数に比例する。
+     *
+     * @return 連続した日の並びの配列
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int[] toRuns() {
+        int[] runs = new int[8];
+        int count = 0;
+        int runStart = EpochDays.NONE;
+        int runEnd = EpochDays.NONE;
+
+        for (int yearMonth : getYearMonths()) {
+            int firstDay = EpochDays.firstDayOf(yearMonth);
+            int mask = getMonthMask(yearMonth);
+            while (mask != 0) {
+                int offset = Integer.numberOfTrailingZeros(mask);
+                int length = Integer.numberOfTrailingZeros(~(mask >>> offset));
+                int start = firstDay + offset;
+                mask &= ~(((1 << length) - 1) << offset);
+
+                // 前の並びに続く場合は結合する。
+                if (start == runEnd) {
+                    runEnd += length;
+                    continue;
+                }
+                if (runStart != EpochDays.NONE) {
+                    if (count + 2 > runs.length) {
+                        runs = Arrays.copyOf(runs, runs.length * 2);
+                    }
+                    runs[count++] = runStart;
+                    runs[count++] = runEnd - runStart;
+                }
+                runStart = start;
+                runEnd = start + length;
+            }
+        }
+        if (runStart != EpochDays.NONE) {
+            if (count + 2 > runs.length) {
+                runs = Arrays.copyOf(runs, runs.length * 2);
+            }
+            runs[count++] = runStart;
+            runs[count++] = runEnd - runStart;
+        }
+        return Arrays.copyOf(runs, count);
+    }
+
+    /**
+     * 年月の全ての日を表すビットマスクを返す。
+     *
+     * @param yearMonth 年月キー
+     * @return ビットマスク
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int fullMask(int yearMonth) {
+        return (1 << EpochDays.lengthOfMonth(yearMonth)) - 1;
+    }
+
+    /**
+     * 年月のうち、引数で指定された範囲に含まれる日を表すビットマスクを返す。
+     *
+     * @param yearMonth 年月キー
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日。開始日を含む。）
+     * @return ビットマスク（※範囲が年月に重ならない場合は0を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int rangeMask(int yearMonth, int fromEpochDay, int toEpochDay) {
+        int firstDay = EpochDays.firstDayOf(yearMonth);
+        int from = Math.max(fromEpochDay - firstDay, 0);
+        int to = Math.min(toEpochDay - firstDay, EpochDays.lengthOfMonth(yearMonth) - 1);
+        if (from > to) {
+            return 0;
+        }
+        return ((1 << (to - from + 1)) - 1) << from;
+    }
+
+    /**
+     * エポック日のビットを返す。
+     *
+     * @param yearMonth エポック日の年月キー
+     * @param epochDay エポック日
+     * @return ビット
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int bitOf(int yearMonth, int epochDay) {
+        return 1 << (epochDay - EpochDays.firstDayOf(yearMonth));
+    }
+
+    /**
+     * テーブルを拡張する。（※マスクが0のスロットは破棄する。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void rehash() {
+        int live = 0;
+        for (int i = 0; i < mKeys.length; i++) {
+            if (mKeys[i] != EMPTY_KEY && mMasks[i] != 0) {
+                live++;
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < (live + 1) * 4) {
+            capacity <<= 1;
+        }
+
+        int[] keys = newKeys(capacity);
+        int[] masks = new int[capacity];
+        for (int i = 0; i < mKeys.length; i++) {
+            if (mKeys[i] != EMPTY_KEY && mMasks[i] != 0) {
+                int slot = findSlot(keys, mKeys[i]);
+                keys[slot] = mKeys[i];
+                masks[slot] = mMasks[i];
+            }
+        }
+        mKeys = keys;
+        mMasks = masks;
+        mUsed = live;
+    }
+
+    /**
+     * 年月キーのスロットを返す。（※未登録の場合、空きスロットを返す。）
+     *
+     * @param keys 年月キーのテーブル
+     * @param yearMonth 年月キー
+     * @return スロット
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int findSlot(int[] keys, int yearMonth) {
+        int mask = keys.length - 1;
+        int slot = (yearMonth * 0x9E3779B9) >>> 16 & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != yearMonth) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * 空の年月キーのテーブルを生成する。
+     *
+     * @param capacity 容量
+     * @return 年月キーのテーブル
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int[] newKeys(int capacity) {
+        int[] keys = new int[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        return keys;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+/**
+ * 選択状態の変更を記録するインターフェース。
+ * <p>{@link SelectionIndex}、{@link IntervalSet}にセットすると、実際に選択状態が変わった日のみを通知する。
+ * （※既に選択中の日を選択した場合等、変わらなかった日は通知しない。）
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public interface SelectionRecorder {
+
+    /**
+     * 年月のビットマスクが変わった時に通知する。（{@link SelectionIndex}）
+     *
+     * @param yearMonth 年月キー
+     * @param addedMask 選択された日のビットマスク
+     * @param removedMask 選択が解除された日のビットマスク
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onDaysChanged(int yearMonth, int addedMask, int removedMask);
+
+    /**
+     * 連続した日の選択状態が変わった時に通知する。（{@link IntervalSet}）
+     *
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日。開始日を含む。）
+     * @param isAdded 選択された場合true、選択が解除された場合false
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onRangeChanged(int fromEpochDay, int toEpochDay, boolean isAdded);
+}
@@ -18,6 +18,8 @@ package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
 
 import java.util.Calendar;
 
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
 /**
  * 日付エンティティクラス。
  *
@@ -73,6 +75,30 @@ public class SimpleDate {
         return new SimpleDate(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DATE));
     }
 
+    /**
+     * このクラスをエポック日に変換する。
+     *
+     * @return エポック日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int toEpochDay() {
+        return EpochDays.of(this.year, this.month, this.day);
+    }
+
+    /**
+     * 引数で指定されたエポック日を{@code SimpleDate}クラスのオブジェクトに変換する。
+     *
+     * @param epochDay エポック日
+     * @return SimpleDateオブジェクト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static SimpleDate fromEpochDay(int epochDay) {
+        int yearMonth = EpochDays.yearMonthOf(epochDay);
+        return new SimpleDate(EpochDays.yearOf(yearMonth), EpochDays.monthOf(yearMonth), EpochDays.dayOfMonth(epochDay));
+    }
+
     @Override
     public String toString() {
         return this.year + "/" + this.month + "/" + this.day;
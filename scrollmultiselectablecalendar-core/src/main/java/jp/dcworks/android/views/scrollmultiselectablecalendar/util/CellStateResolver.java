@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.IntervalSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionIndex;
+
+/**
+ * スケジュールの状態から日セルの描画状態（{@link CellState}）を求めるクラス。
+ * <p>{@link #setAvailableSchedule(AvailableSchedule)}でカレンダーオブジェクトをエポック日に変換しておき、
+ * セル毎の判定はエポック日の比較とビットマスクの判定のみで行う。
+ * {@link #setAvailableSchedule(AvailableSchedule)}は選択中の日のコピーを保持するため、セット後は別スレッドから
+ * {@link #resolveMonth(MonthGrid, int[])}を呼び出してよい。
+ * {@link #setAvailableSchedule(AvailableSchedule, DirtyMonthSet)}は指定された年月の分のみコピーするため、
+ * 処理量は選択数ではなく年月の数に比例する。（※指定された年月のみ判定できる。）
+ * {@link #bindAvailableSchedule(AvailableSchedule)}はコピーせずに参照するため、タップ毎にセットし直しても選択数に依らず軽いが、
+ * スケジュールを変更するスレッド（UIスレッド）からのみ判定すること。
+ * <p>選択中の範囲（複数範囲選択）、選択可否は、月毎にビットマスクにしておき、
+ * セル毎には範囲・選択不可の日を探さずにビットの判定のみで求める。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class CellStateResolver {
+
+    /** スケジュールがセットされているかどうか */
+    private boolean mHasSchedule;
+    /** 選択中の日（個別選択） */
+    private SelectionIndex mSelectedDayIndex;
+    /** 選択中の範囲（複数範囲選択） */
+    private IntervalSet mSelectedRanges;
+    /** 選択開始日（エポック日） */
+    private int mSelectedFromDay = EpochDays.NONE;
+    /** 選択終了日（エポック日） */
+    private int mSelectedToDay = EpochDays.NONE;
+    /** 選択可能範囲の開始日（エポック日） */
+    private int mSelectableFromDay = EpochDays.NONE;
+    /** 選択可能範囲の終了日（エポック日） */
+    private int mSelectableToDay = EpochDays.NONE;
+    /** 選択不可の日 */
+    private SelectionIndex mDisabledDayIndex;
+
+    /**
+     * 利用可能スケジュールをセットする。（※選択中の日、選択不可の日はコピーを保持する。）
+     *
+     * @param availableSchedule 利用可能スケジュール（{@code null}の場合、全てのセルを{@link CellState#NONE}とする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        setAvailableSchedule(availableSchedule, true);
+    }
+
+    /**
+     * 利用可能スケジュールのうち、引数で指定された年月の分のみコピーしてセットする。
+     * <p>セット後は、指定された年月のみ{@link #resolveMonth(MonthGrid, int[])}で判定できる。
+     *
+     * @param availableSchedule 利用可能スケジュール（{@code null}の場合、全てのセルを{@link CellState#NONE}とする。）
+     * @param monthSet 判定する年月
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setAvailableSchedule(AvailableSchedule availableSchedule, DirtyMonthSet monthSet) {
+        setAvailableSchedule(availableSchedule, false);
+        if (availableSchedule == null) {
+            return;
+        }
+
+        SelectionIndex selectedDayIndex = new SelectionIndex();
+        IntervalSet selectedRanges = new IntervalSet();
+        SelectionIndex disabledDayIndex = new SelectionIndex();
+        for (int i = 0; i < monthSet.getRangeCount(); i++) {
+            int fromYearMonth = monthSet.getFromYearMonth(i);
+            int toYearMonth = monthSet.getToYearMonth(i);
+            for (int yearMonth = fromYearMonth; yearMonth <= toYearMonth; yearMonth++) {
+                selectedDayIndex.setMonthMask(yearMonth, mSelectedDayIndex.getMonthMask(yearMonth));
+                disabledDayIndex.setMonthMask(yearMonth, mDisabledDayIndex.getMonthMask(yearMonth));
+            }
+            // 範囲の端を判定するため、前月末日・翌月1日も含める。
+            selectedRanges.addAll(mSelectedRanges, EpochDays.firstDayOf(fromYearMonth) - 1,
+                    EpochDays.firstDayOf(toYearMonth) + EpochDays.lengthOfMonth(toYearMonth));
+        }
+        mSelectedDayIndex = selectedDayIndex;
+        mSelectedRanges = selectedRanges;
+        mDisabledDayIndex = disabledDayIndex;
+    }
+
+    /**
+     * 利用可能スケジュールを、選択中の日、選択不可の日をコピーせずにセットする。
+     * <p>選択開始日・終了日、選択可能範囲はセット時の値を保持するため、変更後はセットし直すこと。
+     *
+     * @param availableSchedule 利用可能スケジュール（{@code null}の場合、全てのセルを{@link CellState#NONE}とする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void bindAvailableSchedule(AvailableSchedule availableSchedule) {
+        setAvailableSchedule(availableSchedule, false);
+    }
+
+    /**
+     * 利用可能スケジュールをセットする。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param isCopy 選択中の日、選択不可の日をコピーする場合true
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void setAvailableSchedule(AvailableSchedule availableSchedule, boolean isCopy) {
+        if (availableSchedule != null) {
+            mHasSchedule = true;
+            mSelectedDayIndex = isCopy
+                    ? new SelectionIndex(availableSchedule.getSelectedDayIndex()) : availableSchedule.getSelectedDayIndex();
+            mSelectedRanges = isCopy
+                    ? new IntervalSet(availableSchedule.getSelectedRanges()) : availableSchedule.getSelectedRanges();
+            mSelectedFromDay = availableSchedule.getSelectedFromEpochDay();
+            mSelectedToDay = availableSchedule.getSelectedToEpochDay();
+            mSelectableFromDay = availableSchedule.getSelectableFromEpochDay();
+            mSelectableToDay = availableSchedule.getSelectableToEpochDay();
+            mDisabledDayIndex = isCopy
+                    ? new SelectionIndex(availableSchedule.getDisabledDayIndex()) : availableSchedule.getDisabledDayIndex();
+        } else {
+            mHasSchedule = false;
+            mSelectedDayIndex = null;
+            mSelectedRanges = null;
+            mSelectedFromDay = EpochDays.NONE;
+            mSelectedToDay = EpochDays.NONE;
+            mSelectableFromDay = EpochDays.NONE;
+            mSelectableToDay = EpochDays.NONE;
+            mDisabledDayIndex = null;
+        }
+    }
+
+    /**
+     * 選択中の日（個別選択）の年月のビットマスクを返す。
+     *
+     * @param yearMonth 年月キー
+     * @return ビットマスク
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getSelectedMask(int yearMonth) {
+        return (mSelectedDayIndex != null) ? mSelectedDayIndex.getMonthMask(yearMonth) : 0;
+    }
+
+    /**
+     * 選択中の範囲（複数範囲選択）に含まれる日の、年月のビットマスクを返す。
+     * <p>範囲の端を判定できるよう、前月末日を{@code 1L}、日（1〜31）を{@code 1L << 日}、翌月1日を{@code 1L << (日数 + 1)}で表す。
+     *
+     * @param monthGrid 月のセル配置
+     * @return ビットマスク
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public long getSelectedRangeMask(MonthGrid monthGrid) {
+        if (mSelectedRanges == null || mSelectedRanges.isEmpty()) {
+            return 0;
+        }
+        return mSelectedRanges.toMask(monthGrid.getFirstDay() - 1, monthGrid.getDayCount() + 2);
+    }
+
+    /**
+     * 選択可能な日の、年月のビットマスクを返す。
+     * <p>選択可能範囲内の日から、選択不可の日を除いたものを{@link #getSelectedMask(int)}と同じ形式で返す。
+     *
+     * @param monthGrid 月のセル配置
+     * @return ビットマスク
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getSelectableMask(MonthGrid monthGrid) {
+        if (mSelectableFromDay == EpochDays.NONE && mSelectableToDay == EpochDays.NONE) {
+            return 0;
+        }
+        int firstDay = monthGrid.getFirstDay();
+        int from = (mSelectableFromDay == EpochDays.NONE) ? 0 : Math.max(mSelectableFromDay - firstDay, 0);
+        int to = (mSelectableToDay == EpochDays.NONE)
+                ? monthGrid.getDayCount() - 1 : Math.min(mSelectableToDay - firstDay, monthGrid.getDayCount() - 1);
+        if (from > to) {
+            return 0;
+        }
+        int mask = (int) (((1L << (to - from + 1)) - 1) << from);
+        if (mDisabledDayIndex != null) {
+            mask &= ~mDisabledDayIndex.getMonthMask(monthGrid.getYearMonth());
+        }
+        return mask;
+    }
+
+    /**
+     * 月の全てのセルの描画状態を求める。
+     * <p>ビットマスクは月毎に一度だけ求め、セル毎にはビットの判定のみ行う。
+     *
+     * @param monthGrid 月のセル配置
+     * @param cellStates 描画状態の格納先（{@link MonthGrid#CELL_COUNT}以上の長さ。※日付の無いセルは{@link CellState#UNKNOWN}とする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void resolveMonth(MonthGrid monthGrid, int[] cellStates) {
+        int selectedMask = getSelectedMask(monthGrid.getYearMonth());
+        long selectedRangeMask = getSelectedRangeMask(monthGrid);
+        int selectableMask = getSelectableMask(monthGrid);
+        for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; cellIndex++) {
+            cellStates[cellIndex] = resolve(monthGrid, cellIndex, selectedMask, selectedRangeMask, selectableMask);
+        }
+    }
+
+    /**
+     * セルの描画状態を返す。
+     * <p>ビットマスクはセル毎に求める。（※月の全てのセルを判定する場合は{@link #resolveMonth(MonthGrid, int[])}を利用する。）
+     *
+     * @param monthGrid 月のセル配置
+     * @param cellIndex セル番号
+     * @return 描画状態（※日付の無いセルは{@link CellState#UNKNOWN}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int resolve(MonthGrid monthGrid, int cellIndex) {
+        return resolve(monthGrid, cellIndex, getSelectedMask(monthGrid.getYearMonth()),
+                getSelectedRangeMask(monthGrid), getSelectableMask(monthGrid));
+    }
+
+    /**
+     * セルの描画状態を返す。
+     *
+     * @param monthGrid 月のセル配置
+     * @param cellIndex セル番号
+     * @param selectedMask {@link #getSelectedMask(int)}で取得した年月のビットマスク
+     * @param selectedRangeMask {@link #getSelectedRangeMask(MonthGrid)}で取得した年月のビットマスク
+     * @param selectableMask {@link #getSelectableMask(MonthGrid)}で取得した年月のビットマスク
+     * @return 描画状態（※日付の無いセルは{@link CellState#UNKNOWN}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private int resolve(MonthGrid monthGrid, int cellIndex, int selectedMask, long selectedRangeMask,
+                        int selectableMask) {
+        int day = monthGrid.getDayOfMonth(cellIndex);
+        if (day == 0) {
+            return CellState.UNKNOWN;
+        }
+        if (!mHasSchedule) {
+            return CellState.NONE;
+        }
+
+        int targetDay = monthGrid.getFirstDay() + day - 1;
+        int state = CellState.NONE;
+
+        // 選択状態（個別選択）
+        if ((selectedMask & (1 << (day - 1))) != 0) {
+            state = CellState.SELECTED;
+        }
+
+        // 選択状態（複数範囲選択）：前日・翌日が範囲外かどうかで端を判定する。
+        if ((selectedRangeMask & (1L << day)) != 0) {
+            boolean isFrom = (selectedRangeMask & (1L << (day - 1))) == 0;
+            boolean isTo = (selectedRangeMask & (1L << (day + 1))) == 0;
+            if (isFrom && isTo) {
+                state = CellState.SELECTED;
+            } else if (isFrom) {
+                state = CellState.RANGE_FROM;
+            } else if (isTo) {
+                state = CellState.RANGE_TO;
+            } else {
+                state = CellState.RANGE_MID;
+            }
+        }
+
+        // 選択状態（範囲選択）
+        if (mSelectedFromDay != EpochDays.NONE && mSelectedToDay != EpochDays.NONE) {
+            if (mSelectedFromDay <= targetDay && targetDay <= mSelectedToDay) {
+                if (mSelectedFromDay != targetDay && mSelectedToDay != targetDay) {
+                    state = CellState.RANGE_MID;
+                } else if (mSelectedFromDay == mSelectedToDay) {
+                    state = CellState.SELECTED;
+                } else if (mSelectedFromDay == targetDay) {
+                    state = CellState.RANGE_FROM;
+                } else {
+                    state = CellState.RANGE_TO;
+                }
+            }
+        } else if (mSelectedFromDay == targetDay) {
+            state = CellState.CLICKED;
+        }
+
+        // 選択可否
+        if ((selectableMask & (1 << (day - 1))) != 0) {
+            state |= CellState.FLAG_SELECTABLE;
+        } else {
+            state |= CellState.FLAG_DISABLED;
+        }
+        return state;
+    }
+}
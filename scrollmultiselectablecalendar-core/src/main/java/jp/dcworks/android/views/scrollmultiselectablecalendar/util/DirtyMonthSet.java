@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import java.util.Arrays;
+
+/**
+ * 再描画が必要な年月を保持するクラス。
+ * <p>年月キーの範囲（開始〜終了）の集合として保持する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class DirtyMonthSet {
+
+    /** 範囲の開始年月キー */
+    private int[] mFromYearMonths = new int[4];
+    /** 範囲の終了年月キー */
+    private int[] mToYearMonths = new int[4];
+    /** 範囲の数 */
+    private int mCount;
+
+    /**
+     * 引数で指定された日を含む年月を追加する。
+     *
+     * @param epochDay エポック日（{@link EpochDays#NONE}の場合は何もしない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void addDay(int epochDay) {
+        if (epochDay == EpochDays.NONE) {
+            return;
+        }
+        int yearMonth = EpochDays.yearMonthOf(epochDay);
+        addRange(yearMonth, yearMonth);
+    }
+
+    /**
+     * 引数で指定された日の範囲を含む年月を追加する。
+     * <p>片方のみ指定された場合、その日を含む年月のみ追加する。
+     *
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void addDays(int fromEpochDay, int toEpochDay) {
+        if (fromEpochDay == EpochDays.NONE || toEpochDay == EpochDays.NONE) {
+            addDay(fromEpochDay);
+            addDay(toEpochDay);
+            return;
+        }
+        int fromYearMonth = EpochDays.yearMonthOf(Math.min(fromEpochDay, toEpochDay));
+        int toYearMonth = EpochDays.yearMonthOf(Math.max(fromEpochDay, toEpochDay));
+        addRange(fromYearMonth, toYearMonth);
+    }
+
+    /**
+     * 年月の範囲を追加する。
+     *
+     * @param fromYearMonth 開始年月キー
+     * @param toYearMonth 終了年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void addRange(int fromYearMonth, int toYearMonth) {
+        // 重なる範囲、隣接する範囲は結合する。
+        for (int i = 0; i < mCount; i++) {
+            if (fromYearMonth <= mToYearMonths[i] + 1 && mFromYearMonths[i] - 1 <= toYearMonth) {
+                mFromYearMonths[i] = Math.min(mFromYearMonths[i], fromYearMonth);
+                mToYearMonths[i] = Math.max(mToYearMonths[i], toYearMonth);
+                return;
+            }
+        }
+        if (mCount == mFromYearMonths.length) {
+            mFromYearMonths = Arrays.copyOf(mFromYearMonths, mCount * 2);
+            mToYearMonths = Arrays.copyOf(mToYearMonths, mCount * 2);
+        }
+        mFromYearMonths[mCount] = fromYearMonth;
+        mToYearMonths[mCount] = toYearMonth;
+        mCount++;
+    }
+
+    /**
+     * 引数で指定された年月が含まれるかどうかを返す。
+     *
+     * @param yearMonth 年月キー
+     * @return 含まれる場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean contains(int yearMonth) {
+        for (int i = 0; i < mCount; i++) {
+            if (mFromYearMonths[i] <= yearMonth && yearMonth <= mToYearMonths[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 範囲の数を返す。
+     *
+     * @return 範囲の数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getRangeCount() {
+        return mCount;
+    }
+
+    /**
+     * 引数で指定された範囲の開始年月キーを返す。
+     *
+     * @param index 範囲の添字（0〜{@link #getRangeCount()} - 1）
+     * @return 開始年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getFromYearMonth(int index) {
+        return mFromYearMonths[index];
+    }
+
+    /**
+     * 引数で指定された範囲の終了年月キーを返す。
+     *
+     * @param index 範囲の添字（0〜{@link #getRangeCount()} - 1）
+     * @return 終了年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getToYearMonth(int index) {
+        return mToYearMonths[index];
+    }
+
+    /**
+     * 空かどうかを返す。
+     *
+     * @return 空の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isEmpty() {
+        return mCount == 0;
+    }
+
+    /**
+     * クリア処理。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void clear() {
+        mCount = 0;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import java.util.Calendar;
+
+/**
+ * エポック日（1970/1/1からの経過日数）で日付を扱うユーティリティクラス。
+ * <p>日付を{@code int}で表現し、描画処理中に{@link Calendar}を生成せずに比較・加算を行う。
+ * 年月は{@code 年 * 12 + (月 - 1)}の{@code int}（以下「年月キー」）で表現する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class EpochDays {
+
+    /** 日付未設定を表す値 */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    /**
+     * コンストラクタ。（※インスタンス化禁止）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private EpochDays() {
+    }
+
+    /**
+     * 年月日からエポック日を返す。
+     *
+     * @param year 年
+     * @param month 月（1〜12月）
+     * @param day 日
+     * @return エポック日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int of(int year, int month, int day) {
+        int y = (month <= 2) ? year - 1 : year;
+        int era = ((y >= 0) ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * カレンダーオブジェクトからエポック日を返す。（※時刻は切り捨てる。）
+     *
+     * @param calendar カレンダーオブジェクト
+     * @return エポック日（{@code calendar}が{@code null}の場合、{@link #NONE}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int of(Calendar calendar) {
+        if (calendar == null) {
+            return NONE;
+        }
+        return of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DATE));
+    }
+
+    /**
+     * エポック日をカレンダーオブジェクトに変換する。
+     *
+     * @param epochDay エポック日
+     * @return カレンダーオブジェクト（{@code epochDay}が{@link #NONE}の場合、{@code null}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static Calendar toCalendar(int epochDay) {
+        if (epochDay == NONE) {
+            return null;
+        }
+        int yearMonth = yearMonthOf(epochDay);
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(yearOf(yearMonth), monthOf(yearMonth) - 1, dayOfMonth(epochDay));
+        return calendar;
+    }
+
+    /**
+     * エポック日の年月キーを返す。
+     *
+     * @param epochDay エポック日
+     * @return 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int yearMonthOf(int epochDay) {
+        int z = epochDay + 719468;
+        int era = ((z >= 0) ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int month = mp + ((mp < 10) ? 3 : -9);
+        int year = yearOfEra + era * 400 + ((month <= 2) ? 1 : 0);
+        return yearMonthOf(year, month);
+    }
+
+    /**
+     * 年月から年月キーを返す。
+     *
+     * @param year 年
+     * @param month 月（1〜12月）
+     * @return 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int yearMonthOf(int year, int month) {
+        return year * 12 + (month - 1);
+    }
+
+    /**
+     * カレンダーオブジェクトの年月キーを返す。
+     *
+     * @param calendar カレンダーオブジェクト
+     * @return 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int yearMonthOf(Calendar calendar) {
+        return yearMonthOf(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1);
+    }
+
+    /**
+     * 年月キーの年を返す。
+     *
+     * @param yearMonth 年月キー
+     * @return 年
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int yearOf(int yearMonth) {
+        return (yearMonth >= 0) ? yearMonth / 12 : (yearMonth - 11) / 12;
+    }
+
+    /**
+     * 年月キーの月を返す。
+     *
+     * @param yearMonth 年月キー
+     * @return 月（1〜12月）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int monthOf(int yearMonth) {
+        return yearMonth - yearOf(yearMonth) * 12 + 1;
+    }
+
+    /**
+     * 年月キーの1日のエポック日を返す。
+     *
+     * @param yearMonth 年月キー
+     * @return エポック日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int firstDayOf(int yearMonth) {
+        return of(yearOf(yearMonth), monthOf(yearMonth), 1);
+    }
+
+    /**
+     * エポック日の日（1〜31）を返す。
+     *
+     * @param epochDay エポック日
+     * @return 日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int dayOfMonth(int epochDay) {
+        return epochDay - firstDayOf(yearMonthOf(epochDay)) + 1;
+    }
+
+    /**
+     * エポック日の曜日を返す。
+     *
+     * @param epochDay エポック日
+     * @return 曜日（{@link Calendar#SUNDAY}〜{@link Calendar#SATURDAY}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int dayOfWeek(int epochDay) {
+        // 1970/1/1は木曜日。
+        int mod = (epochDay + 4) % 7;
+        return ((mod < 0) ? mod + 7 : mod) + Calendar.SUNDAY;
+    }
+
+    /**
+     * 年月の日数を返す。
+     *
+     * @param yearMonth 年月キー
+     * @return 日数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int lengthOfMonth(int yearMonth) {
+        return firstDayOf(yearMonth + 1) - firstDayOf(yearMonth);
+    }
+
+    /**
+     * エポック日に日数を加算する。
+     *
+     * @param epochDay エポック日
+     * @param days 加算する日数（負数可）
+     * @return 加算後のエポック日
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int plusDays(int epochDay, int days) {
+        return epochDay + days;
+    }
+
+    /**
+     * エポック日を比較する。
+     *
+     * @param x 比較するエポック日
+     * @param y 比較するエポック日
+     * @return {@code x < y}の場合負数、{@code x == y}の場合0、{@code x > y}の場合正数を返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int compare(int x, int y) {
+        return (x < y) ? -1 : ((x == y) ? 0 : 1);
+    }
+}
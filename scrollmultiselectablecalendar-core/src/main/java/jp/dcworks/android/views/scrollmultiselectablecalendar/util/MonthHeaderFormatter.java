@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 月のヘッダー（年月テキスト）の書式化クラス。
+ * <p>ロケール、パターン毎に1つのインスタンス（{@link SimpleDateFormat}）を{@link #of(Locale, String)}で共有し、
+ * 書式化した年月テキストは年月キー毎にキャッシュする。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class MonthHeaderFormatter {
+
+    /** 日本語ロケールのパターン */
+    public static final String JAPANESE_PATTERN = "yyyy年MM月";
+
+    /** キャッシュする年月テキストの上限 */
+    private static final int MAX_CACHE_SIZE = 120;
+
+    /** ロケール、パターン毎のインスタンス */
+    private static final Map<String, MonthHeaderFormatter> INSTANCES = new HashMap<>();
+
+    /** ロケール */
+    private final Locale mLocale;
+    /** パターン */
+    private final String mPattern;
+    /** 日付フォーマット */
+    private final SimpleDateFormat mDateFormat;
+    /** 書式化に利用するカレンダー（※ロケールによらずグレゴリオ暦で年月を指定する。） */
+    private final Calendar mCalendar;
+
+    /** 年月キーをキーとした年月テキストのキャッシュ（※アクセス順で古いものから破棄する。） */
+    private final Map<Integer, String> mLabelCache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * コンストラクタ。
+     *
+     * @param locale ロケール
+     * @param pattern パターン（{@link SimpleDateFormat}の形式）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private MonthHeaderFormatter(Locale locale, String pattern) {
+        mLocale = locale;
+        mPattern = pattern;
+        mDateFormat = new SimpleDateFormat(pattern, locale);
+        mCalendar = new GregorianCalendar();
+    }
+
+    /**
+     * 引数で指定されたロケール、パターンのインスタンスを返す。
+     *
+     * @param locale ロケール
+     * @param pattern パターン（{@link SimpleDateFormat}の形式）
+     * @return インスタンス
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static MonthHeaderFormatter of(Locale locale, String pattern) {
+        String key = locale.toString() + "|" + pattern;
+        synchronized (INSTANCES) {
+            MonthHeaderFormatter formatter = INSTANCES.get(key);
+            if (formatter == null) {
+                formatter = new MonthHeaderFormatter(locale, pattern);
+                INSTANCES.put(key, formatter);
+            }
+            return formatter;
+        }
+    }
+
+    /**
+     * ロケールを返す。
+     *
+     * @return ロケール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public Locale getLocale() {
+        return mLocale;
+    }
+
+    /**
+     * パターンを返す。
+     *
+     * @return パターン
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public String getPattern() {
+        return mPattern;
+    }
+
+    /**
+     * 年月テキストを返す。（※2回目以降はキャッシュから返す。）
+     *
+     * @param yearMonth 年月キー
+     * @return 年月テキスト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public synchronized CharSequence format(int yearMonth) {
+        String label = mLabelCache.get(yearMonth);
+        if (label == null) {
+            mCalendar.clear();
+            mCalendar.set(EpochDays.yearOf(yearMonth), EpochDays.monthOf(yearMonth) - 1, 1);
+            label = mDateFormat.format(mCalendar.getTime());
+            mLabelCache.put(yearMonth, label);
+        }
+        return label;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.IntervalSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionChange;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionIndex;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionRecorder;
+
+/**
+ * 選択状態の差分をまとめるクラス。
+ * <p>{@link #begin(AvailableSchedule)}から{@link #end(AvailableSchedule)}までの間に変わった日を、
+ * 年月毎の「選択された日」「選択が解除された日」のビットマスクに集計する。
+ * 選択後に解除した日等は相殺するため、処理量は選択中の日数ではなく、変更された年月の数に比例する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class SelectionChangeTracker implements SelectionRecorder {
+
+    /** 選択された日 */
+    private SelectionIndex mAddedDayIndex = new SelectionIndex();
+    /** 選択が解除された日 */
+    private SelectionIndex mRemovedDayIndex = new SelectionIndex();
+
+    /** 集計中かどうか */
+    private boolean mTracking;
+    /** 集計開始時の選択開始日（エポック日） */
+    private int mOldFromEpochDay = EpochDays.NONE;
+    /** 集計開始時の選択終了日（エポック日） */
+    private int mOldToEpochDay = EpochDays.NONE;
+
+    /** 記録先にセットした選択中の日（個別選択） */
+    private SelectionIndex mSelectedDayIndex;
+    /** 記録先にセットした選択中の範囲（複数範囲選択） */
+    private IntervalSet mSelectedRanges;
+
+    /**
+     * 集計を開始する。（※集計中の場合は、開始時の状態を保ったまま集計を続ける。）
+     * <p>選択状態を変更する前に呼び出す。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void begin(AvailableSchedule availableSchedule) {
+        if (!mTracking) {
+            mTracking = true;
+            mOldFromEpochDay = availableSchedule.getSelectedFromEpochDay();
+            mOldToEpochDay = availableSchedule.getSelectedToEpochDay();
+        }
+        attach(availableSchedule);
+    }
+
+    /**
+     * スケジュールの置き換えを集計する。
+     * <p>置き換え前の選択を全て解除し、置き換え後の選択を全て選択したものとして集計する。（※重なる日は相殺する。）
+     *
+     * @param oldSchedule 置き換え前のスケジュール
+     * @param newSchedule 置き換え後のスケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void replace(AvailableSchedule oldSchedule, AvailableSchedule newSchedule) {
+        begin(oldSchedule);
+        record(oldSchedule, false);
+        record(newSchedule, true);
+        attach(newSchedule);
+    }
+
+    /**
+     * 集計中かどうかを返す。
+     *
+     * @return 集計中の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean isTracking() {
+        return mTracking;
+    }
+
+    /**
+     * 集計を終了し、差分を返す。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @return 差分（※集計中ではない場合、差分が無い場合は{@code null}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public SelectionChange end(AvailableSchedule availableSchedule) {
+        if (!mTracking) {
+            return null;
+        }
+        detach();
+
+        // 範囲選択の範囲は、開始・終了が共に決まっている場合のみ選択中の日として集計する。
+        int newFromEpochDay = availableSchedule.getSelectedFromEpochDay();
+        int newToEpochDay = availableSchedule.getSelectedToEpochDay();
+        if (mOldFromEpochDay != newFromEpochDay || mOldToEpochDay != newToEpochDay) {
+            recordRange(mOldFromEpochDay, mOldToEpochDay, false);
+            recordRange(newFromEpochDay, newToEpochDay, true);
+        }
+
+        SelectionChange selectionChange = new SelectionChange(mAddedDayIndex.toRuns(), mRemovedDayIndex.toRuns(),
+                mOldFromEpochDay, mOldToEpochDay, newFromEpochDay, newToEpochDay);
+
+        mTracking = false;
+        mAddedDayIndex.clear();
+        mRemovedDayIndex.clear();
+        mOldFromEpochDay = EpochDays.NONE;
+        mOldToEpochDay = EpochDays.NONE;
+        return selectionChange.isEmpty() ? null : selectionChange;
+    }
+
+    @Override
+    public void onDaysChanged(int yearMonth, int addedMask, int removedMask) {
+        int added = mAddedDayIndex.getMonthMask(yearMonth);
+        int removed = mRemovedDayIndex.getMonthMask(yearMonth);
+
+        // 解除済みの日が選択された場合、選択済みの日が解除された場合は相殺する。
+        mAddedDayIndex.setMonthMask(yearMonth, (added | (addedMask & ~removed)) & ~removedMask);
+        mRemovedDayIndex.setMonthMask(yearMonth, (removed | (removedMask & ~added)) & ~addedMask);
+    }
+
+    @Override
+    public void onRangeChanged(int fromEpochDay, int toEpochDay, boolean isAdded) {
+        int toYearMonth = EpochDays.yearMonthOf(toEpochDay);
+        for (int yearMonth = EpochDays.yearMonthOf(fromEpochDay); yearMonth <= toYearMonth; yearMonth++) {
+            int mask = SelectionIndex.rangeMask(yearMonth, fromEpochDay, toEpochDay);
+            onDaysChanged(yearMonth, isAdded ? mask : 0, isAdded ? 0 : mask);
+        }
+    }
+
+    /**
+     * スケジュールの選択中の日、選択中の範囲に記録先をセットする。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void attach(AvailableSchedule availableSchedule) {
+        SelectionIndex selectedDayIndex = availableSchedule.getSelectedDayIndex();
+        IntervalSet selectedRanges = availableSchedule.getSelectedRanges();
+        if (selectedDayIndex == mSelectedDayIndex && selectedRanges == mSelectedRanges) {
+            return;
+        }
+        detach();
+
+        mSelectedDayIndex = selectedDayIndex;
+        mSelectedDayIndex.setSelectionRecorder(this);
+        mSelectedRanges = selectedRanges;
+        mSelectedRanges.setSelectionRecorder(this);
+    }
+
+    /**
+     * セットした記録先を外す。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void detach() {
+        if (mSelectedDayIndex != null && mSelectedDayIndex.getSelectionRecorder() == this) {
+            mSelectedDayIndex.setSelectionRecorder(null);
+        }
+        if (mSelectedRanges != null && mSelectedRanges.getSelectionRecorder() == this) {
+            mSelectedRanges.setSelectionRecorder(null);
+        }
+        mSelectedDayIndex = null;
+        mSelectedRanges = null;
+    }
+
+    /**
+     * スケジュールの選択中の日、選択中の範囲を全て集計する。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param isAdded 選択された日として集計する場合true、選択が解除された日として集計する場合false
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void record(AvailableSchedule availableSchedule, boolean isAdded) {
+        SelectionIndex selectedDayIndex = availableSchedule.getSelectedDayIndex();
+        for (int yearMonth : selectedDayIndex.getYearMonths()) {
+            int mask = selectedDayIndex.getMonthMask(yearMonth);
+            onDaysChanged(yearMonth, isAdded ? mask : 0, isAdded ? 0 : mask);
+        }
+
+        IntervalSet selectedRanges = availableSchedule.getSelectedRanges();
+        for (int i = 0; i < selectedRanges.size(); i++) {
+            onRangeChanged(selectedRanges.getStart(i), selectedRanges.getEnd(i), isAdded);
+        }
+    }
+
+    /**
+     * 範囲選択の範囲を集計する。（※開始・終了のいずれかが未設定の場合は何もしない。）
+     *
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日）
+     * @param isAdded 選択された日として集計する場合true、選択が解除された日として集計する場合false
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void recordRange(int fromEpochDay, int toEpochDay, boolean isAdded) {
+        if (fromEpochDay != EpochDays.NONE && toEpochDay != EpochDays.NONE && fromEpochDay <= toEpochDay) {
+            onRangeChanged(fromEpochDay, toEpochDay, isAdded);
+        }
+    }
+}
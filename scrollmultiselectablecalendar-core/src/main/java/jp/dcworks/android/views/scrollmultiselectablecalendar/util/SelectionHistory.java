@@ -0,0 +1,458 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import java.util.ArrayDeque;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.IntervalSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionIndex;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionRecorder;
+
+/**
+ * 選択状態の取り消し・やり直しの履歴を保持するクラス。
+ * <p>操作毎に、選択状態が変わった年月のビットマスクの排他的論理和（変わった日のビット）のみを保持する。
+ * スケジュール全体は複製せず、現在の選択状態と差分を共有するため、1操作の記録・取り消し・やり直しの処理量は
+ * 選択中の日数ではなく、変わった年月の数に比例する。（※排他的論理和は2回適用すると元に戻るため、取り消しとやり直しは同じ処理となる。）
+ * <p>差分は記録した時点の選択状態にのみ適用できるため、記録外で選択状態が変更された場合は履歴を破棄する。
+ * （※選択状態の変更回数、選択開始日・終了日を記録・適用の毎に保持し、次の記録開始・取り消し・やり直しの時点で比較する。）
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class SelectionHistory implements SelectionRecorder {
+
+    /** 保持する操作の最大数（※0の場合は記録しない。） */
+    private int mMaxDepth;
+
+    /** 取り消し可能な操作（※末尾が最新） */
+    private final ArrayDeque<Step> mUndoSteps = new ArrayDeque<>();
+    /** やり直し可能な操作（※末尾が最新） */
+    private final ArrayDeque<Step> mRedoSteps = new ArrayDeque<>();
+
+    /** 記録中かどうか */
+    private boolean mRecording;
+    /** 記録中の操作で変わった日（個別選択） */
+    private final SelectionIndex mDayXorIndex = new SelectionIndex();
+    /** 記録中の操作で変わった日（複数範囲選択） */
+    private final SelectionIndex mRangeXorIndex = new SelectionIndex();
+    /** 記録開始時の選択開始日（エポック日） */
+    private int mOldFromEpochDay;
+    /** 記録開始時の選択終了日（エポック日） */
+    private int mOldToEpochDay;
+
+    /** 記録中の選択中の日（個別選択） */
+    private SelectionIndex mSelectedDayIndex;
+    /** 記録中の選択中の範囲（複数範囲選択） */
+    private IntervalSet mSelectedRanges;
+    /** 記録開始前に選択中の日にセットされていた記録先（※記録中は転送する。） */
+    private SelectionRecorder mDayRecorder;
+    /** 記録開始前に選択中の範囲にセットされていた記録先（※記録中は転送する。） */
+    private SelectionRecorder mRangeRecorder;
+
+    /** 最後に記録・適用した時点の選択中の日（個別選択） */
+    private SelectionIndex mSyncedDayIndex;
+    /** 最後に記録・適用した時点の選択中の日の変更回数 */
+    private int mSyncedDayModCount;
+    /** 最後に記録・適用した時点の選択中の範囲（複数範囲選択） */
+    private IntervalSet mSyncedRanges;
+    /** 最後に記録・適用した時点の選択中の範囲の変更回数 */
+    private int mSyncedRangesModCount;
+    /** 最後に記録・適用した時点の選択開始日（エポック日） */
+    private int mSyncedFromEpochDay;
+    /** 最後に記録・適用した時点の選択終了日（エポック日） */
+    private int mSyncedToEpochDay;
+
+    /**
+     * 保持する操作の最大数をセットする。（※超えた分は古い操作から破棄する。）
+     *
+     * @param maxDepth 最大数（0の場合、履歴を破棄して記録しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMaxDepth(int maxDepth) {
+        mMaxDepth = Math.max(maxDepth, 0);
+        while (mUndoSteps.size() > mMaxDepth) {
+            mUndoSteps.pollFirst();
+        }
+        while (mRedoSteps.size() > mMaxDepth) {
+            mRedoSteps.pollFirst();
+        }
+    }
+
+    /**
+     * 保持する操作の最大数を返す。
+     *
+     * @return 最大数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getMaxDepth() {
+        return mMaxDepth;
+    }
+
+    /**
+     * 操作の記録を開始する。（※選択状態を変更する前に呼び出す。最大数が0の場合は記録しない。）
+     * <p>前回の記録以降、記録外で選択状態が変更されている場合は履歴を破棄する。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void begin(AvailableSchedule availableSchedule) {
+        if (mMaxDepth == 0 || mRecording) {
+            return;
+        }
+        if (!this.isSynced(availableSchedule)) {
+            this.clear();
+        }
+        mRecording = true;
+        mOldFromEpochDay = availableSchedule.getSelectedFromEpochDay();
+        mOldToEpochDay = availableSchedule.getSelectedToEpochDay();
+
+        // 既にセットされている記録先（選択状態の差分の集計等）は、記録中も転送する。
+        mSelectedDayIndex = availableSchedule.getSelectedDayIndex();
+        mDayRecorder = mSelectedDayIndex.getSelectionRecorder();
+        mSelectedDayIndex.setSelectionRecorder(this);
+        mSelectedRanges = availableSchedule.getSelectedRanges();
+        mRangeRecorder = mSelectedRanges.getSelectionRecorder();
+        mSelectedRanges.setSelectionRecorder(this);
+    }
+
+    /**
+     * 操作の記録を終了する。
+     * <p>選択状態が変わった場合、取り消し可能な操作に追加し、やり直し可能な操作を破棄する。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @return 操作を追加した場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean end(AvailableSchedule availableSchedule) {
+        if (!mRecording) {
+            return false;
+        }
+        mRecording = false;
+        mSelectedDayIndex.setSelectionRecorder(mDayRecorder);
+        mSelectedRanges.setSelectionRecorder(mRangeRecorder);
+        mSelectedDayIndex = null;
+        mSelectedRanges = null;
+        mDayRecorder = null;
+        mRangeRecorder = null;
+
+        Step step = new Step(toMonthMasks(mDayXorIndex), toMonthMasks(mRangeXorIndex),
+                mOldFromEpochDay, mOldToEpochDay,
+                availableSchedule.getSelectedFromEpochDay(), availableSchedule.getSelectedToEpochDay());
+        mDayXorIndex.clear();
+        mRangeXorIndex.clear();
+        this.sync(availableSchedule);
+        if (step.isEmpty()) {
+            return false;
+        }
+
+        mUndoSteps.addLast(step);
+        if (mUndoSteps.size() > mMaxDepth) {
+            mUndoSteps.pollFirst();
+        }
+        mRedoSteps.clear();
+        return true;
+    }
+
+    /**
+     * 取り消し可能な操作があるかどうかを返す。
+     *
+     * @return 取り消し可能な場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean canUndo() {
+        return !mUndoSteps.isEmpty();
+    }
+
+    /**
+     * やり直し可能な操作があるかどうかを返す。
+     *
+     * @return やり直し可能な場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean canRedo() {
+        return !mRedoSteps.isEmpty();
+    }
+
+    /**
+     * 最新の操作を取り消す。
+     * <p>記録外で選択状態が変更されている場合は、履歴を破棄して取り消さない。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @return 取り消した場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean undo(AvailableSchedule availableSchedule, DirtyMonthSet dirtyMonthSet) {
+        if (!this.isSynced(availableSchedule)) {
+            this.clear();
+            return false;
+        }
+        Step step = mUndoSteps.pollLast();
+        if (step == null) {
+            return false;
+        }
+        apply(step, availableSchedule, step.mOldFromEpochDay, step.mOldToEpochDay, dirtyMonthSet);
+        mRedoSteps.addLast(step);
+        this.sync(availableSchedule);
+        return true;
+    }
+
+    /**
+     * 最後に取り消した操作をやり直す。
+     * <p>記録外で選択状態が変更されている場合は、履歴を破棄してやり直さない。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @return やり直した場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean redo(AvailableSchedule availableSchedule, DirtyMonthSet dirtyMonthSet) {
+        if (!this.isSynced(availableSchedule)) {
+            this.clear();
+            return false;
+        }
+        Step step = mRedoSteps.pollLast();
+        if (step == null) {
+            return false;
+        }
+        apply(step, availableSchedule, step.mNewFromEpochDay, step.mNewToEpochDay, dirtyMonthSet);
+        mUndoSteps.addLast(step);
+        this.sync(availableSchedule);
+        return true;
+    }
+
+    /**
+     * 履歴を破棄する。（※スケジュールを置き換えた場合、スケジュールモードを変更した場合等に呼び出す。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void clear() {
+        mUndoSteps.clear();
+        mRedoSteps.clear();
+        mSyncedDayIndex = null;
+        mSyncedRanges = null;
+    }
+
+    @Override
+    public void onDaysChanged(int yearMonth, int addedMask, int removedMask) {
+        mDayXorIndex.setMonthMask(yearMonth, mDayXorIndex.getMonthMask(yearMonth) ^ (addedMask | removedMask));
+        if (mDayRecorder != null) {
+            mDayRecorder.onDaysChanged(yearMonth, addedMask, removedMask);
+        }
+    }
+
+    @Override
+    public void onRangeChanged(int fromEpochDay, int toEpochDay, boolean isAdded) {
+        int toYearMonth = EpochDays.yearMonthOf(toEpochDay);
+        for (int yearMonth = EpochDays.yearMonthOf(fromEpochDay); yearMonth <= toYearMonth; yearMonth++) {
+            int mask = SelectionIndex.rangeMask(yearMonth, fromEpochDay, toEpochDay);
+            mRangeXorIndex.setMonthMask(yearMonth, mRangeXorIndex.getMonthMask(yearMonth) ^ mask);
+        }
+        if (mRangeRecorder != null) {
+            mRangeRecorder.onRangeChanged(fromEpochDay, toEpochDay, isAdded);
+        }
+    }
+
+    /**
+     * 現在の選択状態を、最後に記録・適用した時点の選択状態として保持する。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void sync(AvailableSchedule availableSchedule) {
+        mSyncedDayIndex = availableSchedule.getSelectedDayIndex();
+        mSyncedDayModCount = mSyncedDayIndex.getModCount();
+        mSyncedRanges = availableSchedule.getSelectedRanges();
+        mSyncedRangesModCount = mSyncedRanges.getModCount();
+        mSyncedFromEpochDay = availableSchedule.getSelectedFromEpochDay();
+        mSyncedToEpochDay = availableSchedule.getSelectedToEpochDay();
+    }
+
+    /**
+     * 最後に記録・適用した時点から、選択状態が変更されていないかどうかを返す。
+     * <p>選択中の日・範囲の置き換えも変更とみなす。（※履歴が無い場合は常にtrueを返す。）
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @return 変更されていない場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private boolean isSynced(AvailableSchedule availableSchedule) {
+        if (mUndoSteps.isEmpty() && mRedoSteps.isEmpty()) {
+            return true;
+        }
+        SelectionIndex selectedDayIndex = availableSchedule.getSelectedDayIndex();
+        IntervalSet selectedRanges = availableSchedule.getSelectedRanges();
+        return selectedDayIndex == mSyncedDayIndex && selectedDayIndex.getModCount() == mSyncedDayModCount
+                && selectedRanges == mSyncedRanges && selectedRanges.getModCount() == mSyncedRangesModCount
+                && availableSchedule.getSelectedFromEpochDay() == mSyncedFromEpochDay
+                && availableSchedule.getSelectedToEpochDay() == mSyncedToEpochDay;
+    }
+
+    /**
+     * 操作の差分を適用する。（※取り消し・やり直し共通）
+     *
+     * @param step 操作
+     * @param availableSchedule 利用可能スケジュール
+     * @param fromEpochDay 適用後の選択開始日（エポック日）
+     * @param toEpochDay 適用後の選択終了日（エポック日）
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static void apply(Step step, AvailableSchedule availableSchedule, int fromEpochDay, int toEpochDay,
+                              DirtyMonthSet dirtyMonthSet) {
+        SelectionIndex selectedDayIndex = availableSchedule.getSelectedDayIndex();
+        int[] dayMasks = step.mDayMasks;
+        for (int i = 0; i < dayMasks.length; i += 2) {
+            int yearMonth = dayMasks[i];
+            selectedDayIndex.setMonthMask(yearMonth, selectedDayIndex.getMonthMask(yearMonth) ^ dayMasks[i + 1]);
+            dirtyMonthSet.addRange(yearMonth, yearMonth);
+        }
+
+        // 区間は、変わった日のうち現在含まれる日を除き、含まれない日を追加する。
+        IntervalSet selectedRanges = availableSchedule.getSelectedRanges();
+        int[] rangeMasks = step.mRangeMasks;
+        for (int i = 0; i < rangeMasks.length; i += 2) {
+            int yearMonth = rangeMasks[i];
+            int firstDay = EpochDays.firstDayOf(yearMonth);
+            int mask = rangeMasks[i + 1];
+            int current = (int) selectedRanges.toMask(firstDay, EpochDays.lengthOfMonth(yearMonth));
+            applyRuns(selectedRanges, firstDay, mask & current, false);
+            applyRuns(selectedRanges, firstDay, mask & ~current, true);
+
+            // 範囲の端の描画は前後の月の日にも依存するため、前後の月も再描画対象にする。
+            dirtyMonthSet.addRange(yearMonth - 1, yearMonth + 1);
+        }
+
+        dirtyMonthSet.addDays(availableSchedule.getSelectedFromEpochDay(), availableSchedule.getSelectedToEpochDay());
+        availableSchedule.selectedFromCalendar = EpochDays.toCalendar(fromEpochDay);
+        availableSchedule.selectedToCalendar = EpochDays.toCalendar(toEpochDay);
+        dirtyMonthSet.addDays(fromEpochDay, toEpochDay);
+    }
+
+    /**
+     * ビットマスクの連続した日毎に、区間を追加・除去する。
+     *
+     * @param intervalSet 区間
+     * @param firstDay 年月の1日（エポック日）
+     * @param mask ビットマスク
+     * @param isAdded 追加する場合true、除く場合false
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static void applyRuns(IntervalSet intervalSet, int firstDay, int mask, boolean isAdded) {
+        while (mask != 0) {
+            int offset = Integer.numberOfTrailingZeros(mask);
+            int length = Integer.numberOfTrailingZeros(~(mask >>> offset));
+            mask &= ~(((1 << length) - 1) << offset);
+
+            int from = firstDay + offset;
+            int to = from + length - 1;
+            if (isAdded) {
+                intervalSet.add(from, to);
+            } else {
+                intervalSet.remove(from, to);
+            }
+        }
+    }
+
+    /**
+     * ビットマスクが0ではない年月を{@code [年月キー0, ビットマスク0, 年月キー1, ビットマスク1, ...]}の配列で返す。
+     *
+     * @param selectionIndex 変わった日
+     * @return 年月とビットマスクの配列
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int[] toMonthMasks(SelectionIndex selectionIndex) {
+        int[] yearMonths = selectionIndex.getYearMonths();
+        int[] monthMasks = new int[yearMonths.length * 2];
+        for (int i = 0; i < yearMonths.length; i++) {
+            monthMasks[i * 2] = yearMonths[i];
+            monthMasks[i * 2 + 1] = selectionIndex.getMonthMask(yearMonths[i]);
+        }
+        return monthMasks;
+    }
+
+    /**
+     * 1操作分の差分を保持するクラス。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static final class Step {
+
+        /** 変わった日（個別選択）：{@code [年月キー0, ビットマスク0, ...]} */
+        final int[] mDayMasks;
+        /** 変わった日（複数範囲選択）：{@code [年月キー0, ビットマスク0, ...]} */
+        final int[] mRangeMasks;
+        /** 変更前の選択開始日（エポック日） */
+        final int mOldFromEpochDay;
+        /** 変更前の選択終了日（エポック日） */
+        final int mOldToEpochDay;
+        /** 変更後の選択開始日（エポック日） */
+        final int mNewFromEpochDay;
+        /** 変更後の選択終了日（エポック日） */
+        final int mNewToEpochDay;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param dayMasks 変わった日（個別選択）
+         * @param rangeMasks 変わった日（複数範囲選択）
+         * @param oldFromEpochDay 変更前の選択開始日
+         * @param oldToEpochDay 変更前の選択終了日
+         * @param newFromEpochDay 変更後の選択開始日
+         * @param newToEpochDay 変更後の選択終了日
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        Step(int[] dayMasks, int[] rangeMasks, int oldFromEpochDay, int oldToEpochDay,
+             int newFromEpochDay, int newToEpochDay) {
+            mDayMasks = dayMasks;
+            mRangeMasks = rangeMasks;
+            mOldFromEpochDay = oldFromEpochDay;
+            mOldToEpochDay = oldToEpochDay;
+            mNewFromEpochDay = newFromEpochDay;
+            mNewToEpochDay = newToEpochDay;
+        }
+
+        /**
+         * 差分が無いかどうかを返す。
+         *
+         * @return 差分が無い場合trueを返す。
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        boolean isEmpty() {
+            return mDayMasks.length == 0 && mRangeMasks.length == 0
+                    && mOldFromEpochDay == mNewFromEpochDay && mOldToEpochDay == mNewToEpochDay;
+        }
+    }
+}
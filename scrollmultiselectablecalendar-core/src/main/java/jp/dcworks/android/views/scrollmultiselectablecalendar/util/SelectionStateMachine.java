@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import java.util.Calendar;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ScheduleMode;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.SelectionOperation;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayPattern;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.IntervalSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionIndex;
+
+/**
+ * 日付クリック時の選択状態の遷移を行うクラス。
+ * <p>スケジュールモード毎に{@link AvailableSchedule}を更新し、再描画が必要な年月を{@link DirtyMonthSet}に追加する。
+ * 結果はフラグの組み合わせで返す。（※リスナーへの通知、再描画は呼び出し元で行う。）
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public final class SelectionStateMachine {
+
+    /** 結果：選択状態が変更された */
+    public static final int FLAG_CHANGED = 0x01;
+    /** 結果：クリックが確定した（単一選択、または範囲選択の終了日が決まっている状態） */
+    public static final int FLAG_CLICK_FIXED = 0x02;
+    /** 結果：範囲選択が完了した */
+    public static final int FLAG_RANGE_FIXED = 0x04;
+
+    /**
+     * コンストラクタ。（※インスタンス化禁止）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private SelectionStateMachine() {
+    }
+
+    /**
+     * クリック処理。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param scheduleMode スケジュールモード
+     * @param epochDay クリックされた日のエポック日
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @return 結果のフラグ（{@link ScheduleMode#DISPLAY}の場合、{@link AvailableSchedule#isSelectable(int)}がfalseの日の場合は0を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int onDateClick(AvailableSchedule availableSchedule, ScheduleMode scheduleMode,
+                                  int epochDay, DirtyMonthSet dirtyMonthSet) {
+        // 選択可能範囲外の日、選択不可の日は無視する。（※描画前、描画内容の生成し直し前のセルがタップされた場合も含む。）
+        if (!availableSchedule.isSelectable(epochDay)) {
+            return 0;
+        }
+
+        if (scheduleMode == ScheduleMode.SINGLE) {
+            return onClickAtSingleMode(availableSchedule, epochDay, dirtyMonthSet);
+        } else if (scheduleMode == ScheduleMode.RANGE) {
+            return onClickAsRangeMode(availableSchedule, epochDay, dirtyMonthSet);
+        } else if (scheduleMode == ScheduleMode.MULTI_RANGE) {
+            return onClickAsMultiRangeMode(availableSchedule, epochDay, dirtyMonthSet);
+        }
+        return 0;
+    }
+
+    /**
+     * 一括選択処理。
+     * <p>期間内のパターンに一致する日を、年月毎のビットマスクの演算でまとめて選択・解除・反転する。
+     * 選択・反転は選択可能な日のみを対象とし、解除は選択可能範囲外の日も対象とする。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param scheduleMode スケジュールモード
+     * @param operation 操作
+     * @param fromEpochDay 開始日（エポック日）
+     * @param toEpochDay 終了日（エポック日。開始日を含む。）
+     * @param dayPattern 対象の日のパターン
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @return 結果のフラグ（{@link ScheduleMode#SINGLE}以外の場合、選択状態が変わらなかった場合は0を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static int applyPattern(AvailableSchedule availableSchedule, ScheduleMode scheduleMode,
+                                   SelectionOperation operation, int fromEpochDay, int toEpochDay,
+                                   DayPattern dayPattern, DirtyMonthSet dirtyMonthSet) {
+        if (scheduleMode != ScheduleMode.SINGLE || fromEpochDay == EpochDays.NONE || toEpochDay == EpochDays.NONE) {
+            return 0;
+        }
+
+        // 選択・反転の場合、期間を選択可能範囲内に絞る。
+        if (operation != SelectionOperation.DESELECT) {
+            int selectableFrom = availableSchedule.getSelectableFromEpochDay();
+            int selectableTo = availableSchedule.getSelectableToEpochDay();
+            if (selectableFrom == EpochDays.NONE && selectableTo == EpochDays.NONE) {
+                return 0;
+            }
+            if (selectableFrom != EpochDays.NONE) {
+                fromEpochDay = Math.max(fromEpochDay, selectableFrom);
+            }
+            if (selectableTo != EpochDays.NONE) {
+                toEpochDay = Math.min(toEpochDay, selectableTo);
+            }
+        }
+        if (fromEpochDay > toEpochDay) {
+            return 0;
+        }
+
+        SelectionIndex selectedDayIndex = availableSchedule.getSelectedDayIndex();
+        SelectionIndex disabledDayIndex = availableSchedule.getDisabledDayIndex();
+        boolean changed = false;
+
+        int toYearMonth = EpochDays.yearMonthOf(toEpochDay);
+        for (int yearMonth = EpochDays.yearMonthOf(fromEpochDay); yearMonth <= toYearMonth; yearMonth++) {
+            int bits = SelectionIndex.rangeMask(yearMonth, fromEpochDay, toEpochDay)
+                    & dayPattern.getMonthMask(yearMonth);
+            if (operation != SelectionOperation.DESELECT) {
+                bits &= ~disabledDayIndex.getMonthMask(yearMonth);
+            }
+            if (bits == 0) {
+                continue;
+            }
+
+            int mask = selectedDayIndex.getMonthMask(yearMonth);
+            int newMask;
+            if (operation == SelectionOperation.SELECT) {
+                newMask = mask | bits;
+            } else if (operation == SelectionOperation.DESELECT) {
+                newMask = mask & ~bits;
+            } else {
+                newMask = mask ^ bits;
+            }
+            if (newMask != mask) {
+                selectedDayIndex.setMonthMask(yearMonth, newMask);
+
+                // 再描画対象（※選択状態が変わった月のみ）
+                dirtyMonthSet.addRange(yearMonth, yearMonth);
+                changed = true;
+            }
+        }
+        return changed ? FLAG_CHANGED : 0;
+    }
+
+    /**
+     * 単一選択モード時のクリック処理。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param epochDay クリックされた日のエポック日
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @return 結果のフラグ
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int onClickAtSingleMode(AvailableSchedule availableSchedule, int epochDay,
+                                           DirtyMonthSet dirtyMonthSet) {
+        availableSchedule.getSelectedDayIndex().toggle(epochDay);
+
+        // 再描画対象（※クリックされた月のみ）
+        dirtyMonthSet.addDay(epochDay);
+        return FLAG_CHANGED | FLAG_CLICK_FIXED;
+    }
+
+    /**
+     * 範囲選択モード時のクリック処理。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param epochDay クリックされた日のエポック日
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @return 結果のフラグ
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int onClickAsRangeMode(AvailableSchedule availableSchedule, int epochDay,
+                                          DirtyMonthSet dirtyMonthSet) {
+        int result = FLAG_CHANGED;
+        Calendar calendar = EpochDays.toCalendar(epochDay);
+
+        // 変更前の範囲を含む月を再描画対象にする。
+        dirtyMonthSet.addDays(availableSchedule.getSelectedFromEpochDay(), availableSchedule.getSelectedToEpochDay());
+
+        // 初回タップの場合
+        if (availableSchedule.selectedFromCalendar == null) {
+            availableSchedule.selectedFromCalendar = calendar;
+
+        // 2回目以降かつ、範囲が決まっていない場合
+        } else if (availableSchedule.selectedToCalendar == null) {
+
+            // 初回タップより過去の場合セットし直し
+            if (availableSchedule.getSelectedFromEpochDay() > epochDay) {
+                availableSchedule.selectedFromCalendar = calendar;
+
+            // 初回タップ以降未来の場合（同じ場所をタップした場合も含む）
+            } else {
+                availableSchedule.selectedToCalendar = calendar;
+                result |= FLAG_RANGE_FIXED;
+            }
+
+        // 範囲が決まっている場合
+        } else {
+            availableSchedule.selectedFromCalendar = calendar;
+            availableSchedule.selectedToCalendar = null;
+        }
+
+        if (availableSchedule.selectedToCalendar != null) {
+            result |= FLAG_CLICK_FIXED;
+        }
+
+        // 再描画対象（※変更前後の範囲を含む月のみ）
+        dirtyMonthSet.addDays(availableSchedule.getSelectedFromEpochDay(), availableSchedule.getSelectedToEpochDay());
+        return result;
+    }
+
+    /**
+     * 複数範囲選択モード時のクリック処理。
+     * <p>1回目のタップで開始日、2回目のタップで終了日を決め、選択中の範囲に追加する。
+     * 開始日が決まっていない状態で選択中の範囲をタップした場合、その範囲を解除する。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @param epochDay クリックされた日のエポック日
+     * @param dirtyMonthSet 再描画が必要な年月の追加先
+     * @return 結果のフラグ
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static int onClickAsMultiRangeMode(AvailableSchedule availableSchedule, int epochDay,
+                                               DirtyMonthSet dirtyMonthSet) {
+        IntervalSet selectedRanges = availableSchedule.getSelectedRanges();
+        int fromDay = availableSchedule.getSelectedFromEpochDay();
+
+        // 初回タップの場合
+        if (fromDay == EpochDays.NONE) {
+            int index = selectedRanges.indexOf(epochDay);
+
+            // 選択中の範囲をタップした場合は解除
+            if (index >= 0) {
+                dirtyMonthSet.addDays(selectedRanges.getStart(index), selectedRanges.getEnd(index));
+                selectedRanges.removeAt(index);
+                return FLAG_CHANGED | FLAG_CLICK_FIXED;
+            }
+
+            availableSchedule.selectedFromCalendar = EpochDays.toCalendar(epochDay);
+            dirtyMonthSet.addDay(epochDay);
+            return FLAG_CHANGED;
+        }
+
+        // 初回タップより過去の場合セットし直し
+        dirtyMonthSet.addDay(fromDay);
+        if (fromDay > epochDay) {
+            availableSchedule.selectedFromCalendar = EpochDays.toCalendar(epochDay);
+            dirtyMonthSet.addDay(epochDay);
+            return FLAG_CHANGED;
+        }
+
+        // 初回タップ以降未来の場合（同じ場所をタップした場合も含む）は範囲を追加する。
+        // 結合された範囲の端の描画が変わるため、結合後の範囲を含む月を再描画対象にする。
+        int index = selectedRanges.add(fromDay, epochDay);
+        dirtyMonthSet.addDays(selectedRanges.getStart(index), selectedRanges.getEnd(index));
+        availableSchedule.selectedFromCalendar = null;
+        return FLAG_CHANGED | FLAG_CLICK_FIXED | FLAG_RANGE_FIXED;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link DayPattern}のテストクラス。
+ * <p>年月毎のビットマスクが、日毎に曜日・間隔を判定した結果と一致することを確認する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class DayPatternTest {
+
+    @Test
+    public void ofDaysOfWeek_matchesDayOfWeek() throws Exception {
+        DayPattern dayPattern = DayPattern.ofDaysOfWeek(Calendar.MONDAY, Calendar.WEDNESDAY, Calendar.FRIDAY);
+
+        // 2016/1〜2019/12（※閏年、月初の全曜日を含む。）
+        for (int yearMonth = EpochDays.yearMonthOf(2016, 1); yearMonth <= EpochDays.yearMonthOf(2019, 12); yearMonth++) {
+            int firstDay = EpochDays.firstDayOf(yearMonth);
+            int expected = 0;
+            for (int i = 0; i < EpochDays.lengthOfMonth(yearMonth); i++) {
+                int dayOfWeek = EpochDays.dayOfWeek(firstDay + i);
+                if (dayOfWeek == Calendar.MONDAY || dayOfWeek == Calendar.WEDNESDAY || dayOfWeek == Calendar.FRIDAY) {
+                    expected |= 1 << i;
+                }
+            }
+            assertEquals(expected, dayPattern.getMonthMask(yearMonth));
+        }
+        assertEquals(SelectionIndex.fullMask(EpochDays.yearMonthOf(2016, 2)),
+                DayPattern.EVERY_DAY.getMonthMask(EpochDays.yearMonthOf(2016, 2)));
+    }
+
+    @Test
+    public void everyNthDay_matchesStep() throws Exception {
+        int startEpochDay = EpochDays.of(2017, 3, 15);
+
+        for (int step = 1; step <= 40; step++) {
+            DayPattern dayPattern = DayPattern.everyNthDay(startEpochDay, step);
+            for (int yearMonth = EpochDays.yearMonthOf(2017, 1); yearMonth <= EpochDays.yearMonthOf(2018, 6); yearMonth++) {
+                int firstDay = EpochDays.firstDayOf(yearMonth);
+                int expected = 0;
+                for (int i = 0; i < EpochDays.lengthOfMonth(yearMonth); i++) {
+                    int epochDay = firstDay + i;
+                    if (epochDay >= startEpochDay && (epochDay - startEpochDay) % step == 0) {
+                        expected |= 1 << i;
+                    }
+                }
+                assertEquals("step=" + step, expected, dayPattern.getMonthMask(yearMonth));
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link IntervalSet}のテストクラス。
+ * <p>区間の追加・削除の結果が、日毎の真偽値配列で求めた結果と一致することを確認する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class IntervalSetTest {
+
+    @Test
+    public void add_mergesOverlappingAndAdjacent() throws Exception {
+        IntervalSet intervalSet = new IntervalSet();
+        intervalSet.add(10, 12);
+        intervalSet.add(20, 22);
+        assertArrayEquals(new int[] {10, 3, 20, 3}, intervalSet.toRuns());
+
+        // 隣接する区間は結合
+        assertEquals(0, intervalSet.add(13, 14));
+        assertArrayEquals(new int[] {10, 5, 20, 3}, intervalSet.toRuns());
+
+        // 複数の区間を跨ぐ区間は1つに結合
+        assertEquals(0, intervalSet.add(12, 21));
+        assertArrayEquals(new int[] {10, 13}, intervalSet.toRuns());
+
+        // 前に挿入
+        assertEquals(0, intervalSet.add(1, 1));
+        assertEquals(1, intervalSet.indexOf(15));
+        assertEquals(-1, intervalSet.indexOf(5));
+    }
+
+    @Test
+    public void randomOperations_matchBruteForce() throws Exception {
+        Random random = new Random(20170713);
+        IntervalSet intervalSet = new IntervalSet();
+        boolean[] expected = new boolean[400];
+
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(380);
+            int to = from + random.nextInt(20);
+            int operation = random.nextInt(8);
+            if (operation == 0) {
+                intervalSet.remove(from, to);
+                for (int day = from; day <= to; day++) {
+                    expected[day] = false;
+                }
+            } else if (operation == 1) {
+                int index = intervalSet.indexOf(from);
+                if (index >= 0) {
+                    for (int day = intervalSet.getStart(index); day <= intervalSet.getEnd(index); day++) {
+                        expected[day] = false;
+                    }
+                    intervalSet.removeAt(index);
+                }
+            } else {
+                intervalSet.add(from, to);
+                for (int day = from; day <= to; day++) {
+                    expected[day] = true;
+                }
+            }
+
+            // 区間は昇順かつ離れている
+            for (int index = 1; index < intervalSet.size(); index++) {
+                assertTrue(intervalSet.getEnd(index - 1) + 1 < intervalSet.getStart(index));
+            }
+            for (int day = 0; day < expected.length; day++) {
+                assertEquals(expected[day], intervalSet.contains(day));
+            }
+
+            int maskFrom = random.nextInt(expected.length - 64 + 1);
+            long mask = intervalSet.toMask(maskFrom, 64);
+            for (int n = 0; n < 64; n++) {
+                assertEquals(expected[maskFrom + n], (mask & (1L << n)) != 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link MonthGrid}のテストクラス。
+ * <p>セル配置が{@link Calendar}で求めた曜日・日付と一致することを確認する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class MonthGridTest {
+
+    @Test
+    public void cellLayout_matchesCalendar() throws Exception {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1900, Calendar.JANUARY, 1);
+
+        // 1900年1月〜2100年12月
+        for (int i = 0; i < 201 * 12; i++) {
+            MonthGrid monthGrid = MonthGrid.of(calendar);
+            int dayCount = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+
+            assertEquals(EpochDays.yearMonthOf(calendar), monthGrid.getYearMonth());
+            assertEquals(calendar.get(Calendar.DAY_OF_WEEK), monthGrid.getFirstDayOfWeek());
+            assertEquals(dayCount, monthGrid.getDayCount());
+
+            int filled = 0;
+            for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; cellIndex++) {
+                int day = monthGrid.getDayOfMonth(cellIndex);
+                if (day == 0) {
+                    assertEquals(EpochDays.NONE, monthGrid.getEpochDay(cellIndex));
+                    continue;
+                }
+                filled++;
+                assertEquals(cellIndex, monthGrid.getCellIndex(day));
+                assertEquals(monthGrid.getFirstDay() + day - 1, monthGrid.getEpochDay(cellIndex));
+            }
+            assertEquals(dayCount, filled);
+
+            int lastCellIndex = monthGrid.getCellIndex(dayCount);
+            assertEquals(lastCellIndex / MonthGrid.DAYS_OF_WEEK + 1, monthGrid.getWeekCount());
+
+            calendar.add(Calendar.MONTH, 1);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link SelectedCalendarList}のテストクラス。
+ * <p>{@code ArrayList}だった頃の{@code List}の操作が引き続き利用できることを確認する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class SelectedCalendarListTest {
+
+    private static final int JAN_10 = EpochDays.of(2017, 1, 10);
+    private static final int JAN_20 = EpochDays.of(2017, 1, 20);
+    private static final int FEB_01 = EpochDays.of(2017, 2, 1);
+    private static final int MAR_05 = EpochDays.of(2017, 3, 5);
+
+    @Test
+    public void sortAndSet_replaceElements() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        List<Calendar> list = availableSchedule.selectedCalendarList;
+        list.add(EpochDays.toCalendar(MAR_05));
+        list.add(0, EpochDays.toCalendar(JAN_10));
+
+        // 昇順のまま要素を置き換える。
+        Collections.sort(list);
+        assertArrayEquals(new int[] {JAN_10, MAR_05}, availableSchedule.getSelectedEpochDays());
+
+        // 置き換え前の要素を返し、新しい要素は日付の昇順の位置に入る。
+        Calendar oldCalendar = list.set(1, EpochDays.toCalendar(JAN_20));
+        assertEquals(MAR_05, EpochDays.of(oldCalendar));
+        assertArrayEquals(new int[] {JAN_10, JAN_20}, availableSchedule.getSelectedEpochDays());
+
+        ListIterator<Calendar> iterator = list.listIterator();
+        iterator.next();
+        iterator.set(EpochDays.toCalendar(MAR_05));
+        assertArrayEquals(new int[] {JAN_20, MAR_05}, availableSchedule.getSelectedEpochDays());
+    }
+
+    @Test
+    public void sortAndSet_keepSize() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        List<Calendar> list = availableSchedule.selectedCalendarList;
+        for (int epochDay : new int[] {JAN_10, JAN_20, FEB_01, MAR_05}) {
+            list.add(EpochDays.toCalendar(epochDay));
+        }
+        int[] expected = availableSchedule.getSelectedEpochDays();
+
+        // 昇順以外の並べ替えは、要素を変更せずに例外とする。
+        boolean thrown = false;
+        try {
+            Collections.sort(list, Collections.reverseOrder());
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        assertArrayEquals(expected, availableSchedule.getSelectedEpochDays());
+
+        // 他の位置にある日付はセットできない。
+        thrown = false;
+        try {
+            list.set(0, EpochDays.toCalendar(MAR_05));
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        assertArrayEquals(expected, availableSchedule.getSelectedEpochDays());
+
+        // 同じ位置の日付はそのままセットできる。
+        assertEquals(JAN_10, EpochDays.of(list.set(0, EpochDays.toCalendar(JAN_10))));
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    public void addAtIndex_checksRange() throws Exception {
+        List<Calendar> list = new AvailableSchedule().selectedCalendarList;
+        boolean thrown = false;
+        try {
+            list.add(1, EpochDays.toCalendar(JAN_10));
+        } catch (IndexOutOfBoundsException e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        assertTrue(list.isEmpty());
+    }
+}
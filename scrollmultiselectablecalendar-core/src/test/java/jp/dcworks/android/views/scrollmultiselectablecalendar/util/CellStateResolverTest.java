@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.IntervalSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link CellStateResolver}のテストクラス。
+ * <p>月単位のビットマスクで求めた描画状態が、日毎に{@link AvailableSchedule}で判定した結果と一致することを確認する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class CellStateResolverTest {
+
+    private static final int FROM_YEAR_MONTH = EpochDays.yearMonthOf(2017, 1);
+    private static final int TO_YEAR_MONTH = EpochDays.yearMonthOf(2019, 12);
+
+    @Test
+    public void resolveMonth_matchesSchedule() throws Exception {
+        Random random = new Random(20170713);
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(EpochDays.of(2017, 2, 15));
+        availableSchedule.selectableToCalendar = EpochDays.toCalendar(EpochDays.of(2019, 10, 3));
+
+        int firstDay = EpochDays.firstDayOf(FROM_YEAR_MONTH);
+        for (int i = 0; i < 300; i++) {
+            availableSchedule.getDisabledDayIndex().add(firstDay + random.nextInt(1000));
+            int from = firstDay + random.nextInt(1000);
+            availableSchedule.getSelectedRanges().add(from, from + random.nextInt(10));
+        }
+
+        CellStateResolver cellStateResolver = new CellStateResolver();
+        cellStateResolver.setAvailableSchedule(availableSchedule);
+        IntervalSet selectedRanges = availableSchedule.getSelectedRanges();
+
+        int[] cellStates = new int[MonthGrid.CELL_COUNT];
+        for (int yearMonth = FROM_YEAR_MONTH; yearMonth <= TO_YEAR_MONTH; yearMonth++) {
+            MonthGrid monthGrid = MonthGrid.of(yearMonth);
+            cellStateResolver.resolveMonth(monthGrid, cellStates);
+
+            for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; cellIndex++) {
+                int epochDay = monthGrid.getEpochDay(cellIndex);
+                if (epochDay == EpochDays.NONE) {
+                    assertEquals(CellState.UNKNOWN, cellStates[cellIndex]);
+                    continue;
+                }
+
+                int expected = CellState.NONE;
+                int index = selectedRanges.indexOf(epochDay);
+                if (index >= 0) {
+                    int start = selectedRanges.getStart(index);
+                    int end = selectedRanges.getEnd(index);
+                    if (start == end) {
+                        expected = CellState.SELECTED;
+                    } else if (epochDay == start) {
+                        expected = CellState.RANGE_FROM;
+                    } else if (epochDay == end) {
+                        expected = CellState.RANGE_TO;
+                    } else {
+                        expected = CellState.RANGE_MID;
+                    }
+                }
+                expected |= availableSchedule.isSelectable(epochDay) ? CellState.FLAG_SELECTABLE : CellState.FLAG_DISABLED;
+
+                assertEquals(expected, cellStates[cellIndex]);
+                assertEquals(expected, cellStateResolver.resolve(monthGrid, cellIndex));
+            }
+        }
+    }
+
+    @Test
+    public void bindAvailableSchedule_readsWithoutCopy() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        int epochDay = EpochDays.of(2017, 3, 10);
+
+        CellStateResolver copied = new CellStateResolver();
+        copied.setAvailableSchedule(availableSchedule);
+        CellStateResolver bound = new CellStateResolver();
+        bound.bindAvailableSchedule(availableSchedule);
+
+        // セット後の選択は、コピーには反映されず、参照には反映される。
+        availableSchedule.getSelectedDayIndex().add(epochDay);
+        int yearMonth = EpochDays.yearMonthOf(2017, 3);
+        assertEquals(0, copied.getSelectedMask(yearMonth));
+        assertEquals(1 << 9, bound.getSelectedMask(yearMonth));
+    }
+
+    @Test
+    public void setAvailableScheduleForMonths_matchesFullCopy() throws Exception {
+        Random random = new Random(20170714);
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(EpochDays.of(2017, 2, 15));
+        int firstDay = EpochDays.firstDayOf(FROM_YEAR_MONTH);
+        for (int i = 0; i < 300; i++) {
+            availableSchedule.getDisabledDayIndex().add(firstDay + random.nextInt(1000));
+            availableSchedule.getSelectedDayIndex().add(firstDay + random.nextInt(1000));
+            int from = firstDay + random.nextInt(1000);
+            availableSchedule.getSelectedRanges().add(from, from + random.nextInt(40));
+        }
+
+        CellStateResolver fullResolver = new CellStateResolver();
+        fullResolver.setAvailableSchedule(availableSchedule);
+        DirtyMonthSet monthSet = new DirtyMonthSet();
+        monthSet.addRange(EpochDays.yearMonthOf(2017, 3), EpochDays.yearMonthOf(2017, 5));
+        monthSet.addRange(EpochDays.yearMonthOf(2018, 12), EpochDays.yearMonthOf(2018, 12));
+        CellStateResolver monthResolver = new CellStateResolver();
+        monthResolver.setAvailableSchedule(availableSchedule, monthSet);
+
+        // 指定した年月は、全体をコピーした場合と同じ描画状態となる。
+        int[] expected = new int[MonthGrid.CELL_COUNT];
+        int[] actual = new int[MonthGrid.CELL_COUNT];
+        for (int yearMonth = FROM_YEAR_MONTH; yearMonth <= TO_YEAR_MONTH; yearMonth++) {
+            if (!monthSet.contains(yearMonth)) {
+                continue;
+            }
+            MonthGrid monthGrid = MonthGrid.of(yearMonth);
+            fullResolver.resolveMonth(monthGrid, expected);
+            monthResolver.resolveMonth(monthGrid, actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import org.junit.Test;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ScheduleMode;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.SelectionOperation;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayPattern;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionChange;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link SelectionChangeTracker}のテストクラス。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class SelectionChangeTrackerTest {
+
+    private static final int JAN_10 = EpochDays.of(2017, 1, 10);
+    private static final int JAN_30 = EpochDays.of(2017, 1, 30);
+    private static final int FEB_02 = EpochDays.of(2017, 2, 2);
+
+    @Test
+    public void singleMode_coalescesClicks() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        availableSchedule.getSelectedDayIndex().add(JAN_10);
+        SelectionChangeTracker tracker = new SelectionChangeTracker();
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 同一フレーム内の選択・解除は相殺する。
+        tracker.begin(availableSchedule);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.SINGLE, JAN_30, dirtyMonthSet);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.SINGLE, JAN_10, dirtyMonthSet);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.SINGLE, FEB_02, dirtyMonthSet);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.SINGLE, FEB_02, dirtyMonthSet);
+        SelectionChange selectionChange = tracker.end(availableSchedule);
+
+        assertArrayEquals(new int[] {JAN_30, 1}, selectionChange.getAddedRuns());
+        assertArrayEquals(new int[] {JAN_10, 1}, selectionChange.getRemovedRuns());
+        assertFalse(selectionChange.isRangeChanged());
+        assertFalse(tracker.isTracking());
+
+        // 集計終了後の変更は記録しない。
+        availableSchedule.getSelectedDayIndex().add(FEB_02);
+        tracker.begin(availableSchedule);
+        assertNull(tracker.end(availableSchedule));
+    }
+
+    @Test
+    public void applyPattern_reportsRunsAcrossMonths() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        SelectionChangeTracker tracker = new SelectionChangeTracker();
+
+        tracker.begin(availableSchedule);
+        SelectionStateMachine.applyPattern(availableSchedule, ScheduleMode.SINGLE, SelectionOperation.SELECT,
+                JAN_30, FEB_02, DayPattern.EVERY_DAY, new DirtyMonthSet());
+        SelectionChange selectionChange = tracker.end(availableSchedule);
+
+        // 月を跨いで連続する日は1つにまとめる。
+        assertArrayEquals(new int[] {JAN_30, 4}, selectionChange.getAddedRuns());
+        assertEquals(0, selectionChange.getRemovedRuns().length);
+    }
+
+    @Test
+    public void rangeModes_reportRangeAndDays() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        SelectionChangeTracker tracker = new SelectionChangeTracker();
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 範囲選択：開始のみの場合は範囲の変更のみ
+        tracker.begin(availableSchedule);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, JAN_10, dirtyMonthSet);
+        SelectionChange selectionChange = tracker.end(availableSchedule);
+        assertTrue(selectionChange.isRangeChanged());
+        assertEquals(EpochDays.NONE, selectionChange.getOldFromEpochDay());
+        assertEquals(JAN_10, selectionChange.getNewFromEpochDay());
+        assertEquals(0, selectionChange.getAddedRuns().length);
+
+        // 範囲選択：範囲確定
+        tracker.begin(availableSchedule);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, JAN_30, dirtyMonthSet);
+        selectionChange = tracker.end(availableSchedule);
+        assertArrayEquals(new int[] {JAN_10, 21}, selectionChange.getAddedRuns());
+        assertEquals(JAN_30, selectionChange.getNewToEpochDay());
+
+        // 複数範囲選択：既存の範囲に結合した場合は、新たに選択された日のみ
+        availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        availableSchedule.getSelectedRanges().add(JAN_10, JAN_30);
+        tracker.begin(availableSchedule);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, JAN_30 + 1, dirtyMonthSet);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, FEB_02, dirtyMonthSet);
+        selectionChange = tracker.end(availableSchedule);
+
+        // 開始日は確定後に未設定に戻るため、範囲の変更は無し。
+        assertFalse(selectionChange.isRangeChanged());
+        assertArrayEquals(new int[] {JAN_30 + 1, 3}, selectionChange.getAddedRuns());
+        assertEquals(0, selectionChange.getRemovedRuns().length);
+
+        // 複数範囲選択：範囲の解除
+        tracker.begin(availableSchedule);
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, JAN_10, dirtyMonthSet);
+        selectionChange = tracker.end(availableSchedule);
+        assertArrayEquals(new int[] {JAN_10, 24}, selectionChange.getRemovedRuns());
+    }
+
+    @Test
+    public void replace_reportsOnlyDifference() throws Exception {
+        AvailableSchedule oldSchedule = new AvailableSchedule();
+        oldSchedule.getSelectedDayIndex().addRange(JAN_10, JAN_30);
+        AvailableSchedule newSchedule = new AvailableSchedule();
+        newSchedule.getSelectedDayIndex().addRange(JAN_30, FEB_02);
+        SelectionChangeTracker tracker = new SelectionChangeTracker();
+
+        tracker.replace(oldSchedule, newSchedule);
+        newSchedule.getSelectedDayIndex().remove(FEB_02);
+        SelectionChange selectionChange = tracker.end(newSchedule);
+
+        assertArrayEquals(new int[] {JAN_30 + 1, 2}, selectionChange.getAddedRuns());
+        assertArrayEquals(new int[] {JAN_10, 20}, selectionChange.getRemovedRuns());
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ScheduleMode;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.SelectionOperation;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayPattern;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionChange;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link SelectionHistory}のテストクラス。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class SelectionHistoryTest {
+
+    private static final int JAN_10 = EpochDays.of(2017, 1, 10);
+    private static final int JAN_30 = EpochDays.of(2017, 1, 30);
+    private static final int FEB_02 = EpochDays.of(2017, 2, 2);
+    private static final int MAR_05 = EpochDays.of(2017, 3, 5);
+
+    @Test
+    public void singleMode_undoRedoRestoresDays() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        SelectionHistory history = new SelectionHistory();
+        history.setMaxDepth(10);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        click(history, availableSchedule, ScheduleMode.SINGLE, JAN_30);
+        history.begin(availableSchedule);
+        SelectionStateMachine.applyPattern(availableSchedule, ScheduleMode.SINGLE, SelectionOperation.TOGGLE,
+                JAN_10, MAR_05, DayPattern.EVERY_DAY, dirtyMonthSet);
+        history.end(availableSchedule);
+        int[] toggled = availableSchedule.getSelectedEpochDays();
+
+        // 取り消し
+        dirtyMonthSet.clear();
+        assertTrue(history.undo(availableSchedule, dirtyMonthSet));
+        assertArrayEquals(new int[] {JAN_30}, availableSchedule.getSelectedEpochDays());
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(FEB_02)));
+        assertTrue(history.undo(availableSchedule, dirtyMonthSet));
+        assertTrue(availableSchedule.getSelectedDayIndex().isEmpty());
+        assertFalse(history.undo(availableSchedule, dirtyMonthSet));
+
+        // やり直し
+        assertTrue(history.redo(availableSchedule, dirtyMonthSet));
+        assertTrue(history.redo(availableSchedule, dirtyMonthSet));
+        assertArrayEquals(toggled, availableSchedule.getSelectedEpochDays());
+        assertFalse(history.canRedo());
+
+        // 新しい操作でやり直し可能な操作は破棄する。
+        history.undo(availableSchedule, dirtyMonthSet);
+        click(history, availableSchedule, ScheduleMode.SINGLE, MAR_05);
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    public void rangeModes_undoRestoresRangesAndEndpoints() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        SelectionHistory history = new SelectionHistory();
+        history.setMaxDepth(10);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 範囲選択
+        click(history, availableSchedule, ScheduleMode.RANGE, JAN_10);
+        click(history, availableSchedule, ScheduleMode.RANGE, FEB_02);
+        history.undo(availableSchedule, dirtyMonthSet);
+        assertEquals(JAN_10, availableSchedule.getSelectedFromEpochDay());
+        assertEquals(EpochDays.NONE, availableSchedule.getSelectedToEpochDay());
+        history.redo(availableSchedule, dirtyMonthSet);
+        assertEquals(FEB_02, availableSchedule.getSelectedToEpochDay());
+
+        // 複数範囲選択：結合された範囲の取り消しは、追加した日のみ除く。
+        availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        availableSchedule.getSelectedRanges().add(JAN_10, JAN_30);
+        history.clear();
+        click(history, availableSchedule, ScheduleMode.MULTI_RANGE, JAN_30 + 1);
+        click(history, availableSchedule, ScheduleMode.MULTI_RANGE, MAR_05);
+        assertArrayEquals(new int[] {JAN_10, MAR_05 - JAN_10 + 1}, availableSchedule.getSelectedRanges().toRuns());
+
+        history.undo(availableSchedule, dirtyMonthSet);
+        assertArrayEquals(new int[] {JAN_10, 21}, availableSchedule.getSelectedRanges().toRuns());
+        assertEquals(JAN_30 + 1, availableSchedule.getSelectedFromEpochDay());
+        history.undo(availableSchedule, dirtyMonthSet);
+        assertEquals(EpochDays.NONE, availableSchedule.getSelectedFromEpochDay());
+
+        // 範囲の解除の取り消し
+        history.redo(availableSchedule, dirtyMonthSet);
+        history.redo(availableSchedule, dirtyMonthSet);
+        click(history, availableSchedule, ScheduleMode.MULTI_RANGE, FEB_02);
+        assertTrue(availableSchedule.getSelectedRanges().isEmpty());
+        history.undo(availableSchedule, dirtyMonthSet);
+        assertArrayEquals(new int[] {JAN_10, MAR_05 - JAN_10 + 1}, availableSchedule.getSelectedRanges().toRuns());
+    }
+
+    @Test
+    public void maxDepth_dropsOldestStep() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        SelectionHistory history = new SelectionHistory();
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 最大数が0の場合は記録しない。
+        click(history, availableSchedule, ScheduleMode.SINGLE, JAN_10);
+        assertFalse(history.canUndo());
+
+        history.setMaxDepth(2);
+        click(history, availableSchedule, ScheduleMode.SINGLE, JAN_30);
+        click(history, availableSchedule, ScheduleMode.SINGLE, FEB_02);
+        click(history, availableSchedule, ScheduleMode.SINGLE, MAR_05);
+        assertTrue(history.undo(availableSchedule, dirtyMonthSet));
+        assertTrue(history.undo(availableSchedule, dirtyMonthSet));
+        assertFalse(history.undo(availableSchedule, dirtyMonthSet));
+        assertArrayEquals(new int[] {JAN_10, JAN_30}, availableSchedule.getSelectedEpochDays());
+    }
+
+    @Test
+    public void recording_forwardsToSelectionChangeTracker() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        SelectionHistory history = new SelectionHistory();
+        history.setMaxDepth(10);
+        SelectionChangeTracker tracker = new SelectionChangeTracker();
+
+        tracker.begin(availableSchedule);
+        click(history, availableSchedule, ScheduleMode.SINGLE, JAN_10);
+        SelectionChange selectionChange = tracker.end(availableSchedule);
+        assertArrayEquals(new int[] {JAN_10, 1}, selectionChange.getAddedRuns());
+
+        // 取り消しも差分として集計する。
+        tracker.begin(availableSchedule);
+        history.undo(availableSchedule, new DirtyMonthSet());
+        selectionChange = tracker.end(availableSchedule);
+        assertArrayEquals(new int[] {JAN_10, 1}, selectionChange.getRemovedRuns());
+    }
+
+    @Test
+    public void unrecordedChange_clearsHistory() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        SelectionHistory history = new SelectionHistory();
+        history.setMaxDepth(10);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 記録外で選択中の日を解除した場合、取り消しで選択し直さない。
+        click(history, availableSchedule, ScheduleMode.SINGLE, JAN_10);
+        availableSchedule.selectedCalendarList.clear();
+        assertFalse(history.undo(availableSchedule, dirtyMonthSet));
+        assertTrue(availableSchedule.getSelectedDayIndex().isEmpty());
+        assertFalse(history.canUndo());
+
+        // 記録外で別のリストを代入した場合
+        click(history, availableSchedule, ScheduleMode.SINGLE, JAN_30);
+        history.undo(availableSchedule, dirtyMonthSet);
+        availableSchedule.selectedCalendarList = new ArrayList<>(Collections.singletonList(EpochDays.toCalendar(FEB_02)));
+        assertFalse(history.redo(availableSchedule, dirtyMonthSet));
+        assertArrayEquals(new int[] {FEB_02}, availableSchedule.getSelectedEpochDays());
+
+        // 記録外で選択開始日を変更した場合
+        click(history, availableSchedule, ScheduleMode.RANGE, JAN_10);
+        availableSchedule.selectedFromCalendar = EpochDays.toCalendar(MAR_05);
+        assertFalse(history.undo(availableSchedule, dirtyMonthSet));
+        assertEquals(MAR_05, availableSchedule.getSelectedFromEpochDay());
+
+        // 記録外で範囲を追加した場合、次の操作の記録前に破棄する。
+        availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        click(history, availableSchedule, ScheduleMode.MULTI_RANGE, FEB_02);
+        availableSchedule.getSelectedRanges().add(JAN_10, JAN_30);
+        click(history, availableSchedule, ScheduleMode.MULTI_RANGE, MAR_05);
+        assertTrue(history.undo(availableSchedule, dirtyMonthSet));
+        assertFalse(history.canUndo());
+        assertArrayEquals(new int[] {JAN_10, JAN_30 - JAN_10 + 1}, availableSchedule.getSelectedRanges().toRuns());
+        assertEquals(FEB_02, availableSchedule.getSelectedFromEpochDay());
+    }
+
+    /**
+     * 履歴を記録してクリック処理を行う。
+     */
+    private static void click(SelectionHistory history, AvailableSchedule availableSchedule,
+                              ScheduleMode scheduleMode, int epochDay) {
+        history.begin(availableSchedule);
+        SelectionStateMachine.onDateClick(availableSchedule, scheduleMode, epochDay, new DirtyMonthSet());
+        history.end(availableSchedule);
+    }
+}
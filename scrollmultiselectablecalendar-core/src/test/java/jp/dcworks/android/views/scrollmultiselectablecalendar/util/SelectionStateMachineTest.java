@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.util;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ScheduleMode;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.SelectionOperation;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayPattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link SelectionStateMachine}のテストクラス。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class SelectionStateMachineTest {
+
+    private static final int JAN_10 = EpochDays.of(2017, 1, 10);
+    private static final int JAN_20 = EpochDays.of(2017, 1, 20);
+    private static final int MAR_05 = EpochDays.of(2017, 3, 5);
+
+    @Test
+    public void singleMode_togglesDay() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        int result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.SINGLE, JAN_10, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED | SelectionStateMachine.FLAG_CLICK_FIXED, result);
+        assertTrue(availableSchedule.isSelected(JAN_10));
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 1)));
+
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.SINGLE, JAN_10, dirtyMonthSet);
+        assertFalse(availableSchedule.isSelected(JAN_10));
+    }
+
+    @Test
+    public void rangeMode_fixesRange() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 初回タップ
+        int result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, JAN_20, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED, result);
+        assertEquals(JAN_20, availableSchedule.getSelectedFromEpochDay());
+        assertNull(availableSchedule.selectedToCalendar);
+
+        // 初回タップより過去の場合セットし直し
+        result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, JAN_10, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED, result);
+        assertEquals(JAN_10, availableSchedule.getSelectedFromEpochDay());
+
+        // 範囲確定
+        dirtyMonthSet.clear();
+        result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, MAR_05, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED | SelectionStateMachine.FLAG_CLICK_FIXED
+                | SelectionStateMachine.FLAG_RANGE_FIXED, result);
+        assertEquals(JAN_10, availableSchedule.getSelectedFromEpochDay());
+        assertEquals(MAR_05, availableSchedule.getSelectedToEpochDay());
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 2)));
+
+        // 範囲確定後のタップは新しい開始日
+        dirtyMonthSet.clear();
+        result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, JAN_20, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED, result);
+        assertEquals(JAN_20, availableSchedule.getSelectedFromEpochDay());
+        assertNull(availableSchedule.selectedToCalendar);
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 3)));
+    }
+
+    @Test
+    public void rangeMode_sameDayFixesRange() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, JAN_10, dirtyMonthSet);
+        int result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.RANGE, JAN_10, dirtyMonthSet);
+        assertTrue((result & SelectionStateMachine.FLAG_RANGE_FIXED) != 0);
+        assertEquals(JAN_10, availableSchedule.getSelectedToEpochDay());
+    }
+
+    @Test
+    public void multiRangeMode_addsAndRemovesRanges() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 1つ目の範囲
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, JAN_10, dirtyMonthSet);
+        int result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, JAN_20, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED | SelectionStateMachine.FLAG_CLICK_FIXED
+                | SelectionStateMachine.FLAG_RANGE_FIXED, result);
+        assertNull(availableSchedule.selectedFromCalendar);
+
+        // 2つ目の範囲（※1つ目の範囲と重なるため結合される。）
+        dirtyMonthSet.clear();
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, MAR_05, dirtyMonthSet);
+        assertEquals(MAR_05, availableSchedule.getSelectedFromEpochDay());
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, JAN_20, dirtyMonthSet);
+        assertEquals(JAN_20, availableSchedule.getSelectedFromEpochDay());
+        SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, MAR_05, dirtyMonthSet);
+        assertArrayEquals(new int[] {JAN_10, MAR_05 - JAN_10 + 1}, availableSchedule.getSelectedRanges().toRuns());
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 2)));
+
+        // 選択中の範囲をタップした場合は解除
+        dirtyMonthSet.clear();
+        result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.MULTI_RANGE, JAN_20, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED | SelectionStateMachine.FLAG_CLICK_FIXED, result);
+        assertTrue(availableSchedule.getSelectedRanges().isEmpty());
+        assertNull(availableSchedule.selectedFromCalendar);
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 3)));
+    }
+
+    @Test
+    public void disabledDay_ignoresClick() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_10);
+        availableSchedule.addDisabledCalendar(EpochDays.toCalendar(JAN_10));
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        for (ScheduleMode scheduleMode : ScheduleMode.values()) {
+            int result = SelectionStateMachine.onDateClick(availableSchedule, scheduleMode, JAN_10, dirtyMonthSet);
+            assertEquals(0, result);
+        }
+        assertFalse(availableSchedule.isSelected(JAN_10));
+        assertNull(availableSchedule.selectedFromCalendar);
+        assertTrue(dirtyMonthSet.isEmpty());
+    }
+
+    @Test
+    public void applyPattern_selectsSelectableDaysOnly() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(EpochDays.of(2017, 4, 1));
+        availableSchedule.selectableToCalendar = EpochDays.toCalendar(EpochDays.of(2017, 9, 30));
+        availableSchedule.addDisabledCalendar(EpochDays.toCalendar(EpochDays.of(2017, 5, 3)));
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+        DayPattern dayPattern = DayPattern.ofDaysOfWeek(Calendar.MONDAY, Calendar.WEDNESDAY, Calendar.FRIDAY);
+
+        // 選択可能範囲外を含む期間を指定した場合、範囲内の月・水・金曜日（選択不可の日を除く）のみ選択する。
+        int result = SelectionStateMachine.applyPattern(availableSchedule, ScheduleMode.SINGLE, SelectionOperation.SELECT,
+                EpochDays.of(2017, 3, 1), EpochDays.of(2017, 10, 31), dayPattern, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED, result);
+
+        int expected = 0;
+        for (int epochDay = EpochDays.of(2017, 4, 1); epochDay <= EpochDays.of(2017, 9, 30); epochDay++) {
+            int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+            boolean isTarget = (dayOfWeek == Calendar.MONDAY || dayOfWeek == Calendar.WEDNESDAY
+                    || dayOfWeek == Calendar.FRIDAY) && !availableSchedule.isDisabled(epochDay);
+            assertEquals(isTarget, availableSchedule.isSelected(epochDay));
+            expected += isTarget ? 1 : 0;
+        }
+        assertEquals(expected, availableSchedule.getSelectedDayIndex().size());
+        assertFalse(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 3)));
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 4)));
+        assertTrue(dirtyMonthSet.contains(EpochDays.yearMonthOf(2017, 9)));
+
+        // 同じ操作を繰り返した場合は変更なし
+        dirtyMonthSet.clear();
+        result = SelectionStateMachine.applyPattern(availableSchedule, ScheduleMode.SINGLE, SelectionOperation.SELECT,
+                EpochDays.of(2017, 3, 1), EpochDays.of(2017, 10, 31), dayPattern, dirtyMonthSet);
+        assertEquals(0, result);
+        assertTrue(dirtyMonthSet.isEmpty());
+
+        // 反転後、解除で空になる。
+        SelectionStateMachine.applyPattern(availableSchedule, ScheduleMode.SINGLE, SelectionOperation.TOGGLE,
+                EpochDays.of(2017, 4, 1), EpochDays.of(2017, 4, 30), DayPattern.EVERY_DAY, dirtyMonthSet);
+        assertFalse(availableSchedule.isSelected(EpochDays.of(2017, 4, 3)));
+        assertTrue(availableSchedule.isSelected(EpochDays.of(2017, 4, 4)));
+
+        result = SelectionStateMachine.applyPattern(availableSchedule, ScheduleMode.SINGLE, SelectionOperation.DESELECT,
+                EpochDays.of(2017, 1, 1), EpochDays.of(2017, 12, 31), DayPattern.EVERY_DAY, dirtyMonthSet);
+        assertEquals(SelectionStateMachine.FLAG_CHANGED, result);
+        assertTrue(availableSchedule.getSelectedDayIndex().isEmpty());
+
+        // 単一選択以外は無視する。
+        result = SelectionStateMachine.applyPattern(availableSchedule, ScheduleMode.RANGE, SelectionOperation.SELECT,
+                EpochDays.of(2017, 4, 1), EpochDays.of(2017, 4, 30), DayPattern.EVERY_DAY, dirtyMonthSet);
+        assertEquals(0, result);
+    }
+
+    @Test
+    public void outOfSelectableRange_ignoresClick() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(JAN_20);
+        availableSchedule.selectableToCalendar = EpochDays.toCalendar(MAR_05 - 1);
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        // 描画内容が古い場合もタップされ得るため、選択可能範囲外の日は選択状態を変えない。
+        for (ScheduleMode scheduleMode : ScheduleMode.values()) {
+            assertEquals(0, SelectionStateMachine.onDateClick(availableSchedule, scheduleMode, JAN_10, dirtyMonthSet));
+            assertEquals(0, SelectionStateMachine.onDateClick(availableSchedule, scheduleMode, MAR_05, dirtyMonthSet));
+        }
+        assertTrue(availableSchedule.getSelectedDayIndex().isEmpty());
+        assertNull(availableSchedule.selectedFromCalendar);
+        assertTrue(dirtyMonthSet.isEmpty());
+
+        // 選択可能範囲の開始・終了が共に未設定の場合は、全ての日が選択不可。
+        availableSchedule = new AvailableSchedule();
+        assertEquals(0, SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.SINGLE, JAN_20, dirtyMonthSet));
+        assertTrue(dirtyMonthSet.isEmpty());
+    }
+
+    @Test
+    public void displayMode_ignoresClick() throws Exception {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        DirtyMonthSet dirtyMonthSet = new DirtyMonthSet();
+
+        int result = SelectionStateMachine.onDateClick(availableSchedule, ScheduleMode.DISPLAY, JAN_10, dirtyMonthSet);
+        assertEquals(0, result);
+        assertNull(availableSchedule.selectedFromCalendar);
+        assertTrue(dirtyMonthSet.isEmpty());
+    }
+}
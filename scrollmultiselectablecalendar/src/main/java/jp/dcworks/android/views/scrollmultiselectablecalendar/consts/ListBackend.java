@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.consts;
+
+/**
+ * 月リストの描画方式。
+ * <ul>
+ *     <li>{@code LIST_VIEW}：ListViewで描画</li>
+ *     <li>{@code RECYCLER_VIEW}：RecyclerViewで描画（※安定ID、差分通知、部分描画を利用する。）</li>
+ * </ul>
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public enum ListBackend {
+    LIST_VIEW,
+    RECYCLER_VIEW
+}
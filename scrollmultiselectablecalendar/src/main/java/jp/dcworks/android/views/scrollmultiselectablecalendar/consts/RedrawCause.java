@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.consts;
+
+/**
+ * 再描画の要因。
+ * <ul>
+ *     <li>{@code CREATED}：Viewの生成</li>
+ *     <li>{@code SCHEDULE}：スケジュールの変更</li>
+ *     <li>{@code MONTHS}：表示する月の変更</li>
+ *     <li>{@code SCHEDULE_MODE}：スケジュールモードの変更</li>
+ *     <li>{@code LIST_BACKEND}：月リストの描画方式の変更</li>
+ *     <li>{@code MONTH_RENDERER}：月の描画方式の変更</li>
+ *     <li>{@code ATTACHED}：ウィンドウへのアタッチ</li>
+ *     <li>{@code RESTORED}：保存状態からの復元</li>
+ *     <li>{@code SELECTION}：日付クリックによる選択状態の変更（※変更前後の選択を含む月のみ再描画する。）</li>
+ *     <li>{@code DAY_DECORATION_PROVIDER}：日セルの装飾の提供元の変更</li>
+ * </ul>
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public enum RedrawCause {
+    CREATED,
+    SCHEDULE,
+    MONTHS,
+    SCHEDULE_MODE,
+    LIST_BACKEND,
+    MONTH_RENDERER,
+    ATTACHED,
+    RESTORED,
+    SELECTION,
+    DAY_DECORATION_PROVIDER
+}
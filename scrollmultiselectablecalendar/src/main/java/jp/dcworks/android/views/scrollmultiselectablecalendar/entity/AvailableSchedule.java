@@ -1,44 +0,0 @@
-/*
- * Copyright (C) 2017 tomo-sato
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package jp.dcworks.android.views.scrollmultiselectablecalendar.entity;
-
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.List;
-
-/**
- * スケジュールエンティティクラス。
- *
- * @author tomo-sato
- * @since 1.0.0
- */
-public class AvailableSchedule implements Serializable {
-
-    /** 選択可能範囲：開始カレンダー */
-    public Calendar selectableFromCalendar;
-    /** 選択可能範囲：終了カレンダー */
-    public Calendar selectableToCalendar;
-
-    /** 選択中のカレンダー：選択状態を保持。（※{@code ScheduleMode.SINGLE} 時利用。） */
-    public List<Calendar> selectedCalendarList = new ArrayList<>();
-
-    /** 選択中のカレンダー：選択開始。（※{@code ScheduleMode.RANGE} 時利用。） */
-    public Calendar selectedFromCalendar;
-    /** 選択中のカレンダー：選択終了。（※{@code ScheduleMode.RANGE} 時利用。） */
-    public Calendar selectedToCalendar;
-}
\ No newline at end of file
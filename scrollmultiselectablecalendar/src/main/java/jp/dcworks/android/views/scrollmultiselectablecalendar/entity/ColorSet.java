@@ -20,6 +20,7 @@ import android.content.Context;
 import android.support.v4.content.ContextCompat;
 
 import jp.dcworks.android.views.scrollmultiselectablecalendar.R;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState;
 
 /**
  * カレンダーで使用する色情報を保持するクラス。
@@ -77,4 +78,46 @@ public class ColorSet {
 
         this.disableDayTextColor               = ContextCompat.getColor(context, R.color.grey);
     }
+
+    /**
+     * 日のテキストカラーを返す。
+     *
+     * @param column 曜日の列（0：日曜〜6：土曜）
+     * @param state 描画状態（{@link CellState}）
+     * @return テキストカラー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int getDayTextColor(int column, int state) {
+        if (CellState.isDisabled(state)) {
+            return this.disableDayTextColor;
+        }
+
+        switch (CellState.background(state)) {
+            case CellState.SELECTED:
+            case CellState.RANGE_FROM:
+            case CellState.RANGE_TO:
+            case CellState.RANGE_MID:
+                return this.availableDayTextColor;
+
+            case CellState.CLICKED:
+                return this.clickedDayTextColor;
+
+            default:
+                // 曜日毎にテキストカラーを返す。
+                switch (column) {
+                    // 日曜
+                    case 0:
+                        return this.daySundayTextColor;
+
+                    // 土曜
+                    case 6:
+                        return this.dayWeekendTextColor;
+
+                    // 平日
+                    default:
+                        return this.dayTextColor;
+                }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.RedrawCause;
+
+/**
+ * 描画の計測値を通知するイベントリスナー。
+ * <p>{@link ScrollMultiSelectableCalendarView#setCalendarMetricsListener(CalendarMetricsListener)}でセットする。
+ * セットしていない場合は計測しない。（※時刻の取得も行わない。）
+ * 通知はすべてメインスレッドで行うため、重い処理は行わないこと。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public interface CalendarMetricsListener {
+
+    /**
+     * 月の描画時に通知する。（{@code getView}、{@code onBindViewHolder}、部分描画毎）
+     *
+     * @param yearMonth 描画した年月キー
+     * @param isInflated Viewを生成した場合true、使いまわした場合false
+     * @param bindNanos 描画時間（ナノ秒。※Viewを生成した場合は生成時間を含む。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onMonthBound(int yearMonth, boolean isInflated, long bindNanos);
+
+    /**
+     * 再描画の要求時に通知する。（※同一フレーム内の全体の再描画はまとめて実行するため、実行回数より多くなる。）
+     *
+     * @param cause 再描画の要因
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onRedrawRequested(RedrawCause cause);
+
+    /**
+     * 再描画の実行後に通知する。
+     *
+     * @param isFullRedraw 全体の再描画の場合true、再描画が必要な年月のみの場合false
+     * @param durationNanos 実行時間（ナノ秒。※RecyclerViewの場合、各月の描画は次のレイアウト時に行う。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onRedrawPerformed(boolean isFullRedraw, long durationNanos);
+
+    /**
+     * 日付クリック後、クリックされた月が描画し直された時に通知する。
+     *
+     * @param epochDay クリックされた日のエポック日
+     * @param latencyNanos クリックから描画までの時間（ナノ秒）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onClickRebound(int epochDay, long latencyNanos);
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayDecoration;
+
+/**
+ * 日セルの装飾（料金、予約状況のドット等）を月単位で提供するインターフェース。
+ * <p>{@link ScrollMultiSelectableCalendarView#setDayDecorationProvider(DayDecorationProvider)}でセットする。
+ * 呼び出しはバックグラウンドスレッドで行うため、通信等の時間のかかる処理を行ってよい。（※例外が発生した場合はその月を保持せず、次に描画する際に取得し直す。）
+ * 取得した装飾は年月毎にキャッシュし、表示中の月に加えてスクロール方向の先の月を先読みする。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public interface DayDecorationProvider {
+
+    /**
+     * 月の日毎の装飾を返す。（※バックグラウンドスレッドから呼び出す。）
+     *
+     * @param year 年
+     * @param month 月（1〜12）
+     * @return 日毎の装飾（※添字0を1日とする。装飾の無い日は{@code null}。月全体に装飾が無い場合は{@code null}を返してよい。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    DayDecoration[] loadDecorations(int year, int month);
+}
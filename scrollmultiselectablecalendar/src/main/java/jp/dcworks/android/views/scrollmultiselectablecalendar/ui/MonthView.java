@@ -0,0 +1,508 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.Arrays;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+
+/**
+ * 1ヶ月分のカレンダーをCanvasに直接描画するView。
+ * <p>レイアウト（{@code inc_month}）と同じ見た目を、子Viewを持たずに描画する。
+ * クリックはタッチ座標からセル番号を求めて判定する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class MonthView extends View {
+
+    /** 年月の高さ（dp） */
+    private static final float HEADER_HEIGHT_DP = 40f;
+    /** 年月の右余白（dp） */
+    private static final float HEADER_PADDING_RIGHT_DP = 30f;
+    /** 週の高さ（dp） */
+    private static final float ROW_HEIGHT_DP = 40f;
+    /** 週の左右余白（dp） */
+    private static final float ROW_PADDING_DP = 10f;
+    /** 枠線の太さ（dp） */
+    private static final float BORDER_WIDTH_DP = 0.5f;
+    /** 選択背景の角丸（dp） */
+    private static final float CORNER_RADIUS_DP = 10f;
+    /** 文字サイズ（sp） */
+    private static final float TEXT_SIZE_SP = 14f;
+    /** 装飾のラベルの文字サイズ（sp） */
+    private static final float LABEL_TEXT_SIZE_SP = 9f;
+    /** 装飾のドットの半径（dp） */
+    private static final float DOT_RADIUS_DP = 2f;
+    /** 装飾のドット、ラベルのセル上下端からの余白（dp） */
+    private static final float DECORATION_MARGIN_DP = 4f;
+
+    /** 枠線の色 */
+    private static final int BORDER_COLOR = 0xFFAAAAAA;
+
+    /** 日テキスト配列（※添字を日とする。） */
+    private static final String[] DAY_TEXT_ARRAY = new String[32];
+    static {
+        for (int i = 0; i < DAY_TEXT_ARRAY.length; i++) {
+            DAY_TEXT_ARRAY[i] = String.valueOf(i);
+        }
+    }
+
+
+    /** カレンダー色情報 */
+    private ColorSet mColorSet;
+
+    /** 年月の高さ */
+    private float mHeaderHeight;
+    /** 年月の右余白 */
+    private float mHeaderPaddingRight;
+    /** 週の高さ */
+    private float mRowHeight;
+    /** 週の左右余白 */
+    private float mRowPadding;
+    /** 枠線の太さ */
+    private float mBorderWidth;
+    /** 装飾のドットの半径 */
+    private float mDotRadius;
+    /** 装飾のドット、ラベルのセル上下端からの余白 */
+    private float mDecorationMargin;
+
+    /** 角丸：全て */
+    private float[] mRadiiAll;
+    /** 角丸：左側のみ */
+    private float[] mRadiiLeft;
+    /** 角丸：右側のみ */
+    private float[] mRadiiRight;
+
+    /** 年月のPaint */
+    private Paint mHeaderPaint;
+    /** 日のPaint */
+    private Paint mDayPaint;
+    /** 背景のPaint */
+    private Paint mFillPaint;
+    /** 装飾のラベルのPaint */
+    private Paint mLabelPaint;
+
+    /** 描画用の矩形（※onDraw中の生成を避けるため使いまわす。） */
+    private RectF mRect = new RectF();
+    /** 描画用のパス（※onDraw中の生成を避けるため使いまわす。） */
+    private Path mPath = new Path();
+
+    /** 描画中の月のセル配置 */
+    private MonthGrid mMonthGrid;
+    /** 年月テキスト */
+    private CharSequence mHeaderText = "";
+    /** セル毎の描画状態 */
+    private int[] mCellStates = new int[MonthGrid.CELL_COUNT];
+    /** 日の装飾（無い場合{@code null}） */
+    private MonthDecoration mDecoration;
+
+    /** タッチ開始時のセル番号 */
+    private int mPressedCellIndex = -1;
+
+
+    /**
+     * 日付クリック時のイベントリスナー。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public interface OnDayClickListener {
+
+        /**
+         * 日付クリック時のイベントを通知する。
+         *
+         * @param view クリックされたView
+         * @param epochDay クリックされた日（エポック日）
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        void onDayClick(MonthView view, int epochDay);
+    }
+
+    /** 日付クリック時のイベントリスナーのメンバ変数。 */
+    private OnDayClickListener mOnDayClickListener;
+
+    /**
+     * 日付クリック時のイベントリスナーをセットする。
+     *
+     * @param listener OnDayClickListener
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setOnDayClickListener(OnDayClickListener listener) {
+        mOnDayClickListener = listener;
+    }
+
+
+    /**
+     * コンストラクタ。
+     *
+     * @param context Context
+     * @param colorSet カレンダー色情報
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public MonthView(Context context, ColorSet colorSet) {
+        super(context);
+        mColorSet = colorSet;
+
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        mHeaderHeight = dp(metrics, HEADER_HEIGHT_DP);
+        mHeaderPaddingRight = dp(metrics, HEADER_PADDING_RIGHT_DP);
+        mRowHeight = dp(metrics, ROW_HEIGHT_DP);
+        mRowPadding = dp(metrics, ROW_PADDING_DP);
+        mBorderWidth = dp(metrics, BORDER_WIDTH_DP);
+        mDotRadius = dp(metrics, DOT_RADIUS_DP);
+        mDecorationMargin = dp(metrics, DECORATION_MARGIN_DP);
+
+        float r = dp(metrics, CORNER_RADIUS_DP);
+        mRadiiAll = new float[] {r, r, r, r, r, r, r, r};
+        mRadiiLeft = new float[] {r, r, 0, 0, 0, 0, r, r};
+        mRadiiRight = new float[] {0, 0, r, r, r, r, 0, 0};
+
+        float textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, TEXT_SIZE_SP, metrics);
+        mHeaderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mHeaderPaint.setTextSize(textSize);
+        mHeaderPaint.setTextAlign(Paint.Align.RIGHT);
+        mDayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mDayPaint.setTextSize(textSize);
+        mDayPaint.setTextAlign(Paint.Align.CENTER);
+        mFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mFillPaint.setStyle(Paint.Style.FILL);
+        mLabelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mLabelPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, LABEL_TEXT_SIZE_SP, metrics));
+        mLabelPaint.setTextAlign(Paint.Align.CENTER);
+
+        Arrays.fill(mCellStates, CellState.UNKNOWN);
+    }
+
+    /**
+     * 描画中の月のセル配置を返す。
+     *
+     * @return セル配置（未描画の場合{@code null}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public MonthGrid getMonthGrid() {
+        return mMonthGrid;
+    }
+
+    /**
+     * 描画する月をセットする。（※セルの描画状態、装飾は初期化する。）
+     *
+     * @param monthGrid 月のセル配置
+     * @param headerText 年月テキスト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonth(MonthGrid monthGrid, CharSequence headerText) {
+        boolean relayout = (mMonthGrid == null || mMonthGrid.getWeekCount() != monthGrid.getWeekCount());
+        mMonthGrid = monthGrid;
+        mHeaderText = headerText;
+        Arrays.fill(mCellStates, CellState.UNKNOWN);
+        mDecoration = null;
+
+        if (relayout) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * 年月テキストを返す。
+     *
+     * @return 年月テキスト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public CharSequence getHeaderText() {
+        return mHeaderText;
+    }
+
+    /**
+     * 年月テキストをセットする。（※セルの描画状態は変更しない。）
+     *
+     * @param headerText 年月テキスト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setHeaderText(CharSequence headerText) {
+        mHeaderText = headerText;
+        invalidate();
+    }
+
+    /**
+     * セルの描画状態をセットする。（※変更があった場合のみ再描画する。）
+     *
+     * @param cellStates セル毎の描画状態（{@link CellState}）
+     * @return 描画状態が変わったセル数を返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public int setCellStates(int[] cellStates) {
+        int changed = 0;
+        for (int i = 0; i < MonthGrid.CELL_COUNT; i++) {
+            if (mCellStates[i] != cellStates[i]) {
+                mCellStates[i] = cellStates[i];
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            invalidate();
+        }
+        return changed;
+    }
+
+    /**
+     * 日の装飾をセットする。（※変更があった場合のみ再描画する。）
+     *
+     * @param decoration 日の装飾（無い場合{@code null}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setDecoration(MonthDecoration decoration) {
+        if (mDecoration == decoration) {
+            return;
+        }
+        mDecoration = decoration;
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int weekCount = (mMonthGrid != null) ? mMonthGrid.getWeekCount() : MonthGrid.MAX_WEEKS;
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = (int) Math.ceil(mHeaderHeight + mRowHeight * weekCount);
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (mMonthGrid == null) {
+            return;
+        }
+
+        // 年月を描画する。
+        mHeaderPaint.setColor(mColorSet.monthTextColor);
+        float headerBaseline = (mHeaderHeight - mHeaderPaint.ascent() - mHeaderPaint.descent()) / 2f;
+        canvas.drawText(mHeaderText, 0, mHeaderText.length(), getWidth() - mHeaderPaddingRight, headerBaseline, mHeaderPaint);
+
+        float cellWidth = getCellWidth();
+        float textOffset = -(mDayPaint.ascent() + mDayPaint.descent()) / 2f;
+        int cellCount = mMonthGrid.getWeekCount() * MonthGrid.DAYS_OF_WEEK;
+
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            int day = mMonthGrid.getDayOfMonth(cellIndex);
+            if (day == 0) {
+                continue;
+            }
+            int column = cellIndex % MonthGrid.DAYS_OF_WEEK;
+            int state = (mCellStates[cellIndex] == CellState.UNKNOWN) ? CellState.NONE : mCellStates[cellIndex];
+
+            float left = mRowPadding + cellWidth * column;
+            float top = mHeaderHeight + mRowHeight * (cellIndex / MonthGrid.DAYS_OF_WEEK);
+
+            // 上枠線を描画する。
+            mFillPaint.setColor(BORDER_COLOR);
+            canvas.drawRect(left, top, left + cellWidth, top + mBorderWidth, mFillPaint);
+
+            // 背景を描画する。
+            mRect.set(left, top + mBorderWidth, left + cellWidth, top + mRowHeight);
+            drawBackground(canvas, CellState.background(state));
+
+            // 日付を描画する。
+            int textColor = mColorSet.getDayTextColor(column, state);
+            mDayPaint.setColor(textColor);
+            canvas.drawText(DAY_TEXT_ARRAY[day], mRect.centerX(), top + mRowHeight / 2f + textOffset, mDayPaint);
+
+            // 装飾を描画する。
+            DayDecoration dayDecoration = (mDecoration != null) ? mDecoration.get(day) : null;
+            if (dayDecoration != null) {
+                drawDecoration(canvas, dayDecoration, textColor);
+            }
+        }
+    }
+
+    /**
+     * 日の装飾を{@code mRect}に描画する。（※ドットは日付の上、ラベルは日付の下に描画する。）
+     *
+     * @param canvas Canvas
+     * @param dayDecoration 日の装飾
+     * @param textColor ラベルの文字色
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void drawDecoration(Canvas canvas, DayDecoration dayDecoration, int textColor) {
+        if (dayDecoration.hasDot()) {
+            mFillPaint.setColor(dayDecoration.getDotColor());
+            canvas.drawCircle(mRect.centerX(), mRect.top + mDecorationMargin + mDotRadius, mDotRadius, mFillPaint);
+        }
+        CharSequence label = dayDecoration.getLabel();
+        if (label != null) {
+            mLabelPaint.setColor(textColor);
+            canvas.drawText(label, 0, label.length(), mRect.centerX(), mRect.bottom - mDecorationMargin, mLabelPaint);
+        }
+    }
+
+    /**
+     * セルの背景を{@code mRect}に描画する。
+     *
+     * @param canvas Canvas
+     * @param background 背景の種類（{@link CellState#background(int)}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void drawBackground(Canvas canvas, int background) {
+        switch (background) {
+            case CellState.SELECTED:
+                drawRoundRect(canvas, mColorSet.availableDayBackgroundColor, mRadiiAll);
+                break;
+
+            case CellState.RANGE_FROM:
+                drawRoundRect(canvas, mColorSet.availableDayBackgroundColor, mRadiiLeft);
+                break;
+
+            case CellState.RANGE_TO:
+                drawRoundRect(canvas, mColorSet.availableDayBackgroundColor, mRadiiRight);
+                break;
+
+            case CellState.RANGE_MID:
+                mFillPaint.setColor(mColorSet.availableDayBackgroundColorAlpha);
+                canvas.drawRect(mRect, mFillPaint);
+                break;
+
+            case CellState.CLICKED:
+                drawRoundRect(canvas, mColorSet.clickedDayBackgroundColor, mRadiiAll);
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 角丸の矩形を{@code mRect}に描画する。
+     *
+     * @param canvas Canvas
+     * @param color 色
+     * @param radii 角丸（{@link Path#addRoundRect(RectF, float[], Path.Direction)}の形式）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void drawRoundRect(Canvas canvas, int color, float[] radii) {
+        mFillPaint.setColor(color);
+        mPath.reset();
+        mPath.addRoundRect(mRect, radii, Path.Direction.CW);
+        canvas.drawPath(mPath, mFillPaint);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mPressedCellIndex = findSelectableCellIndex(event.getX(), event.getY());
+                return mPressedCellIndex >= 0;
+
+            case MotionEvent.ACTION_UP:
+                int cellIndex = findSelectableCellIndex(event.getX(), event.getY());
+                if (cellIndex >= 0 && cellIndex == mPressedCellIndex) {
+                    performClick();
+                    if (mOnDayClickListener != null) {
+                        mOnDayClickListener.onDayClick(this, mMonthGrid.getEpochDay(cellIndex));
+                    }
+                }
+                mPressedCellIndex = -1;
+                return true;
+
+            case MotionEvent.ACTION_CANCEL:
+                mPressedCellIndex = -1;
+                return true;
+
+            default:
+                return mPressedCellIndex >= 0;
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    /**
+     * 座標から選択可能なセル番号を返す。
+     *
+     * @param x X座標
+     * @param y Y座標
+     * @return セル番号（※選択可能なセルでない場合は-1を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private int findSelectableCellIndex(float x, float y) {
+        if (mMonthGrid == null || y < mHeaderHeight || x < mRowPadding || getWidth() - mRowPadding <= x) {
+            return -1;
+        }
+        int row = (int) ((y - mHeaderHeight) / mRowHeight);
+        int column = (int) ((x - mRowPadding) / getCellWidth());
+        if (row >= mMonthGrid.getWeekCount() || column >= MonthGrid.DAYS_OF_WEEK) {
+            return -1;
+        }
+        int cellIndex = row * MonthGrid.DAYS_OF_WEEK + column;
+        if (mMonthGrid.getDayOfMonth(cellIndex) == 0 || !CellState.isSelectable(mCellStates[cellIndex])) {
+            return -1;
+        }
+        return cellIndex;
+    }
+
+    /**
+     * セルの幅を返す。
+     *
+     * @return セルの幅
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private float getCellWidth() {
+        return (getWidth() - mRowPadding * 2) / MonthGrid.DAYS_OF_WEEK;
+    }
+
+    /**
+     * dpをpxに変換する。
+     *
+     * @param metrics DisplayMetrics
+     * @param dp dp
+     * @return px
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static float dp(DisplayMetrics metrics, float dp) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, metrics);
+    }
+}
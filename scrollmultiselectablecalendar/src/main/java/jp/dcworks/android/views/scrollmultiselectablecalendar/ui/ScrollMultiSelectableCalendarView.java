@@ -18,26 +18,48 @@ package jp.dcworks.android.views.scrollmultiselectablecalendar.ui;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.graphics.Color;
-import android.os.Bundle;
+import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.view.ViewCompat;
+import android.text.format.DateFormat;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
 import android.widget.LinearLayout;
-import android.widget.ListView;
 
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
+import java.util.Locale;
 
 import jp.dcworks.android.views.scrollmultiselectablecalendar.R;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ListBackend;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.MonthRenderer;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.RedrawCause;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.ScheduleMode;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.SelectionOperation;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayPattern;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.IntervalSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthList;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthRange;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthSource;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionChange;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionIndex;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list.ListViewBackend;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list.MonthListAdapter;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list.MonthListBackend;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list.RecyclerViewBackend;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.MonthHeaderFormatter;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.SelectionChangeTracker;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.SelectionHistory;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.SelectionStateMachine;
 
 /**
  * ScrollMultiSelectableCalendarViewメイン処理クラス。
@@ -55,6 +77,11 @@ import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list.MonthListA
  * @attr ref android.R.styleable#LinearLayout_clickedDayBackgroundColor
  * @attr ref android.R.styleable#LinearLayout_clickedDayTextColor
  * @attr ref android.R.styleable#LinearLayout_disableDayTextColor
+ * @attr ref android.R.styleable#LinearLayout_listBackend
+ * @attr ref android.R.styleable#LinearLayout_monthRenderer
+ * @attr ref android.R.styleable#LinearLayout_monthHeaderFormat
+ * @attr ref android.R.styleable#LinearLayout_preInflateMonthCount
+ * @attr ref android.R.styleable#LinearLayout_selectionHistoryDepth
  *
  * @author tomo-sato
  * @since 1.0.0
@@ -73,8 +100,114 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
     /** 表示するカレンダーのリスト */
     private List<Calendar> mViewCalendar = new ArrayList<>();
 
-    /** 月リストアダプター */
-    private MonthListAdapter mMonthListAdapter;
+    /** 表示する月の並び */
+    private MonthSource mMonthSource = MonthList.EMPTY;
+
+    /** 月リストの描画方式：デフォルトListView */
+    private ListBackend mListBackend = ListBackend.LIST_VIEW;
+
+    /** 月の描画方式：デフォルトView階層 */
+    private MonthRenderer mMonthRenderer = MonthRenderer.VIEWS;
+
+    /** 年月テキストの書式化：デフォルト端末のロケール */
+    private MonthHeaderFormatter mMonthHeaderFormatter;
+
+    /** アイドル時に事前に生成する月Viewの数：デフォルト0（事前に生成しない） */
+    private int mPreInflateMonthCount;
+
+    /** 日セルの装飾の提供元：デフォルト無し */
+    private DayDecorationProvider mDayDecorationProvider;
+
+    /** 月リスト */
+    private MonthListBackend mMonthListBackend;
+
+    /** 再描画が必要な年月 */
+    private final DirtyMonthSet mDirtyMonthSet = new DirtyMonthSet();
+
+    /** {@link #beginUpdate()}の呼び出し回数（※0より大きい間は再描画しない。） */
+    private int mUpdateDepth;
+
+    /** 全体の再描画が必要かどうか */
+    private boolean mRedrawPending;
+
+    /** 全体の再描画を次のフレームに予約済みかどうか */
+    private boolean mRedrawPosted;
+
+    /** 再描画後にスクロールする位置（※-1の場合はスクロールしない。） */
+    private int mPendingScrollPosition = -1;
+
+    /** 全体の再描画処理（※次のフレームで実行する。） */
+    private final Runnable mRedrawRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mRedrawPosted = false;
+            performRedraw();
+        }
+    };
+
+    /** 選択状態の取り消し・やり直しの履歴：デフォルト記録しない */
+    private final SelectionHistory mSelectionHistory = new SelectionHistory();
+
+    /** 選択状態の差分の集計 */
+    private final SelectionChangeTracker mSelectionChangeTracker = new SelectionChangeTracker();
+
+    /** 選択状態の差分の通知を次のフレームに予約済みかどうか */
+    private boolean mSelectionChangePosted;
+
+    /** 選択状態の差分の通知処理（※次のフレームで実行する。） */
+    private final Runnable mSelectionChangeRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mSelectionChangePosted = false;
+            SelectionChange selectionChange = mSelectionChangeTracker.end(mAvailableSchedule);
+            if (selectionChange != null && mSelectionChangeListener != null) {
+                mSelectionChangeListener.onSelectionChanged(selectionChange);
+            }
+        }
+    };
+
+    /** 描画の計測値の通知先（※{@code null}の場合は計測しない。） */
+    private CalendarMetricsListener mCalendarMetricsListener;
+
+    /** 描画待ちのクリックされた日（※{@link EpochDays#NONE}の場合は無し。） */
+    private int mClickedEpochDay = EpochDays.NONE;
+    /** 描画待ちのクリックされた日の年月キー */
+    private int mClickedYearMonth;
+    /** 描画待ちのクリックの時刻（ナノ秒） */
+    private long mClickedNanos;
+
+    /** 月リストからの計測値の受け取り（※クリックから描画までの時間を求め、{@link #mCalendarMetricsListener}に転送する。） */
+    private final CalendarMetricsListener mMonthMetricsListener = new CalendarMetricsListener() {
+        @Override
+        public void onMonthBound(int yearMonth, boolean isInflated, long bindNanos) {
+            CalendarMetricsListener listener = mCalendarMetricsListener;
+            if (listener == null) {
+                return;
+            }
+            listener.onMonthBound(yearMonth, isInflated, bindNanos);
+
+            if (mClickedEpochDay != EpochDays.NONE && mClickedYearMonth == yearMonth) {
+                int clickedEpochDay = mClickedEpochDay;
+                mClickedEpochDay = EpochDays.NONE;
+                listener.onClickRebound(clickedEpochDay, System.nanoTime() - mClickedNanos);
+            }
+        }
+
+        @Override
+        public void onRedrawRequested(RedrawCause cause) {
+            // 月リストからは通知されない。
+        }
+
+        @Override
+        public void onRedrawPerformed(boolean isFullRedraw, long durationNanos) {
+            // 月リストからは通知されない。
+        }
+
+        @Override
+        public void onClickRebound(int epochDay, long latencyNanos) {
+            // 月リストからは通知されない。
+        }
+    };
 
 
     // attributes ---------------
@@ -103,6 +236,7 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
 
         /**
          * 範囲選択時、開始終了が決定したタイミングで通知する。
+         * <p>複数範囲選択の場合は、追加した範囲を通知する。（※既存の範囲と結合された場合も、タップした開始終了を通知する。）
          *
          * @param fromCalendar 選択開始カレンダー
          * @param toCalendar 選択終了カレンダー
@@ -126,6 +260,38 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
         mOnDateClickListener = listener;
     }
 
+    /** 選択状態の変更を通知するイベントリスナーのメンバ変数。 */
+    private SelectionChangeListener mSelectionChangeListener;
+
+    /**
+     * 選択状態の変更を差分で通知するイベントリスナーをセットする。
+     * <p>同一フレーム内の変更は、次のフレームで1回にまとめて通知する。
+     *
+     * @param listener SelectionChangeListener（{@code null}の場合は差分を集計しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setSelectionChangeListener(SelectionChangeListener listener) {
+        mSelectionChangeListener = listener;
+
+        // 集計中の差分は破棄する。（※セット前の変更は通知しない。）
+        mSelectionChangeTracker.end(mAvailableSchedule);
+    }
+
+    /**
+     * 描画の計測値を通知するイベントリスナーをセットする。
+     * <p>月毎の描画時間、Viewの生成・再利用、再描画の要因、クリックから描画までの時間を通知する。
+     *
+     * @param listener CalendarMetricsListener（{@code null}の場合は計測しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setCalendarMetricsListener(CalendarMetricsListener listener) {
+        mCalendarMetricsListener = listener;
+        mClickedEpochDay = EpochDays.NONE;
+        mMonthListBackend.setCalendarMetricsListener((listener != null) ? mMonthMetricsListener : null);
+    }
+
 
     /**
      * コンストラクタ。
@@ -169,6 +335,36 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
         createViews();
     }
 
+    /**
+     * 設定の一括変更を開始する。
+     * <p>{@link #endUpdate()}が呼ばれるまで、各setterによる再描画を保留する。
+     * 入れ子で呼び出した場合は、最も外側の{@link #endUpdate()}で再描画する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void beginUpdate() {
+        mUpdateDepth++;
+    }
+
+    /**
+     * 設定の一括変更を終了する。
+     * <p>変更があった場合、次のフレームで一度だけ再描画する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void endUpdate() {
+        if (mUpdateDepth == 0) {
+            throw new IllegalStateException("endUpdate() called without beginUpdate()");
+        }
+        mUpdateDepth--;
+
+        if (mUpdateDepth == 0 && mRedrawPending) {
+            this.scheduleRedraw();
+        }
+    }
+
     /**
      * スケジュールエンティティクラスを返す。
      *
@@ -188,10 +384,15 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
      * @since 1.0.0
      */
     public void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        if (mSelectionChangeListener != null) {
+            mSelectionChangeTracker.replace(mAvailableSchedule, availableSchedule);
+            this.scheduleSelectionChange();
+        }
         mAvailableSchedule = availableSchedule;
+        mSelectionHistory.clear();
 
         // 再描画処理
-        this.redraw();
+        this.redraw(RedrawCause.SCHEDULE);
     }
 
     /**
@@ -203,13 +404,68 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
      */
     public void addViewCalendar(Calendar calendar) {
         mViewCalendar.add(calendar);
+        mMonthSource = MonthList.of(mViewCalendar);
+
+        // 再描画処理
+        this.redraw(RedrawCause.MONTHS);
+    }
+
+    /**
+     * 表示するカレンダーをまとめてセットする。（※追加済みのカレンダーは破棄する。）
+     *
+     * @param calendarList 表示するカレンダーのリスト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setViewCalendars(List<Calendar> calendarList) {
+        mViewCalendar = new ArrayList<>(calendarList);
+        mMonthSource = MonthList.of(mViewCalendar);
 
         // 再描画処理
-        this.redraw();
+        this.redraw(RedrawCause.MONTHS);
     }
 
     /**
-     * スケジュールモードをセットする。
+     * 表示する月の範囲をセットする。
+     * <p>{@link #addViewCalendar(Calendar)}と異なり、月毎のカレンダーオブジェクトを保持しないため、
+     * 月数に関わらず使用メモリは一定となる。（※{@link #addViewCalendar(Calendar)}で追加したカレンダーは破棄する。）
+     *
+     * @param monthRange 表示する月の範囲（{@link MonthRange#of(Calendar, Calendar)}、{@link MonthRange#unbounded(Calendar)}で生成する。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthRange(MonthRange monthRange) {
+        mViewCalendar.clear();
+        mMonthSource = monthRange;
+        mPendingScrollPosition = mMonthSource.getInitialPosition();
+
+        // 再描画処理
+        this.redraw(RedrawCause.MONTHS);
+    }
+
+    /**
+     * 引数で指定された年月までスクロールする。
+     *
+     * @param calendar スクロールする年月（※表示する月に含まれない場合は何もしない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void scrollToMonth(Calendar calendar) {
+        int position = mMonthSource.getPosition(EpochDays.yearMonthOf(calendar));
+        if (position < 0) {
+            return;
+        }
+
+        // 再描画待ちの場合、再描画後にスクロールする。
+        if (mRedrawPending) {
+            mPendingScrollPosition = position;
+        } else {
+            mMonthListBackend.scrollToPosition(position);
+        }
+    }
+
+    /**
+     * スケジュールモードをセットする。（※取り消し・やり直しの履歴は破棄する。）
      *
      * @param scheduleMode スケジュールモード
      * @author tomo-sato
@@ -217,9 +473,231 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
      */
     public void setScheduleMode(ScheduleMode scheduleMode) {
         mScheduleMode = scheduleMode;
+        mSelectionHistory.clear();
+
+        // 再描画処理
+        this.redraw(RedrawCause.SCHEDULE_MODE);
+    }
+
+    /**
+     * 月リストの描画方式をセットする。
+     *
+     * @param listBackend 月リストの描画方式
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setListBackend(ListBackend listBackend) {
+        if (mListBackend == listBackend) {
+            return;
+        }
+        mListBackend = listBackend;
+        this.createMonthListBackend();
+        mPendingScrollPosition = mMonthSource.getInitialPosition();
+
+        // 再描画処理
+        this.redraw(RedrawCause.LIST_BACKEND);
+    }
+
+    /**
+     * 月の描画方式をセットする。
+     *
+     * @param monthRenderer 月の描画方式
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthRenderer(MonthRenderer monthRenderer) {
+        if (mMonthRenderer == monthRenderer) {
+            return;
+        }
+        mMonthRenderer = monthRenderer;
+        this.createMonthListBackend();
+        mPendingScrollPosition = mMonthSource.getInitialPosition();
+
+        // 再描画処理
+        this.redraw(RedrawCause.MONTH_RENDERER);
+    }
+
+    /**
+     * アイドル時に事前に生成する月Viewの数をセットする。
+     * <p>初回スクロール時のレイアウトの生成を省くため、メインスレッドのアイドル時に1件ずつ生成しておく。
+     * 表示される行数程度を目安とする。（※{@link MonthRenderer#VIEWS}の場合のみ有効。ウィンドウからデタッチされている間は生成しない。）
+     *
+     * @param count 生成する数（0の場合、事前に生成しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setPreInflateMonthCount(int count) {
+        mPreInflateMonthCount = Math.max(count, 0);
+        if (ViewCompat.isAttachedToWindow(this)) {
+            mMonthListBackend.warmUpMonthViews(mPreInflateMonthCount);
+        }
+    }
+
+    /**
+     * 日セルの装飾（料金、予約状況のドット等）の提供元をセットする。
+     * <p>装飾は年月単位でバックグラウンドで取得し、取得した月のみ描画し直す。（※取得するまでは装飾無しで描画する。）
+     *
+     * @param dayDecorationProvider 装飾の提供元（{@code null}の場合、装飾無しとする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider) {
+        mDayDecorationProvider = dayDecorationProvider;
+        mMonthListBackend.setDayDecorationProvider(dayDecorationProvider);
 
         // 再描画処理
-        this.redraw();
+        this.redraw(RedrawCause.DAY_DECORATION_PROVIDER);
+    }
+
+    /**
+     * 取得済みの日セルの装飾を取得し直す。（※提供元のデータが変わった場合に呼び出す。）
+     * <p>取得し直すまでは変更前の装飾で描画し、取得し直した月のみ描画し直す。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void refreshDayDecorations() {
+        mMonthListBackend.refreshDayDecorations();
+    }
+
+    /**
+     * 期間内のパターンに一致する日をまとめて選択・解除・反転する。（※{@link ScheduleMode#SINGLE}の場合のみ有効）
+     * <p>例：4月〜9月の月・水・金曜日を選択する場合、{@code DayPattern.ofDaysOfWeek(Calendar.MONDAY,
+     * Calendar.WEDNESDAY, Calendar.FRIDAY)}を指定する。選択・反転は選択可能な日のみを対象とする。
+     * 選択状態が変わった月のみ一度に描画し直し、{@link SelectionChangeListener}に一度だけ通知する。
+     *
+     * @param operation 操作
+     * @param fromCalendar 開始カレンダー
+     * @param toCalendar 終了カレンダー（※開始日を含む。）
+     * @param dayPattern 対象の日のパターン（{@link DayPattern#EVERY_DAY}の場合、期間内の全ての日。）
+     * @return 選択状態が変わった場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean applyDayPattern(SelectionOperation operation, Calendar fromCalendar, Calendar toCalendar,
+                                   DayPattern dayPattern) {
+        this.beginSelectionChange();
+        mSelectionHistory.begin(mAvailableSchedule);
+        int result = SelectionStateMachine.applyPattern(mAvailableSchedule, mScheduleMode, operation,
+                EpochDays.of(fromCalendar), EpochDays.of(toCalendar), dayPattern, mDirtyMonthSet);
+        mSelectionHistory.end(mAvailableSchedule);
+        this.scheduleSelectionChange();
+        if (result == 0) {
+            return false;
+        }
+
+        // 再描画処理（※選択状態が変わった月のみ）
+        this.redrawDirtyMonths();
+        return true;
+    }
+
+    /**
+     * 取り消し・やり直し可能な操作の最大数をセットする。
+     * <p>日付クリック、一括選択を1操作として記録する。操作毎に変わった年月の差分のみを保持する。
+     * （※スケジュールを置き換えた場合、スケジュールモードを変更した場合、記録外で選択状態を変更した場合、履歴は破棄する。）
+     *
+     * @param depth 最大数（0の場合、履歴を破棄して記録しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setSelectionHistoryDepth(int depth) {
+        mSelectionHistory.setMaxDepth(depth);
+    }
+
+    /**
+     * 取り消し可能な操作があるかどうかを返す。
+     *
+     * @return 取り消し可能な場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean canUndo() {
+        return mSelectionHistory.canUndo();
+    }
+
+    /**
+     * やり直し可能な操作があるかどうかを返す。
+     *
+     * @return やり直し可能な場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean canRedo() {
+        return mSelectionHistory.canRedo();
+    }
+
+    /**
+     * 最新の操作を取り消す。（※選択状態が変わった月のみ描画し直す。）
+     *
+     * @return 取り消した場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean undo() {
+        this.beginSelectionChange();
+        boolean changed = mSelectionHistory.undo(mAvailableSchedule, mDirtyMonthSet);
+        this.scheduleSelectionChange();
+        if (!changed) {
+            return false;
+        }
+
+        // 再描画処理（※選択状態が変わった月のみ）
+        this.redrawDirtyMonths();
+        return true;
+    }
+
+    /**
+     * 最後に取り消した操作をやり直す。（※選択状態が変わった月のみ描画し直す。）
+     *
+     * @return やり直した場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public boolean redo() {
+        this.beginSelectionChange();
+        boolean changed = mSelectionHistory.redo(mAvailableSchedule, mDirtyMonthSet);
+        this.scheduleSelectionChange();
+        if (!changed) {
+            return false;
+        }
+
+        // 再描画処理（※選択状態が変わった月のみ）
+        this.redrawDirtyMonths();
+        return true;
+    }
+
+    /**
+     * 年月テキストの書式をセットする。
+     *
+     * @param locale ロケール
+     * @param pattern パターン（{@link java.text.SimpleDateFormat}の形式。{@code null}の場合、ロケールの標準の書式とする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthHeaderFormat(Locale locale, String pattern) {
+        mMonthHeaderFormatter = createMonthHeaderFormatter(locale, pattern);
+        mMonthListBackend.setMonthHeaderFormatter(mMonthHeaderFormatter);
+    }
+
+    /**
+     * 年月テキストの書式化を生成する。
+     *
+     * @param locale ロケール
+     * @param pattern パターン（{@code null}の場合、ロケールの標準の書式とする。）
+     * @return 年月テキストの書式化
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static MonthHeaderFormatter createMonthHeaderFormatter(Locale locale, String pattern) {
+        if (pattern == null) {
+            // 日本語は従来の書式、それ以外はロケールに合わせた書式とする。
+            if (Locale.JAPANESE.getLanguage().equals(locale.getLanguage())) {
+                pattern = MonthHeaderFormatter.JAPANESE_PATTERN;
+            } else {
+                pattern = DateFormat.getBestDateTimePattern(locale, "yyyyMMMM");
+            }
+        }
+        return MonthHeaderFormatter.of(locale, pattern);
     }
 
     /**
@@ -245,8 +723,17 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
             mColorSet.clickedDayTextColor              = typedArray.getColor(R.styleable.ScrollMultiSelectableCalendarView_clickedDayTextColor,              ContextCompat.getColor(mContext, R.color.default_text_color));
 
             mColorSet.disableDayTextColor              = typedArray.getColor(R.styleable.ScrollMultiSelectableCalendarView_disableDayTextColor,              ContextCompat.getColor(mContext, R.color.grey));
+
+            mListBackend = ListBackend.values()[typedArray.getInt(R.styleable.ScrollMultiSelectableCalendarView_listBackend, ListBackend.LIST_VIEW.ordinal())];
+            mMonthRenderer = MonthRenderer.values()[typedArray.getInt(R.styleable.ScrollMultiSelectableCalendarView_monthRenderer, MonthRenderer.VIEWS.ordinal())];
+            mMonthHeaderFormatter = createMonthHeaderFormatter(Locale.getDefault(), typedArray.getString(R.styleable.ScrollMultiSelectableCalendarView_monthHeaderFormat));
+            mPreInflateMonthCount = Math.max(typedArray.getInt(R.styleable.ScrollMultiSelectableCalendarView_preInflateMonthCount, 0), 0);
+            mSelectionHistory.setMaxDepth(typedArray.getInt(R.styleable.ScrollMultiSelectableCalendarView_selectionHistoryDepth, 0));
             typedArray.recycle();
         }
+        if (mMonthHeaderFormatter == null) {
+            mMonthHeaderFormatter = createMonthHeaderFormatter(Locale.getDefault(), null);
+        }
     }
 
     /**
@@ -256,141 +743,381 @@ public class ScrollMultiSelectableCalendarView extends LinearLayout implements M
      * @since 1.0.0
      */
     private void createViews() {
-        View layout = LayoutInflater.from(mContext).inflate(R.layout.scroll_multi_selectable_calendar_view, this);
+        LayoutInflater.from(mContext).inflate(R.layout.scroll_multi_selectable_calendar_view, this);
 
-        // ListView初期化。
-        ListView listView = (ListView) findViewById(R.id.month_list);
-        listView.setCacheColorHint(Color.BLACK);
-        mMonthListAdapter = new MonthListAdapter(layout.getContext(), mColorSet);
-        mMonthListAdapter.setOnDateClickListener(this);
-        listView.setAdapter(mMonthListAdapter);
+        // 月リスト初期化。
+        this.createMonthListBackend();
 
         // 再描画処理
-        this.redraw();
+        this.redraw(RedrawCause.CREATED);
+    }
+
+    /**
+     * 月リストを描画方式に応じて生成し、Viewに追加する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void createMonthListBackend() {
+        ViewGroup container = (ViewGroup) findViewById(R.id.month_list_container);
+        container.removeAllViews();
+
+        // 破棄する月リストの事前生成は中止する。
+        if (mMonthListBackend != null) {
+            mMonthListBackend.warmUpMonthViews(0);
+        }
+
+        if (mListBackend == ListBackend.RECYCLER_VIEW) {
+            mMonthListBackend = new RecyclerViewBackend(mContext, mColorSet, mMonthRenderer);
+        } else {
+            mMonthListBackend = new ListViewBackend(mContext, mColorSet, mMonthRenderer);
+        }
+        mMonthListBackend.setOnDateClickListener(this);
+        mMonthListBackend.setCalendarMetricsListener((mCalendarMetricsListener != null) ? mMonthMetricsListener : null);
+        mMonthListBackend.setMonthHeaderFormatter(mMonthHeaderFormatter);
+        mMonthListBackend.setDayDecorationProvider(mDayDecorationProvider);
+        container.addView(mMonthListBackend.getView(),
+                new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        if (ViewCompat.isAttachedToWindow(this)) {
+            mMonthListBackend.warmUpMonthViews(mPreInflateMonthCount);
+        }
     }
 
     @Override
-    public void onDateClick(View view, Calendar calendar) {
-        boolean isClickFixed = false;
+    public void onDateClick(View view, int epochDay) {
+        long clickedNanos = (mCalendarMetricsListener != null) ? System.nanoTime() : 0;
+        int fromDay = mAvailableSchedule.getSelectedFromEpochDay();
 
-        if (mScheduleMode == ScheduleMode.SINGLE) {
-            onClickAtSingleMode(calendar);
-            isClickFixed = true;
+        this.beginSelectionChange();
+        mSelectionHistory.begin(mAvailableSchedule);
+        int result = SelectionStateMachine.onDateClick(mAvailableSchedule, mScheduleMode, epochDay, mDirtyMonthSet);
+        mSelectionHistory.end(mAvailableSchedule);
+        this.scheduleSelectionChange();
+        if (result == 0) {
+            return;
+        }
 
-        } else if (mScheduleMode == ScheduleMode.RANGE) {
-            onClickAsRangeMode(calendar);
-            if (mAvailableSchedule.selectedToCalendar != null) {
-                isClickFixed = true;
+        // リスナーがセットされている場合、範囲選択完了時のイベントを通知する。
+        if ((result & SelectionStateMachine.FLAG_RANGE_FIXED) != 0 && mOnDateClickListener != null) {
+            if (mScheduleMode == ScheduleMode.MULTI_RANGE) {
+                // 複数範囲選択の場合、追加した範囲（※結合前）を通知する。
+                mOnDateClickListener.onFixedRange(EpochDays.toCalendar(fromDay), EpochDays.toCalendar(epochDay));
+            } else {
+                mOnDateClickListener.onFixedRange(
+                        mAvailableSchedule.selectedFromCalendar, mAvailableSchedule.selectedToCalendar);
             }
+        }
 
-        } else if (mScheduleMode == ScheduleMode.DISPLAY) {
-            return;
+        // クリックされた月が描画し直されるまでの時間を計測する。
+        if (mCalendarMetricsListener != null) {
+            mClickedEpochDay = epochDay;
+            mClickedYearMonth = EpochDays.yearMonthOf(epochDay);
+            mClickedNanos = clickedNanos;
         }
 
+        // 再描画処理（※変更前後の選択を含む月のみ）
+        this.redrawDirtyMonths();
+
         // リスナーがセットされている場合、クリック時のイベントを通知する。
         if (mOnDateClickListener != null) {
-            mOnDateClickListener.onDateClick(view, calendar, isClickFixed);
+            boolean isClickFixed = (result & SelectionStateMachine.FLAG_CLICK_FIXED) != 0;
+            mOnDateClickListener.onDateClick(view, EpochDays.toCalendar(epochDay), isClickFixed);
         }
     }
 
     /**
-     * 単一選択モード時のクリック処理。
+     * 選択状態の差分の集計を開始する。（※選択状態を変更する前に呼び出す。リスナーがセットされていない場合は集計しない。）
      *
-     * @param calendar クリックされたカレンダーオブジェクト
      * @author tomo-sato
      * @since 1.0.0
      */
-    private void onClickAtSingleMode(Calendar calendar) {
-        if (mAvailableSchedule.selectedCalendarList.contains(calendar)) {
-            mAvailableSchedule.selectedCalendarList.remove(calendar);
-        } else {
-            mAvailableSchedule.selectedCalendarList.add(calendar);
+    private void beginSelectionChange() {
+        if (mSelectionChangeListener != null) {
+            mSelectionChangeTracker.begin(mAvailableSchedule);
         }
+    }
 
-        // 再描画処理
-        this.redraw();
+    /**
+     * 選択状態の差分の通知を次のフレームに予約する。（※同一フレーム内の変更は1回にまとめて通知する。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void scheduleSelectionChange() {
+        if (!mSelectionChangeTracker.isTracking() || mSelectionChangePosted) {
+            return;
+        }
+        mSelectionChangePosted = true;
+        ViewCompat.postOnAnimation(this, mSelectionChangeRunnable);
     }
 
     /**
-     * 範囲選択モード時のクリック処理。
+     * 再描画処理。
+     * <p>すぐには再描画せず、次のフレームで一度だけ再描画する。（※同一フレーム内の呼び出しはまとめる。）
      *
-     * @param calendar クリックされたカレンダーオブジェクト
+     * @param cause 再描画の要因
      * @author tomo-sato
      * @since 1.0.0
      */
-    private void onClickAsRangeMode(Calendar calendar) {
-        // 初回タップの場合
-        if (mAvailableSchedule.selectedFromCalendar == null) {
-            mAvailableSchedule.selectedFromCalendar = calendar;
+    private void redraw(RedrawCause cause) {
+        if (mCalendarMetricsListener != null) {
+            mCalendarMetricsListener.onRedrawRequested(cause);
+        }
 
-        // 2回目以降かつ、範囲が決まっていない場合
-        } else if (mAvailableSchedule.selectedToCalendar == null) {
+        mRedrawPending = true;
+        if (mUpdateDepth == 0) {
+            this.scheduleRedraw();
+        }
+    }
 
-            // 初回タップより過去の場合セットし直し
-            if (mAvailableSchedule.selectedFromCalendar.compareTo(calendar) > 0) {
-                mAvailableSchedule.selectedFromCalendar = calendar;
+    /**
+     * 全体の再描画を次のフレームに予約する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void scheduleRedraw() {
+        if (mRedrawPosted) {
+            return;
+        }
+        mRedrawPosted = true;
+        ViewCompat.postOnAnimation(this, mRedrawRunnable);
+    }
 
-            // 初回タップ以降未来の場合（同じ場所をタップした場合も含む）
-            } else {
-                mAvailableSchedule.selectedToCalendar = calendar;
+    /**
+     * 全体の再描画を実行する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void performRedraw() {
+        if (!mRedrawPending || mUpdateDepth > 0) {
+            return;
+        }
+        mRedrawPending = false;
 
-                // リスナーがセットされている場合、範囲選択完了時のイベントを通知する。
-                if (mOnDateClickListener != null) {
-                    mOnDateClickListener.onFixedRange(
-                            mAvailableSchedule.selectedFromCalendar, mAvailableSchedule.selectedToCalendar);
-                }
-            }
+        CalendarMetricsListener metricsListener = mCalendarMetricsListener;
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
 
-        // 範囲が決まっている場合
-        } else {
-            mAvailableSchedule.selectedFromCalendar = calendar;
-            mAvailableSchedule.selectedToCalendar = null;
+        mMonthListBackend.setMonthSource(mMonthSource);
+        mMonthListBackend.setAvailableSchedule(mAvailableSchedule);
+        mMonthListBackend.notifyAllMonthsChanged();
+
+        // 全体を再描画したため、部分描画は不要。
+        mDirtyMonthSet.clear();
+
+        if (mPendingScrollPosition >= 0) {
+            mMonthListBackend.scrollToPosition(mPendingScrollPosition);
+            mPendingScrollPosition = -1;
         }
 
-        // 再描画処理
-        this.redraw();
+        if (metricsListener != null) {
+            metricsListener.onRedrawPerformed(true, System.nanoTime() - startNanos);
+        }
     }
 
     /**
-     * 再描画処理。
+     * 再描画処理。（※再描画が必要な年月の行のみ）
      *
      * @author tomo-sato
      * @since 1.0.0
      */
-    private void redraw() {
-        mMonthListAdapter.clear();
-        mMonthListAdapter.addAll(mViewCalendar);
-        mMonthListAdapter.setAvailableSchedule(mAvailableSchedule);
-        mMonthListAdapter.notifyDataSetChanged();
+    private void redrawDirtyMonths() {
+        CalendarMetricsListener metricsListener = mCalendarMetricsListener;
+        if (metricsListener != null) {
+            metricsListener.onRedrawRequested(RedrawCause.SELECTION);
+        }
+
+        // 全体の再描画待ちの場合、その際にまとめて描画する。
+        if (mRedrawPending) {
+            mDirtyMonthSet.clear();
+            return;
+        }
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+
+        mMonthListBackend.setAvailableSchedule(mAvailableSchedule);
+        mMonthListBackend.notifyMonthsChanged(mDirtyMonthSet);
+        mDirtyMonthSet.clear();
+
+        if (metricsListener != null) {
+            metricsListener.onRedrawPerformed(false, System.nanoTime() - startNanos);
+        }
     }
 
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
-        redraw();
+        redraw(RedrawCause.ATTACHED);
+
+        // デタッチ時に取り消した選択状態の差分の通知を予約し直す。
+        this.scheduleSelectionChange();
+
+        // デタッチ時に止めた月Viewの事前生成を再開する。
+        mMonthListBackend.warmUpMonthViews(mPreInflateMonthCount);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        // 予約済みの再描画は、再度アタッチされた際に予約し直す。
+        removeCallbacks(mRedrawRunnable);
+        mRedrawPosted = false;
+
+        // 予約済みの選択状態の差分の通知も同様とする。（※集計は継続する。）
+        removeCallbacks(mSelectionChangeRunnable);
+        mSelectionChangePosted = false;
+
+        // 月Viewの事前生成を止め、IdleHandlerの登録を解除する。（※再度アタッチされた際に再開する。）
+        mMonthListBackend.warmUpMonthViews(0);
     }
 
     @Override
     protected Parcelable onSaveInstanceState() {
-        super.onSaveInstanceState();
+        Parcelable superState = super.onSaveInstanceState();
 
-        // 縦横切替時の選択状態を保持
-        Bundle bundle = new Bundle();
-        bundle.putSerializable(AvailableSchedule.class.getName(), mAvailableSchedule);
+        // 縦横切替時の選択状態を保持（※カレンダーオブジェクトではなく、エポック日で保持する。）
+        SavedState savedState = new SavedState(superState);
+        savedState.scheduleMode = mScheduleMode.ordinal();
+        savedState.selectableFromDay = mAvailableSchedule.getSelectableFromEpochDay();
+        savedState.selectableToDay = mAvailableSchedule.getSelectableToEpochDay();
+        savedState.disabledRuns = mAvailableSchedule.getDisabledDayIndex().toRuns();
+        savedState.selectedFromDay = mAvailableSchedule.getSelectedFromEpochDay();
+        savedState.selectedToDay = mAvailableSchedule.getSelectedToEpochDay();
+        savedState.selectedRuns = mAvailableSchedule.getSelectedDayIndex().toRuns();
+        savedState.selectedRangeRuns = mAvailableSchedule.getSelectedRanges().toRuns();
 
-        return bundle;
+        return savedState;
     }
 
     @Override
     protected void onRestoreInstanceState(Parcelable state) {
-
-        if(!(state instanceof Bundle)) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
             return;
         }
 
         // 縦横切替時の選択状態を復元
-        Bundle bundle = (Bundle)state;
-        super.onRestoreInstanceState(bundle.getParcelable(AvailableSchedule.class.getName()));
-        mAvailableSchedule = (AvailableSchedule) bundle.getSerializable(AvailableSchedule.class.getName());
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(savedState.selectableFromDay);
+        availableSchedule.selectableToCalendar = EpochDays.toCalendar(savedState.selectableToDay);
+
+        SelectionIndex disabledDayIndex = availableSchedule.getDisabledDayIndex();
+        int[] disabledRuns = savedState.disabledRuns;
+        for (int i = 0; i < disabledRuns.length; i += 2) {
+            disabledDayIndex.addRange(disabledRuns[i], disabledRuns[i] + disabledRuns[i + 1] - 1);
+        }
+
+        availableSchedule.selectedFromCalendar = EpochDays.toCalendar(savedState.selectedFromDay);
+        availableSchedule.selectedToCalendar = EpochDays.toCalendar(savedState.selectedToDay);
+
+        SelectionIndex selectedDayIndex = availableSchedule.getSelectedDayIndex();
+        int[] runs = savedState.selectedRuns;
+        for (int i = 0; i < runs.length; i += 2) {
+            selectedDayIndex.addRange(runs[i], runs[i] + runs[i + 1] - 1);
+        }
+
+        IntervalSet selectedRanges = availableSchedule.getSelectedRanges();
+        int[] rangeRuns = savedState.selectedRangeRuns;
+        for (int i = 0; i < rangeRuns.length; i += 2) {
+            selectedRanges.add(rangeRuns[i], rangeRuns[i] + rangeRuns[i + 1] - 1);
+        }
+
+        if (mSelectionChangeListener != null) {
+            mSelectionChangeTracker.replace(mAvailableSchedule, availableSchedule);
+            this.scheduleSelectionChange();
+        }
+        mAvailableSchedule = availableSchedule;
+        mScheduleMode = ScheduleMode.values()[savedState.scheduleMode];
+        mSelectionHistory.clear();
+
+        // 再描画処理
+        this.redraw(RedrawCause.RESTORED);
+    }
+
+    /**
+     * 選択状態の保存クラス。
+     * <p>個別選択の日は、連続した日の並び（開始日、日数）で保持する。（※{@link SelectionIndex#toRuns()}）
+     * 選択不可の日、複数範囲選択の範囲も同じ形式で保持する。（※{@link IntervalSet#toRuns()}）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static class SavedState extends BaseSavedState {
+
+        /** スケジュールモード（{@link ScheduleMode#ordinal()}） */
+        int scheduleMode;
+        /** 選択可能範囲の開始日（エポック日） */
+        int selectableFromDay = EpochDays.NONE;
+        /** 選択可能範囲の終了日（エポック日） */
+        int selectableToDay = EpochDays.NONE;
+        /** 選択不可の日の連続した日の並び（{@code [開始日0, 日数0, 開始日1, 日数1, ...]}） */
+        int[] disabledRuns = new int[0];
+        /** 選択開始日（エポック日） */
+        int selectedFromDay = EpochDays.NONE;
+        /** 選択終了日（エポック日） */
+        int selectedToDay = EpochDays.NONE;
+        /** 選択中の日（個別選択）の連続した日の並び（{@code [開始日0, 日数0, 開始日1, 日数1, ...]}） */
+        int[] selectedRuns = new int[0];
+        /** 選択中の範囲（複数範囲選択）の並び（{@code [開始日0, 日数0, 開始日1, 日数1, ...]}） */
+        int[] selectedRangeRuns = new int[0];
+
+        /**
+         * コンストラクタ。
+         *
+         * @param superState 親クラスの保存状態
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        /**
+         * コンストラクタ。（※Parcelから復元する。）
+         *
+         * @param in Parcel
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        private SavedState(Parcel in) {
+            super(in);
+            scheduleMode = in.readInt();
+            selectableFromDay = in.readInt();
+            selectableToDay = in.readInt();
+            disabledRuns = in.createIntArray();
+            selectedFromDay = in.readInt();
+            selectedToDay = in.readInt();
+            selectedRuns = in.createIntArray();
+            selectedRangeRuns = in.createIntArray();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeInt(scheduleMode);
+            out.writeInt(selectableFromDay);
+            out.writeInt(selectableToDay);
+            out.writeIntArray(disabledRuns);
+            out.writeInt(selectedFromDay);
+            out.writeInt(selectedToDay);
+            out.writeIntArray(selectedRuns);
+            out.writeIntArray(selectedRangeRuns);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
     }
 }
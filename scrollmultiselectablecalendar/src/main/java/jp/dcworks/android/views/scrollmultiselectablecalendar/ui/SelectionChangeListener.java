@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.SelectionChange;
+
+/**
+ * 選択状態の変更を差分で通知するイベントリスナー。
+ * <p>{@link ScrollMultiSelectableCalendarView#setSelectionChangeListener(SelectionChangeListener)}でセットする。
+ * 日付クリック、一括選択、スケジュールの置き換え・復元による変更を、次のフレームで1回にまとめて通知する。
+ * （※{@link ScrollMultiSelectableCalendarView}を経由せずにスケジュールを変更した場合は通知しない。）
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public interface SelectionChangeListener {
+
+    /**
+     * 選択状態が変わった時に通知する。
+     *
+     * @param selectionChange 前回の通知からの差分（選択・解除された日の並び、変更前後の選択開始・終了）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onSelectionChanged(SelectionChange selectionChange);
+}
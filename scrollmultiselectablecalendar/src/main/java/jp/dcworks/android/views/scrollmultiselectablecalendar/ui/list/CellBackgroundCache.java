@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.LayerDrawable;
+import android.support.v4.content.ContextCompat;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.R;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+
+/**
+ * 日セルの背景（描画状態毎）のキャッシュ。
+ * <p>背景リソースを{@link Drawable#mutate()}したコピーにカレンダー色情報の色を設定し、
+ * その{@link Drawable.ConstantState}を保持する。
+ * 共有のリソースは変更しないため、色の異なる複数のカレンダーが互いに影響しない。
+ * 描画時はリソースを解決せず、{@link Drawable.ConstantState}から生成する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+class CellBackgroundCache {
+
+    /** 背景ResourcesID配列（※添字を{@link CellState#background(int)}とする。） */
+    private static final int[] BACKGROUND_RESOURCES_ID_ARRAY = {
+            R.drawable.border_top,
+            R.drawable.layer_available_day,
+            R.drawable.layer_available_day_from,
+            R.drawable.layer_available_day_to,
+            R.drawable.layer_available_day_alpha,
+            R.drawable.layer_clicked_day,
+    };
+
+    /** Resources */
+    private final Resources mResources;
+
+    /** 背景の共有状態（※添字を{@link CellState#background(int)}とする。） */
+    private final Drawable.ConstantState[] mConstantStates = new Drawable.ConstantState[CellState.BACKGROUND_COUNT];
+
+    /**
+     * コンストラクタ。（※描画状態毎の背景を生成する。）
+     *
+     * @param context Context
+     * @param colorSet カレンダー色情報
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    CellBackgroundCache(Context context, ColorSet colorSet) {
+        mResources = context.getResources();
+
+        int[] colors = new int[CellState.BACKGROUND_COUNT];
+        colors[CellState.SELECTED] = colorSet.availableDayBackgroundColor;
+        colors[CellState.RANGE_FROM] = colorSet.availableDayBackgroundColor;
+        colors[CellState.RANGE_TO] = colorSet.availableDayBackgroundColor;
+        colors[CellState.RANGE_MID] = colorSet.availableDayBackgroundColorAlpha;
+        colors[CellState.CLICKED] = colorSet.clickedDayBackgroundColor;
+
+        for (int background = 0; background < CellState.BACKGROUND_COUNT; background++) {
+            Drawable drawable = ContextCompat.getDrawable(context, BACKGROUND_RESOURCES_ID_ARRAY[background]).mutate();
+
+            // 未選択以外は、背景色を設定する。
+            if (background != CellState.NONE) {
+                LayerDrawable layerDrawable = (LayerDrawable) drawable;
+                GradientDrawable colorDrawable = (GradientDrawable) layerDrawable.findDrawableByLayerId(R.id.item_background_color);
+                colorDrawable.setColor(colors[background]);
+            }
+            mConstantStates[background] = drawable.getConstantState();
+        }
+    }
+
+    /**
+     * 引数で指定された描画状態の背景を返す。
+     *
+     * @param state 描画状態
+     * @return 背景（※共有状態から生成するため、リソースの解決は行わない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    Drawable newDrawable(int state) {
+        return mConstantStates[CellState.background(state)].newDrawable(mResources);
+    }
+}
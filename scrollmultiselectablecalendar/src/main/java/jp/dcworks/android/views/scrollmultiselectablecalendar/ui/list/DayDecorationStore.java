@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+/**
+ * 日セルの装飾（{@link MonthDecoration}）を取得・保持するクラス。
+ * <p>{@link DayDecorationProvider}への問い合わせは年月単位でバックグラウンドで行い、取得後にUIスレッドで保持して
+ * {@link MonthRenderModelStore.OnModelsPublishedListener}に取得した年月のみ通知する。取得するまでは装飾無しで描画する。
+ * <p>月の描画時（{@link #onMonthBound(int)}）は、前回描画した月との前後からスクロール方向を求め、その先の月を先読みする。
+ * <p>全てのメソッドはUIスレッドから呼び出すこと。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+class DayDecorationStore {
+
+    /** ログのタグ */
+    private static final String TAG = DayDecorationStore.class.getSimpleName();
+
+    /** 保持する月数の上限 */
+    private static final int MAX_CACHE_SIZE = 36;
+
+    /** 先読みする月数 */
+    private static final int PREFETCH_MONTHS = 2;
+
+    /** デフォルトの取得スレッド（※全てのカレンダーで共有する。描画内容の生成スレッドとは分ける。） */
+    private static Executor sDefaultExecutor;
+
+    /** UIスレッドのHandler */
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    /** 取得スレッド */
+    private Executor mExecutor;
+
+    /** 装飾の提供元 */
+    private DayDecorationProvider mDayDecorationProvider;
+
+    /** 提供元のバージョン（※提供元の変更、破棄の毎に増やし、古い取得結果は破棄する。） */
+    private int mVersion;
+
+    /** 年月キーをキーとした装飾（※アクセス順で古いものから破棄する。） */
+    private final Map<Integer, MonthDecoration> mDecorations = new LinkedHashMap<Integer, MonthDecoration>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, MonthDecoration> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /** 取得中の年月キー */
+    private final Set<Integer> mLoadingMonths = new HashSet<>();
+
+    /** 前回描画した年月キー */
+    private int mLastBoundYearMonth = Integer.MIN_VALUE;
+
+    /** 取得した年月（※通知用に使いまわす。） */
+    private final DirtyMonthSet mLoadedMonthSet = new DirtyMonthSet();
+
+    /** 取得時のイベントリスナー */
+    private MonthRenderModelStore.OnModelsPublishedListener mOnDecorationsLoadedListener;
+
+    /**
+     * コンストラクタ。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    DayDecorationStore() {
+        mExecutor = getDefaultExecutor();
+    }
+
+    /**
+     * 取得スレッドをセットする。
+     *
+     * @param executor 取得スレッド
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setExecutor(Executor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * 取得時のイベントリスナーをセットする。
+     *
+     * @param listener 取得した年月の通知先
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setOnDecorationsLoadedListener(MonthRenderModelStore.OnModelsPublishedListener listener) {
+        mOnDecorationsLoadedListener = listener;
+    }
+
+    /**
+     * 装飾の提供元をセットする。（※保持している装飾は破棄する。）
+     *
+     * @param dayDecorationProvider 装飾の提供元（{@code null}の場合、装飾無しとする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider) {
+        mDayDecorationProvider = dayDecorationProvider;
+        this.invalidateAll();
+    }
+
+    /**
+     * 保持している全ての装飾を破棄する。（※次の描画時に取得し直す。取得中の結果も破棄する。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void invalidateAll() {
+        mDecorations.clear();
+        mLoadingMonths.clear();
+        mVersion++;
+    }
+
+    /**
+     * 保持している全ての月の装飾を、バックグラウンドで取得し直す。（※取得し直すまでは変更前の装飾を返す。）
+     * <p>取得中だった月を先に、保持している月は最近描画した月から順に取得する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void refreshAll() {
+        if (mDayDecorationProvider == null) {
+            return;
+        }
+        // 取得中の結果は破棄されるため、取得中だった月も取得し直す。
+        Integer[] loadingMonths = mLoadingMonths.toArray(new Integer[mLoadingMonths.size()]);
+        Integer[] yearMonths = mDecorations.keySet().toArray(new Integer[mDecorations.size()]);
+        mLoadingMonths.clear();
+        mVersion++;
+        for (Integer yearMonth : loadingMonths) {
+            this.load(yearMonth);
+        }
+        for (int i = yearMonths.length - 1; i >= 0; i--) {
+            this.load(yearMonths[i]);
+        }
+    }
+
+    /**
+     * 引数で指定された月の装飾を返す。
+     * <p>保持していない場合は取得を開始し、{@code null}を返す。（※取得後に通知する。）
+     *
+     * @param yearMonth 年月キー
+     * @return 装飾（提供元が無い場合、取得中の場合は{@code null}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    MonthDecoration get(int yearMonth) {
+        if (mDayDecorationProvider == null) {
+            return null;
+        }
+        MonthDecoration decoration = mDecorations.get(yearMonth);
+        if (decoration == null) {
+            this.load(yearMonth);
+        }
+        return decoration;
+    }
+
+    /**
+     * 月の描画時の処理。
+     * <p>前回描画した月より後の月の場合は後の月を、前の月の場合は前の月を先読みする。
+     *
+     * @param yearMonth 描画した年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void onMonthBound(int yearMonth) {
+        int lastBoundYearMonth = mLastBoundYearMonth;
+        mLastBoundYearMonth = yearMonth;
+        if (mDayDecorationProvider == null || lastBoundYearMonth == Integer.MIN_VALUE || lastBoundYearMonth == yearMonth) {
+            return;
+        }
+
+        int direction = (yearMonth > lastBoundYearMonth) ? 1 : -1;
+        for (int i = 1; i <= PREFETCH_MONTHS; i++) {
+            int prefetchYearMonth = yearMonth + direction * i;
+            if (!mDecorations.containsKey(prefetchYearMonth)) {
+                this.load(prefetchYearMonth);
+            }
+        }
+    }
+
+    /**
+     * 引数で指定された月の装飾をバックグラウンドで取得する。（※取得中の場合は何もしない。）
+     *
+     * @param yearMonth 年月キー
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void load(final int yearMonth) {
+        if (!mLoadingMonths.add(yearMonth)) {
+            return;
+        }
+        final DayDecorationProvider dayDecorationProvider = mDayDecorationProvider;
+        final int version = mVersion;
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                DayDecoration[] decorations;
+                try {
+                    decorations = dayDecorationProvider.loadDecorations(
+                            EpochDays.yearOf(yearMonth), EpochDays.monthOf(yearMonth));
+                } catch (RuntimeException e) {
+                    // 共有の取得スレッドを止めないよう捕捉し、次回の描画時に取得し直せるようにする。
+                    Log.w(TAG, "Failed to load decorations. yearMonth=" + yearMonth, e);
+                    mMainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            onLoadFailed(yearMonth, version);
+                        }
+                    });
+                    return;
+                }
+                final MonthDecoration decoration = new MonthDecoration(yearMonth, decorations);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publish(yearMonth, version, decoration);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * バックグラウンドで取得した装飾を保持する。（※UIスレッドで実行する。）
+     *
+     * @param yearMonth 年月キー
+     * @param version 取得開始時の提供元のバージョン
+     * @param decoration 装飾
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void publish(int yearMonth, int version, MonthDecoration decoration) {
+        // 取得中に提供元が変更された場合は破棄する。
+        if (version != mVersion) {
+            return;
+        }
+        mLoadingMonths.remove(yearMonth);
+        mDecorations.put(yearMonth, decoration);
+
+        if (mOnDecorationsLoadedListener != null) {
+            mLoadedMonthSet.clear();
+            mLoadedMonthSet.addRange(yearMonth, yearMonth);
+            mOnDecorationsLoadedListener.onModelsPublished(mLoadedMonthSet);
+        }
+    }
+
+    /**
+     * 装飾の取得に失敗した月を取得中から外し、再取得できるようにする。（※UIスレッドで実行する。）
+     *
+     * @param yearMonth 年月キー
+     * @param version 取得開始時の提供元のバージョン
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void onLoadFailed(int yearMonth, int version) {
+        // 取得中に提供元が変更された場合、取得中の状態は既に破棄されている。
+        if (version != mVersion) {
+            return;
+        }
+        mLoadingMonths.remove(yearMonth);
+    }
+
+    /**
+     * デフォルトの取得スレッドを返す。
+     *
+     * @return 取得スレッド
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static synchronized Executor getDefaultExecutor() {
+        if (sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, DayDecorationStore.class.getSimpleName());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sDefaultExecutor;
+    }
+}
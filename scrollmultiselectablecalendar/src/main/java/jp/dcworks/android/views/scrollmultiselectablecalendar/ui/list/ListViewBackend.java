@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.ListView;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.R;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.MonthRenderer;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthSource;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.CalendarMetricsListener;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.MonthHeaderFormatter;
+
+/**
+ * {@link ListView}と{@link MonthListAdapter}による月リスト。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class ListViewBackend implements MonthListBackend {
+
+    /** 月リスト */
+    private ListView mListView;
+
+    /** 月リストアダプター */
+    private MonthListAdapter mMonthListAdapter;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param context Context
+     * @param colorSet カレンダー色情報
+     * @param monthRenderer 月の描画方式
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public ListViewBackend(Context context, ColorSet colorSet, MonthRenderer monthRenderer) {
+        mListView = new ListView(context);
+        mListView.setId(R.id.month_list);
+        mListView.setDivider(null);
+        mListView.setCacheColorHint(Color.BLACK);
+        mMonthListAdapter = new MonthListAdapter(context, colorSet);
+        mMonthListAdapter.setMonthRenderer(monthRenderer);
+        mListView.setAdapter(mMonthListAdapter);
+
+        // バックグラウンドで描画内容が生成し直された月を描画し直す。
+        mMonthListAdapter.setOnModelsPublishedListener(new MonthRenderModelStore.OnModelsPublishedListener() {
+            @Override
+            public void onModelsPublished(DirtyMonthSet dirtyMonthSet) {
+                mMonthListAdapter.rebindMonths(mListView, dirtyMonthSet);
+            }
+        });
+    }
+
+    @Override
+    public View getView() {
+        return mListView;
+    }
+
+    @Override
+    public void setMonthSource(MonthSource monthSource) {
+        mMonthListAdapter.setMonthSource(monthSource);
+    }
+
+    @Override
+    public void scrollToPosition(int position) {
+        mListView.setSelection(position);
+    }
+
+    @Override
+    public void setMonthHeaderFormatter(MonthHeaderFormatter monthHeaderFormatter) {
+        mMonthListAdapter.setMonthHeaderFormatter(monthHeaderFormatter);
+    }
+
+    @Override
+    public void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        mMonthListAdapter.setAvailableSchedule(availableSchedule);
+    }
+
+    @Override
+    public void notifyAllMonthsChanged() {
+        mMonthListAdapter.refreshAllMonths();
+        mMonthListAdapter.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyMonthsChanged(DirtyMonthSet dirtyMonthSet) {
+        // 生成し直した描画内容の差し替え時に再描画する。
+        mMonthListAdapter.refreshMonths(dirtyMonthSet);
+    }
+
+    @Override
+    public void setOnDateClickListener(MonthListAdapter.OnDateClickListener listener) {
+        mMonthListAdapter.setOnDateClickListener(listener);
+    }
+
+    @Override
+    public void setCalendarMetricsListener(CalendarMetricsListener listener) {
+        mMonthListAdapter.setCalendarMetricsListener(listener);
+    }
+
+    @Override
+    public void warmUpMonthViews(int count) {
+        mMonthListAdapter.warmUpViews(mListView, count);
+    }
+
+    @Override
+    public void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider) {
+        mMonthListAdapter.setDayDecorationProvider(dayDecorationProvider);
+    }
+
+    @Override
+    public void refreshDayDecorations() {
+        mMonthListAdapter.refreshDayDecorations();
+    }
+}
@@ -17,27 +17,24 @@
 package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
 
 import android.content.Context;
-import android.graphics.drawable.Drawable;
-import android.graphics.drawable.GradientDrawable;
-import android.graphics.drawable.LayerDrawable;
-import android.os.Build;
-import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.BaseAdapter;
-import android.widget.TextView;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Date;
-import java.util.List;
 
-import jp.dcworks.android.views.scrollmultiselectablecalendar.R;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.MonthRenderer;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
 import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthList;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthSource;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.CalendarMetricsListener;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.MonthHeaderFormatter;
 
 /**
  * 月リストのアダプタ。
@@ -45,50 +42,16 @@ import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
  * @author tomo-sato
  * @since 1.0.0
  */
-public class MonthListAdapter extends BaseAdapter implements View.OnClickListener {
+public class MonthListAdapter extends BaseAdapter {
 
-    /** TAG */
-    private static final String TAG = MonthListAdapter.class.getSimpleName();
+    /** 表示する月の並び */
+    private MonthSource mMonthSource = MonthList.EMPTY;
 
-    /** 週ResourcesID配列 */
-    private static final int[] INCLUDE_WEEK_RESOURCES_ID_ARRAY = {
-            R.id.include_week_1,
-            R.id.include_week_2,
-            R.id.include_week_3,
-            R.id.include_week_4,
-            R.id.include_week_5,
-            R.id.include_week_6,
-    };
+    /** 月Viewへの描画処理 */
+    private MonthViewBinder mMonthViewBinder;
 
-    /** 日（１週間）ResourcesID配列 */
-    private static final int[] INCLUDE_DAY_RESOURCES_ID_ARRAY = {
-            R.id.day1,
-            R.id.day2,
-            R.id.day3,
-            R.id.day4,
-            R.id.day5,
-            R.id.day6,
-            R.id.day7,
-    };
-
-
-    /** コンテキスト */
-    private Context mContext;
-
-    /** LayoutInflater */
-    private LayoutInflater mLayoutInflater;
-
-    /** Calendarリストオブジェクト（※表示するカレンダーのリストを保持。） */
-    private List<Calendar> mCalendarList;
-
-    /** カレンダーの状態を保持 */
-    private AvailableSchedule mAvailableSchedule;
-
-    /** 年月フォーマット */
-    private String mYearMonthFormat = "yyyy年MM月";
-
-    /** カレンダー色情報 */
-    private ColorSet mColorSet;
+    /** 描画の計測値の通知先（※{@code null}の場合は計測しない。） */
+    private CalendarMetricsListener mCalendarMetricsListener;
 
 
     /**
@@ -103,16 +66,13 @@ public class MonthListAdapter extends BaseAdapter implements View.OnClickListene
          * 日付クリック時のイベントを通知する。
          *
          * @param view クリックされたViewを通知する。
-         * @param calendar クリックされたViewのカレンダーを通知する。
+         * @param epochDay クリックされた日のエポック日を通知する。
          * @author tomo-sato
          * @since 1.0.0
          */
-        void onDateClick(View view, Calendar calendar);
+        void onDateClick(View view, int epochDay);
     }
 
-    /** 日付クリック時のイベントリスナーのメンバ変数。 */
-    private OnDateClickListener mOnDateClickListener;
-
     /**
      * 日付クリック時のイベントリスナーをセットする。
      *
@@ -121,7 +81,7 @@ public class MonthListAdapter extends BaseAdapter implements View.OnClickListene
      * @since 1.0.0
      */
     public void setOnDateClickListener(OnDateClickListener listener) {
-        mOnDateClickListener = listener;
+        mMonthViewBinder.setOnDateClickListener(listener);
     }
 
 
@@ -135,404 +95,212 @@ public class MonthListAdapter extends BaseAdapter implements View.OnClickListene
      */
     public MonthListAdapter(Context context, ColorSet colorSet) {
         super();
-        mContext = context;
-        mColorSet = colorSet;
-        mLayoutInflater = (LayoutInflater) context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        mCalendarList = new ArrayList<>();
+        mMonthViewBinder = new MonthViewBinder(context, colorSet);
     }
 
-    @Override
-    public int getCount() {
-        return (mCalendarList != null) ? mCalendarList.size() : 0;
-    }
-
-    @Override
-    public Calendar getItem(int position) {
-        if (mCalendarList.isEmpty() || mCalendarList.size() <= position) {
-            return null;
-        }
-        return mCalendarList.get(position);
+    /**
+     * 年月テキストの書式化をセットする。
+     *
+     * @param monthHeaderFormatter 年月テキストの書式化
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthHeaderFormatter(MonthHeaderFormatter monthHeaderFormatter) {
+        mMonthViewBinder.setMonthHeaderFormatter(monthHeaderFormatter);
+        notifyDataSetChanged();
     }
 
-    @Override
-    public long getItemId(int position) {
-        return 0;
+    /**
+     * 月の描画方式をセットする。
+     *
+     * @param monthRenderer 月の描画方式
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthRenderer(MonthRenderer monthRenderer) {
+        mMonthViewBinder.setMonthRenderer(monthRenderer);
     }
 
-    @Override
-    public boolean isEnabled(int position) {
-        return false;
+    /**
+     * 描画の計測値を通知するイベントリスナーをセットする。
+     *
+     * @param listener CalendarMetricsListener（{@code null}の場合は計測しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setCalendarMetricsListener(CalendarMetricsListener listener) {
+        mCalendarMetricsListener = listener;
     }
 
-    @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-
-        final Calendar calendar = getItem(position);
-        if (calendar == null) {
-            return null;
-        }
-
-        View view;
-        ViewHolder viewHolder;
-        if (convertView == null) {
-            view = mLayoutInflater.inflate(R.layout.inc_month, parent, false);
-            viewHolder = initViewHolder(view);
-            view.setTag(viewHolder);
-
-        } else {
-            view = convertView;
-            viewHolder = (ViewHolder) view.getTag();
-
-            // ある月が何週あるか（週の数）
-            int weekOfMonth = calendar.getActualMaximum(Calendar.WEEK_OF_MONTH);
-
-            // 使いまわしているため、週が足りない場合がある。
-            ViewGroup viewGroup = (ViewGroup) viewHolder.weekViewSetList.get(0).weekView.getParent();
-            int childCount = viewGroup.getChildCount();
-            // 週が足りなかった場合、ViewHolderを再構成する。
-            if (weekOfMonth > childCount) {
-                view = mLayoutInflater.inflate(R.layout.inc_month, parent, false);
-                viewHolder = initViewHolder(view);
-                view.setTag(viewHolder);
-            }
-        }
-
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(mYearMonthFormat);
-
-        // 年月をセット
-        viewHolder.monthTextView.setText(simpleDateFormat.format(calendar.getTime()));
-        viewHolder.monthTextView.setTextColor(mColorSet.monthTextColor);
-
-        this.setViewHolderWeekView(calendar, viewHolder);
-
-        return view;
+    /**
+     * 日セルの装飾の提供元をセットする。（※取得済みの装飾は破棄する。）
+     *
+     * @param dayDecorationProvider 装飾の提供元（{@code null}の場合、装飾無しとする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider) {
+        mMonthViewBinder.setDayDecorationProvider(dayDecorationProvider);
     }
 
     /**
-     * ViewHolderを初期化する。
+     * 取得済みの日セルの装飾を、バックグラウンドで取得し直す。
+     * <p>取得し直した月は、描画内容の差し替え時と同様に通知する。
      *
-     * @param view View
-     * @return ViewHolderを返す。
      * @author tomo-sato
      * @since 1.0.0
      */
-    private ViewHolder initViewHolder(View view) {
-
-        // リソースの色を設定する。
-        setDrawableResourceBackgroundColor(R.drawable.layer_available_day,       mColorSet.availableDayBackgroundColor);
-        setDrawableResourceBackgroundColor(R.drawable.layer_available_day_from,  mColorSet.availableDayBackgroundColor);
-        setDrawableResourceBackgroundColor(R.drawable.layer_available_day_to,    mColorSet.availableDayBackgroundColor);
-        setDrawableResourceBackgroundColor(R.drawable.layer_available_day_alpha, mColorSet.availableDayBackgroundColorAlpha);
-        setDrawableResourceBackgroundColor(R.drawable.layer_clicked_day,         mColorSet.clickedDayBackgroundColor);
-
-        ViewHolder viewHolder = new ViewHolder();
-        // 年月テキスト
-        viewHolder.monthTextView = (TextView) view.findViewById(R.id.month_text_view);
-        // 各週
-        for (int weekResId : INCLUDE_WEEK_RESOURCES_ID_ARRAY) {
-            ViewHolder.WeekViewSet weekViewSet = new ViewHolder.WeekViewSet();
-            weekViewSet.weekView = view.findViewById(weekResId);
-
-            for (int dayResId : INCLUDE_DAY_RESOURCES_ID_ARRAY) {
-                weekViewSet.dayTextViewList.add((TextView) weekViewSet.weekView.findViewById(dayResId));
-            }
-
-            viewHolder.weekViewSetList.add(weekViewSet);
-        }
-        return viewHolder;
+    public void refreshDayDecorations() {
+        mMonthViewBinder.refreshDecorations();
     }
 
     /**
-     * 日をセットする。
+     * アイドル時に月Viewを事前に生成する。（※初回スクロール時の生成を省く。）
      *
-     * @param calendar 表示するカレンダー
-     * @param viewHolder Viewホルダー（※この参照に対して操作を行う。）
+     * @param parent このアダプターをセットしたListView
+     * @param count 生成する数（0の場合、生成を中止する。）
      * @author tomo-sato
      * @since 1.0.0
      */
-    private void setViewHolderWeekView(Calendar calendar, ViewHolder viewHolder) {
-
-        // 1日の曜日を取得する。
-        int oneOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
-
-        // ある月が何週あるか（週の数）
-        int weekOfMonth = calendar.getActualMaximum(Calendar.WEEK_OF_MONTH);
-
-        // ある月が何日あるか（日数）
-        int dayOfMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-
-        // 日付
-        int day = 1;
+    public void warmUpViews(ViewGroup parent, int count) {
+        mMonthViewBinder.warmUpViews(parent, count);
+    }
 
-        // 週
-        for (int i = 0; i < 6; i++) {
-            ViewHolder.WeekViewSet weekViewSet = viewHolder.weekViewSetList.get(i);
-            View weekView = weekViewSet.weekView;
+    @Override
+    public int getCount() {
+        return mMonthSource.getCount();
+    }
 
-            // 余った週はViewから削除する。
-            if (weekOfMonth < (i + 1)) {
-                if (weekView != null) {
-                    ViewGroup viewGroup = (ViewGroup) weekView.getParent();
-                    if (viewGroup != null) {
+    @Override
+    public Calendar getItem(int position) {
+        if (getCount() <= position) {
+            return null;
+        }
+        return EpochDays.toCalendar(EpochDays.firstDayOf(mMonthSource.getYearMonth(position)));
+    }
 
-                        // 参照に対して操作を行う。
-                        viewGroup.removeView(weekView);
-                    }
-                }
-                continue;
-            }
+    @Override
+    public long getItemId(int position) {
+        return mMonthSource.getYearMonth(position);
+    }
 
-            // 日
-            for (int j = 0; j < 7; j++) {
-                if (weekView != null) {
-                    TextView dayTextView = weekViewSet.dayTextViewList.get(j);
-
-                    // リサイクルしてる都合、初期化処理が必要。
-                    dayTextView.setVisibility(View.VISIBLE);
-                    dayTextView.setOnClickListener(null);
-                    dayTextView.setBackgroundResource(R.drawable.border_top);
-                    dayTextView.setTextColor(mColorSet.dayTextColor);
-
-                    // 余った日はViewを非表示にする。また1日未満の日を非表示にする。
-                    if (dayOfMonth < day) {
-                        dayTextView.setVisibility(View.INVISIBLE);
-
-                        // ViewHolderにセットし直す。
-                        weekViewSet.dayTextViewList.set(j, dayTextView);
-                        continue;
-                    }
-
-                    // 1日未満の日を非表示にする。
-                    if ((day == 1 && oneOfWeek > (j + 1))) {
-                        dayTextView.setVisibility(View.INVISIBLE);
-
-                        // ViewHolderにセットし直す。
-                        weekViewSet.dayTextViewList.set(j, dayTextView);
-                        continue;
-                    }
-
-                    // 日付をセットする。
-                    dayTextView.setText(String.valueOf(day));
-
-                    // 曜日毎にテキストカラーをセットする。
-                    switch (j) {
-                        // 日曜
-                        case 0:
-                            dayTextView.setTextColor(mColorSet.daySundayTextColor);
-                            break;
-
-                        // 土曜
-                        case 6:
-                            dayTextView.setTextColor(mColorSet.dayWeekendTextColor);
-                            break;
-
-                        // 平日
-                        default:
-                            dayTextView.setTextColor(mColorSet.dayTextColor);
-                    }
-
-                    // 日付をカレンダーにセットする。
-                    Calendar targetCalendar = Calendar.getInstance();
-                    targetCalendar.setTime(calendar.getTime());
-                    targetCalendar.set(Calendar.DATE, day);
-
-                    if (mAvailableSchedule != null) {
-                        // 選択状態（個別選択）をセットする。
-                        if (mAvailableSchedule.selectedCalendarList != null && !mAvailableSchedule.selectedCalendarList.isEmpty()) {
-                            for (Calendar selectedCalendar : mAvailableSchedule.selectedCalendarList) {
-                                if (selectedCalendar.compareTo(targetCalendar) == 0) {
-                                    dayTextView.setBackgroundResource(R.drawable.layer_available_day);
-                                    dayTextView.setTextColor(mColorSet.availableDayTextColor);
-                                }
-                            }
-                        }
-
-                        // 選択状態（範囲選択）をセットする。
-                        if (mAvailableSchedule.selectedFromCalendar != null && mAvailableSchedule.selectedToCalendar != null) {
-
-                            // 範囲選択が決定したときの色をセットする。
-                            if ((mAvailableSchedule.selectedFromCalendar != null && mAvailableSchedule.selectedFromCalendar.compareTo(targetCalendar) <= 0)
-                                    && (mAvailableSchedule.selectedToCalendar != null && mAvailableSchedule.selectedToCalendar.compareTo(targetCalendar) >= 0)) {
-
-                                // 開始日、終了日の間の色をセットする。
-                                if (!(mAvailableSchedule.selectedFromCalendar.compareTo(targetCalendar) == 0
-                                        || mAvailableSchedule.selectedToCalendar.compareTo(targetCalendar) == 0)) {
-
-                                    dayTextView.setBackgroundResource(R.drawable.layer_available_day_alpha);
-
-                                    // 開始日、終了日が同日の色をセットする。
-                                } else if ((mAvailableSchedule.selectedFromCalendar.compareTo(targetCalendar) == 0
-                                        && mAvailableSchedule.selectedToCalendar.compareTo(targetCalendar) == 0)) {
-
-                                    dayTextView.setBackgroundResource(R.drawable.layer_available_day);
-
-                                    // 開始日、終了日の色をセットする。
-                                } else {
-                                    // 開始日の色をセットする。
-                                    if (mAvailableSchedule.selectedFromCalendar.compareTo(targetCalendar) == 0) {
-                                        dayTextView.setBackgroundResource(R.drawable.layer_available_day_from);
-                                    }
-                                    // 終了日の色をセットする。
-                                    if (mAvailableSchedule.selectedToCalendar.compareTo(targetCalendar) == 0) {
-                                        dayTextView.setBackgroundResource(R.drawable.layer_available_day_to);
-                                    }
-                                }
-                                dayTextView.setTextColor(mColorSet.availableDayTextColor);
-                            }
-
-                        } else if (mAvailableSchedule.selectedFromCalendar != null && mAvailableSchedule.selectedToCalendar == null) {
-
-                            // 範囲選択開始が決まったときの色をセットする。
-                            if (mAvailableSchedule.selectedFromCalendar.compareTo(targetCalendar) == 0) {
-                                dayTextView.setBackgroundResource(R.drawable.layer_clicked_day);
-                                dayTextView.setTextColor(mColorSet.clickedDayTextColor);
-                            }
-                        }
-
-                        // クリックイベントをセットする。
-                        if ((mAvailableSchedule.selectableFromCalendar != null && mAvailableSchedule.selectableFromCalendar.compareTo(targetCalendar) <= 0)
-                                && (mAvailableSchedule.selectableToCalendar != null && mAvailableSchedule.selectableToCalendar.compareTo(targetCalendar) >= 0)) {
-
-                            dayTextView.setOnClickListener(this);
-
-                        } else if ((mAvailableSchedule.selectableFromCalendar != null && mAvailableSchedule.selectableFromCalendar.compareTo(targetCalendar) <= 0)
-                                && (mAvailableSchedule.selectableToCalendar == null)) {
-
-                            dayTextView.setOnClickListener(this);
-
-                        } else if ((mAvailableSchedule.selectableFromCalendar == null)
-                                && (mAvailableSchedule.selectableToCalendar != null && mAvailableSchedule.selectableToCalendar.compareTo(targetCalendar) >= 0)) {
-
-                            dayTextView.setOnClickListener(this);
-
-                        } else {
-                            dayTextView.setTextColor(mColorSet.disableDayTextColor);
-                        }
-                    }
-                    day++;
-                }
-            }
-        }
+    @Override
+    public boolean isEnabled(int position) {
+        return false;
     }
 
     @Override
-    public void onClick(View view) {
-        TextView dayText = (TextView) view;
-
-        // タップされた年月を取得する。
-        ViewGroup viewWeekGroup = (ViewGroup) view.getParent();
-        ViewGroup viewLinearLayoutGroup = (ViewGroup) viewWeekGroup.getParent();
-        ViewGroup viewMonthLinearLayoutGroup = (ViewGroup) viewLinearLayoutGroup.getParent();
-        String yearMonthStr = ((TextView) viewMonthLinearLayoutGroup.findViewById(R.id.month_text_view)).getText().toString();
-        Log.d(TAG, "yearMonthStr=" + yearMonthStr + ", dayText=" + dayText.getText().toString());
-
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(mYearMonthFormat);
-        Date date = null;
-        try {
-            date = simpleDateFormat.parse(yearMonthStr);
-        } catch (ParseException e) {
-            Log.e(TAG, e.getMessage());
-            e.printStackTrace();
-            return;
+    public View getView(int position, View convertView, ViewGroup parent) {
+        CalendarMetricsListener metricsListener = mCalendarMetricsListener;
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+
+        // セル配置はキャッシュから取得する。
+        MonthGrid monthGrid = MonthGrid.of(mMonthSource.getYearMonth(position));
+
+        // 使いまわせない場合（描画方式が異なる場合）、Viewを生成し直す。
+        View view = convertView;
+        boolean isInflated = false;
+        if (view == null || !mMonthViewBinder.canReuse(view, monthGrid)) {
+            view = mMonthViewBinder.createView(parent);
+            isInflated = true;
         }
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        calendar.set(Calendar.DATE, Integer.parseInt(dayText.getText().toString()));
 
-        // リスナーがセットされている場合、クリック時のイベントを通知する。
-        if (mOnDateClickListener != null) {
-            mOnDateClickListener.onDateClick(view, calendar);
+        mMonthViewBinder.bind(view, monthGrid);
+
+        if (metricsListener != null) {
+            metricsListener.onMonthBound(monthGrid.getYearMonth(), isInflated, System.nanoTime() - startNanos);
         }
+        return view;
     }
 
     /**
-     * リストクリア処理。
+     * 表示する月の並びをセットする。
      *
+     * @param monthSource 表示する月の並び
      * @author tomo-sato
      * @since 1.0.0
      */
-    public void clear() {
-        mCalendarList.clear();
+    public void setMonthSource(MonthSource monthSource) {
+        mMonthSource = monthSource;
         notifyDataSetChanged();
     }
 
     /**
-     * 引数に指定されたリストを追加する。
+     * 全ての月の描画内容を、バックグラウンドで生成し直す。
+     * <p>生成し直した月は{@link #setOnModelsPublishedListener(MonthRenderModelStore.OnModelsPublishedListener)}で通知する。
      *
-     * @param list 表示項目リスト
      * @author tomo-sato
      * @since 1.0.0
      */
-    public void addAll(List<Calendar> list) {
-        mCalendarList.addAll(list);
+    public void refreshAllMonths() {
+        mMonthViewBinder.refreshAllModels();
     }
 
     /**
-     * 利用可能スケジュールをセットする。
+     * 引数で指定された年月の描画内容を、バックグラウンドで生成し直す。
+     * <p>生成し直した月は{@link #setOnModelsPublishedListener(MonthRenderModelStore.OnModelsPublishedListener)}で通知する。
      *
-     * @param availableSchedule 利用可能スケジュール
+     * @param dirtyMonthSet 生成し直す年月
      * @author tomo-sato
      * @since 1.0.0
      */
-    public void setAvailableSchedule(AvailableSchedule availableSchedule) {
-        mAvailableSchedule = availableSchedule;
+    public void refreshMonths(DirtyMonthSet dirtyMonthSet) {
+        mMonthViewBinder.refreshModels(dirtyMonthSet);
     }
 
     /**
-     * ViewHolderクラス。
+     * 描画内容の差し替え時のイベントリスナーをセットする。
      *
+     * @param listener OnModelsPublishedListener
      * @author tomo-sato
      * @since 1.0.0
      */
-    private static class ViewHolder {
-
-        /** 年月 */
-        TextView monthTextView;
-        /** 各週 */
-        List<WeekViewSet> weekViewSetList = new ArrayList<>();
-
-        /**
-         * 1週間のView情報を保持するクラス。
-         *
-         * @author tomo-sato
-         * @since 1.0.0
-         */
-        private static class WeekViewSet {
-            /** 週 */
-            View weekView;
-            /** 1週間の日リスト */
-            List<TextView> dayTextViewList = new ArrayList<>();
-        }
+    void setOnModelsPublishedListener(MonthRenderModelStore.OnModelsPublishedListener listener) {
+        mMonthViewBinder.setOnModelsPublishedListener(listener);
     }
 
     /**
-     * リソースの色を設定する。
+     * 表示中の行のうち、引数で指定された年月の行のみ再描画する。
+     * <p>表示範囲外の行は、スクロールで表示される際に{@link #getView(int, View, ViewGroup)}で描画される。
      *
-     * @param resourceId リソースID
-     * @param colorResourceId カラーリソースID
+     * @param listView このアダプターをセットしたリスト
+     * @param dirtyMonthSet 再描画する年月
      * @author tomo-sato
      * @since 1.0.0
      */
-    private void setDrawableResourceBackgroundColor(int resourceId, int colorResourceId) {
-        LayerDrawable layerDrawable = (LayerDrawable) this.getDrawableResource(resourceId);
-        GradientDrawable strokeDrawable = (GradientDrawable) layerDrawable.findDrawableByLayerId(R.id.item_background_color);
-        strokeDrawable.setColor(colorResourceId);
+    public void rebindMonths(AbsListView listView, DirtyMonthSet dirtyMonthSet) {
+        if (dirtyMonthSet.isEmpty()) {
+            return;
+        }
+
+        int firstPosition = listView.getFirstVisiblePosition();
+        int childCount = listView.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            int position = firstPosition + i;
+            if (getCount() <= position || !dirtyMonthSet.contains(mMonthSource.getYearMonth(position))) {
+                continue;
+            }
+
+            // 表示中のViewに対して描画し直す。
+            View child = listView.getChildAt(i);
+            View view = getView(position, child, listView);
+
+            // Viewが作り直された場合は差し替えられないため、全体を再描画する。
+            if (view != child) {
+                notifyDataSetChanged();
+                return;
+            }
+        }
     }
 
     /**
-     * Drawableを取得する。
+     * 利用可能スケジュールをセットする。
      *
-     * @param resourceId リソースID
-     * @return Drawable
+     * @param availableSchedule 利用可能スケジュール
      * @author tomo-sato
      * @since 1.0.0
      */
-    @SuppressWarnings("deprecation")
-    private Drawable getDrawableResource(int resourceId){
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            return mContext.getDrawable(resourceId);
-        } else {
-            return mContext.getResources().getDrawable(resourceId);
-        }
+    public void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        mMonthViewBinder.setAvailableSchedule(availableSchedule);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.view.View;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthSource;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.CalendarMetricsListener;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.MonthHeaderFormatter;
+
+/**
+ * 月リストの描画方式を抽象化するインターフェース。
+ * <p>{@link jp.dcworks.android.views.scrollmultiselectablecalendar.ui.ScrollMultiSelectableCalendarView}は、
+ * このインターフェースを介して月リストを操作する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public interface MonthListBackend {
+
+    /**
+     * 月リストのViewを返す。
+     *
+     * @return 月リストのView
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    View getView();
+
+    /**
+     * 表示する月の並びをセットする。
+     *
+     * @param monthSource 表示する月の並び
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setMonthSource(MonthSource monthSource);
+
+    /**
+     * 引数で指定された位置までスクロールする。
+     *
+     * @param position 位置
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void scrollToPosition(int position);
+
+    /**
+     * 年月テキストの書式化をセットする。（※表示中の月の年月テキストも更新する。）
+     *
+     * @param monthHeaderFormatter 年月テキストの書式化
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setMonthHeaderFormatter(MonthHeaderFormatter monthHeaderFormatter);
+
+    /**
+     * 利用可能スケジュールをセットする。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setAvailableSchedule(AvailableSchedule availableSchedule);
+
+    /**
+     * 全ての月を再描画する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void notifyAllMonthsChanged();
+
+    /**
+     * 引数で指定された年月のみ再描画する。
+     * <p>描画内容はバックグラウンドで生成し直し、生成後に再描画する。
+     *
+     * @param dirtyMonthSet 再描画する年月
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void notifyMonthsChanged(DirtyMonthSet dirtyMonthSet);
+
+    /**
+     * 日付クリック時のイベントリスナーをセットする。
+     *
+     * @param listener OnDateClickListener
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setOnDateClickListener(MonthListAdapter.OnDateClickListener listener);
+
+    /**
+     * 描画の計測値を通知するイベントリスナーをセットする。
+     *
+     * @param listener CalendarMetricsListener（{@code null}の場合は計測しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setCalendarMetricsListener(CalendarMetricsListener listener);
+
+    /**
+     * アイドル時に月Viewを事前に生成する。
+     *
+     * @param count 生成する数（0の場合、生成を中止する。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void warmUpMonthViews(int count);
+
+    /**
+     * 日セルの装飾の提供元をセットする。（※取得済みの装飾は破棄する。描画し直しは{@link #notifyAllMonthsChanged()}で行う。）
+     *
+     * @param dayDecorationProvider 装飾の提供元（{@code null}の場合、装飾無しとする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider);
+
+    /**
+     * 取得済みの日セルの装飾を、バックグラウンドで取得し直す。（※取得し直した月のみ描画し直す。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void refreshDayDecorations();
+}
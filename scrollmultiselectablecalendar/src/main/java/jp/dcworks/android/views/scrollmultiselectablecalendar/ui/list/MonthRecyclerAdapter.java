@@ -0,0 +1,378 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.content.Context;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.List;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.MonthRenderer;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthList;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthRange;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthSource;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.CalendarMetricsListener;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.MonthHeaderFormatter;
+
+/**
+ * 月リストのアダプタ（{@link RecyclerView}用）。
+ * <p>年月キーを安定IDとし、表示する月の変更は{@link DiffUtil}で差分のみ通知する。
+ * 選択状態の変更は{@link #PAYLOAD_CELL_STATE}による部分描画で、描画状態が変わったセルのみ更新する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class MonthRecyclerAdapter extends RecyclerView.Adapter<MonthRecyclerAdapter.MonthViewHolder> {
+
+    /** 部分描画：セルの描画状態のみ更新する。 */
+    public static final Object PAYLOAD_CELL_STATE = new Object();
+
+    /** 表示する月の並び */
+    private MonthSource mMonthSource = MonthList.EMPTY;
+
+    /** 月Viewへの描画処理 */
+    private MonthViewBinder mMonthViewBinder;
+
+    /** 描画の計測値の通知先（※{@code null}の場合は計測しない。） */
+    private CalendarMetricsListener mCalendarMetricsListener;
+
+
+    /**
+     * コンストラクタ。
+     *
+     * @param context Context
+     * @param colorSet カレンダー色情報
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public MonthRecyclerAdapter(Context context, ColorSet colorSet) {
+        super();
+        mMonthViewBinder = new MonthViewBinder(context, colorSet);
+        setHasStableIds(true);
+
+        // バックグラウンドで描画内容が生成し直された月を描画し直す。
+        mMonthViewBinder.setOnModelsPublishedListener(new MonthRenderModelStore.OnModelsPublishedListener() {
+            @Override
+            public void onModelsPublished(DirtyMonthSet dirtyMonthSet) {
+                dispatchMonthsChanged(dirtyMonthSet);
+            }
+        });
+    }
+
+    /**
+     * 年月テキストの書式化をセットする。
+     *
+     * @param monthHeaderFormatter 年月テキストの書式化
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthHeaderFormatter(MonthHeaderFormatter monthHeaderFormatter) {
+        mMonthViewBinder.setMonthHeaderFormatter(monthHeaderFormatter);
+        notifyDataSetChanged();
+    }
+
+    /**
+     * 月の描画方式をセットする。（※Viewを生成する前にセットすること。）
+     *
+     * @param monthRenderer 月の描画方式
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthRenderer(MonthRenderer monthRenderer) {
+        mMonthViewBinder.setMonthRenderer(monthRenderer);
+    }
+
+    /**
+     * 日付クリック時のイベントリスナーをセットする。
+     *
+     * @param listener OnDateClickListener
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setOnDateClickListener(MonthListAdapter.OnDateClickListener listener) {
+        mMonthViewBinder.setOnDateClickListener(listener);
+    }
+
+    /**
+     * 描画の計測値を通知するイベントリスナーをセットする。
+     *
+     * @param listener CalendarMetricsListener（{@code null}の場合は計測しない。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setCalendarMetricsListener(CalendarMetricsListener listener) {
+        mCalendarMetricsListener = listener;
+    }
+
+    /**
+     * 日セルの装飾の提供元をセットする。（※取得済みの装飾は破棄する。）
+     *
+     * @param dayDecorationProvider 装飾の提供元（{@code null}の場合、装飾無しとする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider) {
+        mMonthViewBinder.setDayDecorationProvider(dayDecorationProvider);
+    }
+
+    /**
+     * 取得済みの日セルの装飾を、バックグラウンドで取得し直す。
+     * <p>取得し直した月は、描画内容の差し替え時と同様に通知する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void refreshDayDecorations() {
+        mMonthViewBinder.refreshDecorations();
+    }
+
+    /**
+     * アイドル時に月Viewを事前に生成する。（※初回スクロール時の生成を省く。）
+     *
+     * @param parent このアダプターをセットしたRecyclerView
+     * @param count 生成する数（0の場合、生成を中止する。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void warmUpViews(ViewGroup parent, int count) {
+        mMonthViewBinder.warmUpViews(parent, count);
+    }
+
+    /**
+     * 利用可能スケジュールをセットする。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        mMonthViewBinder.setAvailableSchedule(availableSchedule);
+    }
+
+    /**
+     * 表示する月の並びをセットする。
+     * <p>変更前後が共に{@link MonthList}の場合は、変更された月のみ通知する。
+     * {@link MonthRange}の場合は月数が多いため差分を取らず、安定IDによりViewを使いまわす。
+     *
+     * @param monthSource 表示する月の並び
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void setMonthSource(MonthSource monthSource) {
+        final MonthSource oldMonthSource = mMonthSource;
+        final MonthSource newMonthSource = monthSource;
+        if (oldMonthSource.equals(newMonthSource)) {
+            return;
+        }
+
+        if (!(oldMonthSource instanceof MonthList) || !(newMonthSource instanceof MonthList)) {
+            mMonthSource = newMonthSource;
+            notifyDataSetChanged();
+            return;
+        }
+
+        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldMonthSource.getCount();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newMonthSource.getCount();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldMonthSource.getYearMonth(oldItemPosition) == newMonthSource.getYearMonth(newItemPosition);
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                // 同じ年月であれば表示内容は同じ。（※選択状態は部分描画で更新する。）
+                return true;
+            }
+        });
+
+        mMonthSource = newMonthSource;
+        diffResult.dispatchUpdatesTo(this);
+    }
+
+    /**
+     * 全ての月のセルの描画状態を更新する。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void notifyAllCellStatesChanged() {
+        // 描画内容はバックグラウンドで生成し直し、生成されるまでは変更前の描画内容で描画する。
+        mMonthViewBinder.refreshAllModels();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_CELL_STATE);
+    }
+
+    /**
+     * 引数で指定された年月のセルの描画状態を更新する。
+     *
+     * @param dirtyMonthSet 再描画する年月
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public void notifyMonthsChanged(DirtyMonthSet dirtyMonthSet) {
+        // 生成し直した描画内容の差し替え時に再描画する。
+        mMonthViewBinder.refreshModels(dirtyMonthSet);
+    }
+
+    /**
+     * 引数で指定された年月の部分描画を通知する。
+     *
+     * @param dirtyMonthSet 再描画する年月
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void dispatchMonthsChanged(DirtyMonthSet dirtyMonthSet) {
+        if (dirtyMonthSet.isEmpty()) {
+            return;
+        }
+
+        // 連続した月の並びの場合、範囲毎に通知する。
+        if (mMonthSource instanceof MonthRange) {
+            MonthRange monthRange = (MonthRange) mMonthSource;
+            for (int i = 0; i < dirtyMonthSet.getRangeCount(); i++) {
+                int fromYearMonth = Math.max(dirtyMonthSet.getFromYearMonth(i), monthRange.getFromYearMonth());
+                int toYearMonth = Math.min(dirtyMonthSet.getToYearMonth(i), monthRange.getToYearMonth());
+                if (fromYearMonth <= toYearMonth) {
+                    notifyItemRangeChanged(monthRange.getPosition(fromYearMonth), toYearMonth - fromYearMonth + 1, PAYLOAD_CELL_STATE);
+                }
+            }
+            return;
+        }
+
+        int count = mMonthSource.getCount();
+        for (int position = 0; position < count; position++) {
+            if (dirtyMonthSet.contains(mMonthSource.getYearMonth(position))) {
+                notifyItemChanged(position, PAYLOAD_CELL_STATE);
+            }
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return mMonthSource.getCount();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return mMonthSource.getYearMonth(position);
+    }
+
+    @Override
+    public MonthViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        if (mCalendarMetricsListener == null) {
+            return new MonthViewHolder(mMonthViewBinder.createView(parent));
+        }
+
+        // 生成時間は、初回の描画時に描画時間に含めて通知する。
+        long startNanos = System.nanoTime();
+        MonthViewHolder holder = new MonthViewHolder(mMonthViewBinder.createView(parent));
+        holder.inflateNanos = System.nanoTime() - startNanos;
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(MonthViewHolder holder, int position) {
+        CalendarMetricsListener metricsListener = mCalendarMetricsListener;
+        long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+
+        MonthGrid monthGrid = MonthGrid.of(mMonthSource.getYearMonth(position));
+        mMonthViewBinder.bind(holder.itemView, monthGrid);
+
+        if (metricsListener != null) {
+            notifyMonthBound(metricsListener, holder, monthGrid, startNanos);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(MonthViewHolder holder, int position, List<Object> payloads) {
+        MonthGrid monthGrid = MonthGrid.of(mMonthSource.getYearMonth(position));
+
+        // 同じ月を描画中の場合、セルの描画状態のみ更新する。
+        if (!payloads.isEmpty() && mMonthViewBinder.isBound(holder.itemView, monthGrid)) {
+            CalendarMetricsListener metricsListener = mCalendarMetricsListener;
+            long startNanos = (metricsListener != null) ? System.nanoTime() : 0;
+
+            mMonthViewBinder.bindCellStates(holder.itemView, monthGrid);
+
+            if (metricsListener != null) {
+                notifyMonthBound(metricsListener, holder, monthGrid, startNanos);
+            }
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
+    /**
+     * 月の描画を通知する。
+     *
+     * @param metricsListener 通知先
+     * @param holder 描画したViewHolder
+     * @param monthGrid 描画した月のセル配置
+     * @param startNanos 描画開始時刻（ナノ秒）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static void notifyMonthBound(CalendarMetricsListener metricsListener, MonthViewHolder holder,
+                                         MonthGrid monthGrid, long startNanos) {
+        long bindNanos = System.nanoTime() - startNanos;
+        boolean isInflated = holder.inflateNanos >= 0;
+        if (isInflated) {
+            bindNanos += holder.inflateNanos;
+            holder.inflateNanos = -1;
+        }
+        metricsListener.onMonthBound(monthGrid.getYearMonth(), isInflated, bindNanos);
+    }
+
+    /**
+     * ViewHolderクラス。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public static class MonthViewHolder extends RecyclerView.ViewHolder {
+
+        /** 生成時間（ナノ秒。※未計測、または通知済みの場合は-1） */
+        long inflateNanos = -1;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param itemView 月View
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        MonthViewHolder(View itemView) {
+            super(itemView);
+        }
+    }
+}
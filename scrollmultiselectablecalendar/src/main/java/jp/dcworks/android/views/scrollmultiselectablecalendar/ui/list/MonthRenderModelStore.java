@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthRenderModel;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.CellStateResolver;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+
+/**
+ * 月の描画内容（{@link MonthRenderModel}）を生成・保持するクラス。
+ * <p>スケジュールが一括で変更された場合（{@link #refreshAll()}）、タップにより変更された場合（{@link #refresh(DirtyMonthSet)}）は、
+ * 保持している月の描画内容をバックグラウンドで生成し直し、生成後にUIスレッドで差し替えて{@link OnModelsPublishedListener}に通知する。
+ * 差し替えまでは変更前の描画内容を返し、UIスレッドで生成するのは保持していない月のみとする。
+ * <p>UIスレッドでの生成はスケジュールをコピーせずに参照する。バックグラウンドでの生成時は、一括の変更の場合は全体、
+ * タップによる変更の場合は対象の年月の分のみスケジュールのコピーを作る。
+ * <p>{@link #refreshAll()}、{@link #refresh(DirtyMonthSet)}、{@link #get(MonthGrid)}はUIスレッドから呼び出すこと。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+class MonthRenderModelStore {
+
+    /** 保持する月数の上限 */
+    private static final int MAX_CACHE_SIZE = 36;
+
+    /** デフォルトの生成スレッド（※全てのカレンダーで共有する。） */
+    private static Executor sDefaultExecutor;
+
+    /**
+     * 描画内容の差し替え時のイベントリスナー。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    interface OnModelsPublishedListener {
+
+        /**
+         * 描画内容が差し替えられた年月を通知する。
+         *
+         * @param dirtyMonthSet 描画内容が差し替えられた年月（※通知後に再利用するため、保持しないこと。）
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        void onModelsPublished(DirtyMonthSet dirtyMonthSet);
+    }
+
+    /** カレンダー色情報 */
+    private final ColorSet mColorSet;
+
+    /** UIスレッドのHandler */
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    /** 生成スレッド */
+    private Executor mExecutor;
+
+    /** 利用可能スケジュール */
+    private AvailableSchedule mAvailableSchedule;
+
+    /** UIスレッドでの描画状態の判定（※スケジュールをコピーせずに参照する。） */
+    private final CellStateResolver mCellStateResolver = new CellStateResolver();
+
+    /** 現在のスケジュールのバージョン（※生成し直す毎に更新し、古いバージョンの描画内容で差し替えないようにする。） */
+    private int mVersion;
+
+    /** 年月キーをキーとした描画内容（※アクセス順で古いものから破棄する。） */
+    private final Map<Integer, MonthRenderModel> mModels = new LinkedHashMap<Integer, MonthRenderModel>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, MonthRenderModel> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /** 差し替えた年月（※通知用に使いまわす。） */
+    private final DirtyMonthSet mPublishedMonthSet = new DirtyMonthSet();
+
+    /** 描画内容の差し替え時のイベントリスナー */
+    private OnModelsPublishedListener mOnModelsPublishedListener;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param colorSet カレンダー色情報
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    MonthRenderModelStore(ColorSet colorSet) {
+        mColorSet = colorSet;
+        mExecutor = getDefaultExecutor();
+    }
+
+    /**
+     * 生成スレッドをセットする。
+     *
+     * @param executor 生成スレッド
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setExecutor(Executor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * 描画内容の差し替え時のイベントリスナーをセットする。
+     *
+     * @param listener OnModelsPublishedListener
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setOnModelsPublishedListener(OnModelsPublishedListener listener) {
+        mOnModelsPublishedListener = listener;
+    }
+
+    /**
+     * 利用可能スケジュールをセットする。（※描画内容の生成し直しは{@link #refreshAll()}、{@link #refresh(DirtyMonthSet)}で行う。）
+     * <p>タップ毎に呼び出すため、スケジュールはコピーしない。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        mAvailableSchedule = availableSchedule;
+        mCellStateResolver.bindAvailableSchedule(availableSchedule);
+    }
+
+    /**
+     * 引数で指定された月の描画内容を返す。
+     * <p>保持していない場合のみ、UIスレッドで生成する。（※生成し直し中の月は、差し替えまで変更前の描画内容を返す。）
+     *
+     * @param monthGrid 月のセル配置
+     * @return 描画内容
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    MonthRenderModel get(MonthGrid monthGrid) {
+        MonthRenderModel model = mModels.get(monthGrid.getYearMonth());
+        if (model == null) {
+            model = build(monthGrid, mCellStateResolver, mVersion, mColorSet);
+            mModels.put(monthGrid.getYearMonth(), model);
+        }
+        return model;
+    }
+
+    /**
+     * 引数で指定された年月の描画内容を、バックグラウンドで生成し直す。
+     * <p>スケジュールは対象の年月の分のみコピーするため、処理量は選択数に依らない。（※保持していない月は、次の描画時に生成する。）
+     *
+     * @param dirtyMonthSet 生成し直す年月
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void refresh(DirtyMonthSet dirtyMonthSet) {
+        if (dirtyMonthSet.isEmpty()) {
+            return;
+        }
+        List<MonthGrid> monthGrids = new ArrayList<>();
+        for (MonthRenderModel model : mModels.values()) {
+            if (dirtyMonthSet.contains(model.getYearMonth())) {
+                monthGrids.add(model.getMonthGrid());
+            }
+        }
+        if (monthGrids.isEmpty()) {
+            return;
+        }
+
+        // バックグラウンドで判定するため、対象の年月の分のみスケジュールのコピーを作る。
+        CellStateResolver cellStateResolver = new CellStateResolver();
+        cellStateResolver.setAvailableSchedule(mAvailableSchedule, dirtyMonthSet);
+        buildInBackground(monthGrids.toArray(new MonthGrid[monthGrids.size()]), cellStateResolver);
+    }
+
+    /**
+     * 保持している全ての月の描画内容を、バックグラウンドで生成し直す。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void refreshAll() {
+        if (mModels.isEmpty()) {
+            return;
+        }
+        MonthGrid[] monthGrids = new MonthGrid[mModels.size()];
+        int count = 0;
+        for (MonthRenderModel model : mModels.values()) {
+            monthGrids[count++] = model.getMonthGrid();
+        }
+
+        // バックグラウンドで判定するため、スケジュールのコピーを作る。
+        CellStateResolver cellStateResolver = new CellStateResolver();
+        cellStateResolver.setAvailableSchedule(mAvailableSchedule);
+        buildInBackground(monthGrids, cellStateResolver);
+    }
+
+    /**
+     * 引数で指定された月の描画内容を、現在のバージョンとしてバックグラウンドで生成し、生成後にUIスレッドで差し替える。
+     *
+     * @param monthGrids 月のセル配置
+     * @param cellStateResolver 描画状態の判定（※スケジュールのコピーを保持し、以降は変更しないもの。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void buildInBackground(final MonthGrid[] monthGrids, final CellStateResolver cellStateResolver) {
+        final int version = ++mVersion;
+        final ColorSet colorSet = mColorSet;
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final MonthRenderModel[] models = new MonthRenderModel[monthGrids.length];
+                for (int i = 0; i < monthGrids.length; i++) {
+                    models[i] = build(monthGrids[i], cellStateResolver, version, colorSet);
+                }
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publish(models);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * バックグラウンドで生成した描画内容に差し替える。（※UIスレッドで実行する。）
+     *
+     * @param models 描画内容
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void publish(MonthRenderModel[] models) {
+        mPublishedMonthSet.clear();
+        for (MonthRenderModel model : models) {
+            // 破棄された場合（次の描画時に最新のスケジュールで生成する）、
+            // 既に新しいスケジュールで生成し直されている場合は差し替えない。
+            MonthRenderModel current = mModels.get(model.getYearMonth());
+            if (current == null || current.getVersion() >= model.getVersion()) {
+                continue;
+            }
+            mModels.put(model.getYearMonth(), model);
+            mPublishedMonthSet.addRange(model.getYearMonth(), model.getYearMonth());
+        }
+
+        if (!mPublishedMonthSet.isEmpty() && mOnModelsPublishedListener != null) {
+            mOnModelsPublishedListener.onModelsPublished(mPublishedMonthSet);
+        }
+    }
+
+    /**
+     * 月の描画内容を生成する。（※バックグラウンドからも呼び出す。）
+     *
+     * @param monthGrid 月のセル配置
+     * @param cellStateResolver 描画状態の判定
+     * @param version スケジュールのバージョン
+     * @param colorSet カレンダー色情報
+     * @return 描画内容
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static MonthRenderModel build(MonthGrid monthGrid, CellStateResolver cellStateResolver, int version, ColorSet colorSet) {
+        int[] cellStates = new int[MonthGrid.CELL_COUNT];
+        int[] textColors = new int[MonthGrid.CELL_COUNT];
+        cellStateResolver.resolveMonth(monthGrid, cellStates);
+        for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; cellIndex++) {
+            textColors[cellIndex] = colorSet.getDayTextColor(cellIndex % MonthGrid.DAYS_OF_WEEK, cellStates[cellIndex]);
+        }
+        return new MonthRenderModel(monthGrid, version, cellStates, textColors);
+    }
+
+    /**
+     * デフォルトの生成スレッドを返す。
+     *
+     * @return 生成スレッド
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static synchronized Executor getDefaultExecutor() {
+        if (sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, MonthRenderModelStore.class.getSimpleName());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sDefaultExecutor;
+    }
+}
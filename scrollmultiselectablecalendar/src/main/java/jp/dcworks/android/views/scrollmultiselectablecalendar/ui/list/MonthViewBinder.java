@@ -0,0 +1,681 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.content.Context;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.R;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.CellState;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.MonthRenderer;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthGrid;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthRenderModel;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.MonthView;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.MonthHeaderFormatter;
+
+/**
+ * 月Viewの生成・描画処理クラス。
+ * <p>{@link MonthListAdapter}、{@link MonthRecyclerAdapter}で共通して利用する。
+ * 月の描画方式（{@link MonthRenderer}）に応じて、レイアウト（{@code inc_month}）または{@link MonthView}を扱う。
+ * セル毎の描画状態を保持し、状態が変わったセルのみ更新する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+class MonthViewBinder implements View.OnClickListener, MonthView.OnDayClickListener {
+
+    /** 週ResourcesID配列 */
+    private static final int[] INCLUDE_WEEK_RESOURCES_ID_ARRAY = {
+            R.id.include_week_1,
+            R.id.include_week_2,
+            R.id.include_week_3,
+            R.id.include_week_4,
+            R.id.include_week_5,
+            R.id.include_week_6,
+    };
+
+    /** 日（１週間）ResourcesID配列 */
+    private static final int[] INCLUDE_DAY_RESOURCES_ID_ARRAY = {
+            R.id.day1,
+            R.id.day2,
+            R.id.day3,
+            R.id.day4,
+            R.id.day5,
+            R.id.day6,
+            R.id.day7,
+    };
+
+    /** 日テキスト配列（※添字を日とする。） */
+    private static final String[] DAY_TEXT_ARRAY = new String[32];
+    static {
+        for (int i = 0; i < DAY_TEXT_ARRAY.length; i++) {
+            DAY_TEXT_ARRAY[i] = String.valueOf(i);
+        }
+    }
+
+    /** 装飾のドット */
+    private static final String DOT_TEXT = "\u25CF";
+
+    /** 装飾（ドット、ラベル）の文字サイズの倍率 */
+    private static final float DECORATION_TEXT_SCALE = 0.65f;
+
+
+    /** コンテキスト */
+    private Context mContext;
+
+    /** LayoutInflater */
+    private LayoutInflater mLayoutInflater;
+
+    /** 月の描画方式 */
+    private MonthRenderer mMonthRenderer = MonthRenderer.VIEWS;
+
+    /** セル毎の描画状態（※{@link MonthView}へ渡すために使いまわす。） */
+    private int[] mCellStateBuffer = new int[MonthGrid.CELL_COUNT];
+
+    /** 年月テキストの書式化 */
+    private MonthHeaderFormatter mMonthHeaderFormatter = MonthHeaderFormatter.of(Locale.JAPAN, MonthHeaderFormatter.JAPANESE_PATTERN);
+
+    /** カレンダー色情報 */
+    private ColorSet mColorSet;
+
+    /** 日セルの背景のキャッシュ（※{@link #createView(ViewGroup)}で初めて必要になった際に生成する。） */
+    private CellBackgroundCache mCellBackgroundCache;
+
+    /** 月の描画内容 */
+    private MonthRenderModelStore mMonthRenderModelStore;
+
+    /** 日セルの装飾 */
+    private DayDecorationStore mDayDecorationStore;
+
+    /** 事前に生成した月Viewのプール（※{@link #warmUpViews(ViewGroup, int)}で初めて必要になった際に生成する。） */
+    private MonthViewPool mMonthViewPool;
+
+    /** 日付クリック時のイベントリスナーのメンバ変数。 */
+    private MonthListAdapter.OnDateClickListener mOnDateClickListener;
+
+
+    /**
+     * コンストラクタ。
+     *
+     * @param context Context
+     * @param colorSet カレンダー色情報
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    MonthViewBinder(Context context, ColorSet colorSet) {
+        mContext = context;
+        mColorSet = colorSet;
+        mLayoutInflater = LayoutInflater.from(context);
+        mMonthRenderModelStore = new MonthRenderModelStore(colorSet);
+        mDayDecorationStore = new DayDecorationStore();
+    }
+
+    /**
+     * 月の描画方式をセットする。
+     *
+     * @param monthRenderer 月の描画方式
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setMonthRenderer(MonthRenderer monthRenderer) {
+        mMonthRenderer = monthRenderer;
+    }
+
+    /**
+     * アイドル時に月Viewを事前に生成する。（※{@link MonthRenderer#VIEWS}の場合のみ）
+     * <p>生成した月Viewは{@link #createView(ViewGroup)}で優先して使用する。
+     *
+     * @param parent 親View（※月リスト）
+     * @param count 生成する数（0の場合、生成を中止する。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void warmUpViews(ViewGroup parent, int count) {
+        if (mMonthViewPool == null) {
+            if (count <= 0 || mMonthRenderer != MonthRenderer.VIEWS) {
+                return;
+            }
+            mMonthViewPool = new MonthViewPool(new MonthViewPool.Factory() {
+                @Override
+                public View inflate(ViewGroup parent) {
+                    return inflateMonthView(parent);
+                }
+            });
+        }
+        mMonthViewPool.warmUp(parent, (mMonthRenderer == MonthRenderer.VIEWS) ? Math.max(count, 0) : 0);
+    }
+
+    /**
+     * 年月テキストの書式化をセットする。
+     *
+     * @param monthHeaderFormatter 年月テキストの書式化
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setMonthHeaderFormatter(MonthHeaderFormatter monthHeaderFormatter) {
+        mMonthHeaderFormatter = monthHeaderFormatter;
+    }
+
+    /**
+     * 日付クリック時のイベントリスナーをセットする。
+     *
+     * @param listener OnDateClickListener
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setOnDateClickListener(MonthListAdapter.OnDateClickListener listener) {
+        mOnDateClickListener = listener;
+    }
+
+    /**
+     * 利用可能スケジュールをセットする。
+     *
+     * @param availableSchedule 利用可能スケジュール
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        mMonthRenderModelStore.setAvailableSchedule(availableSchedule);
+    }
+
+    /**
+     * 日セルの装飾の提供元をセットする。（※取得済みの装飾は破棄する。）
+     *
+     * @param dayDecorationProvider 装飾の提供元（{@code null}の場合、装飾無しとする。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider) {
+        mDayDecorationStore.setDayDecorationProvider(dayDecorationProvider);
+    }
+
+    /**
+     * 取得済みの日セルの装飾を、バックグラウンドで取得し直す。（※取得し直すまでは変更前の装飾で描画する。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void refreshDecorations() {
+        mDayDecorationStore.refreshAll();
+    }
+
+    /**
+     * 描画内容の差し替え時のイベントリスナーをセットする。
+     * <p>日セルの装飾を取得した場合も、取得した年月をこのリスナーに通知する。
+     *
+     * @param listener OnModelsPublishedListener
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void setOnModelsPublishedListener(MonthRenderModelStore.OnModelsPublishedListener listener) {
+        mMonthRenderModelStore.setOnModelsPublishedListener(listener);
+        mDayDecorationStore.setOnDecorationsLoadedListener(listener);
+    }
+
+    /**
+     * 全ての月の描画内容を、バックグラウンドで生成し直す。（※生成し直すまでは変更前の描画内容で描画する。）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void refreshAllModels() {
+        mMonthRenderModelStore.refreshAll();
+    }
+
+    /**
+     * 引数で指定された年月の描画内容を、バックグラウンドで生成し直す。（※生成し直すまでは変更前の描画内容で描画する。）
+     *
+     * @param dirtyMonthSet 生成し直す年月
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void refreshModels(DirtyMonthSet dirtyMonthSet) {
+        mMonthRenderModelStore.refresh(dirtyMonthSet);
+    }
+
+    /**
+     * 月Viewを生成する。
+     *
+     * @param parent 親View
+     * @return 月View（{@code inc_month}、または{@link MonthView}）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    View createView(ViewGroup parent) {
+        if (mMonthRenderer == MonthRenderer.CANVAS) {
+            MonthView monthView = new MonthView(mContext, mColorSet);
+            monthView.setOnDayClickListener(this);
+            return monthView;
+        }
+
+        // 事前に生成した月Viewがあれば使用する。
+        View view = (mMonthViewPool != null) ? mMonthViewPool.poll() : null;
+        if (view == null) {
+            view = this.inflateMonthView(parent);
+        }
+        return view;
+    }
+
+    /**
+     * 月View（{@code inc_month}）を生成する。
+     *
+     * @param parent 親View
+     * @return 月View
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private View inflateMonthView(ViewGroup parent) {
+        View view = mLayoutInflater.inflate(R.layout.inc_month, parent, false);
+        view.setTag(createHolder(view));
+        return view;
+    }
+
+    /**
+     * 月Viewを引数で指定された月の描画に再利用できるかどうかを返す。
+     *
+     * @param view 月View
+     * @param monthGrid 月のセル配置
+     * @return 再利用できる場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    boolean canReuse(View view, MonthGrid monthGrid) {
+        if (view instanceof MonthView) {
+            return mMonthRenderer == MonthRenderer.CANVAS;
+        }
+        // 余った週は非表示にしているだけのため、週数に関わらず使いまわせる。
+        return mMonthRenderer == MonthRenderer.VIEWS && (view.getTag() instanceof Holder);
+    }
+
+    /**
+     * 月Viewが引数で指定された月を描画中かどうかを返す。
+     *
+     * @param view 月View
+     * @param monthGrid 月のセル配置
+     * @return 描画中の場合trueを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    boolean isBound(View view, MonthGrid monthGrid) {
+        if (view instanceof MonthView) {
+            MonthGrid boundMonthGrid = ((MonthView) view).getMonthGrid();
+            return boundMonthGrid != null && boundMonthGrid.getYearMonth() == monthGrid.getYearMonth();
+        }
+        return ((Holder) view.getTag()).yearMonth == monthGrid.getYearMonth();
+    }
+
+    /**
+     * 月を描画する。
+     * <p>前回と同じ月の場合、描画状態が変わったセルのみ更新する。
+     *
+     * @param view 月View（※{@link #canReuse(View, MonthGrid)}がtrueであること。）
+     * @param monthGrid 表示する月のセル配置
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void bind(View view, MonthGrid monthGrid) {
+        // 年月テキストはキャッシュから取得する。
+        CharSequence headerText = mMonthHeaderFormatter.format(monthGrid.getYearMonth());
+        boolean isBound = isBound(view, monthGrid);
+
+        if (view instanceof MonthView) {
+            MonthView monthView = (MonthView) view;
+            if (!isBound) {
+                monthView.setMonth(monthGrid, headerText);
+            } else if (monthView.getHeaderText() != headerText) {
+                monthView.setHeaderText(headerText);
+            }
+        } else {
+            Holder holder = (Holder) view.getTag();
+
+            // 年月をセット（※書式が変わった場合も含む。）
+            if (!isBound || holder.headerText != headerText) {
+                holder.monthTextView.setText(headerText);
+                holder.monthTextView.setTextColor(mColorSet.monthTextColor);
+                holder.headerText = headerText;
+            }
+            if (!isBound) {
+                this.setHolderWeekView(monthGrid, holder);
+            }
+        }
+        this.bindCellStates(view, monthGrid);
+
+        // 新しく描画した月の場合、スクロール方向の先の月の装飾を先読みする。（※描画中の月の取得を優先する。）
+        if (!isBound) {
+            mDayDecorationStore.onMonthBound(monthGrid.getYearMonth());
+        }
+    }
+
+    /**
+     * 日の描画状態、装飾をセットする。（※前回から描画状態、装飾が変わったセルのみ更新する。）
+     * <p>描画状態は{@link MonthRenderModelStore}で生成済みの内容をコピーする。
+     * 装飾は{@link DayDecorationStore}で取得済みの内容を使用する。（※取得前は装飾無しで描画する。）
+     *
+     * @param view 月View（※{@link #isBound(View, MonthGrid)}がtrueであること。）
+     * @param monthGrid 表示する月のセル配置
+     * @return 描画状態を更新したセル数を返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    int bindCellStates(View view, MonthGrid monthGrid) {
+        MonthRenderModel model = mMonthRenderModelStore.get(monthGrid);
+        MonthDecoration decoration = mDayDecorationStore.get(monthGrid.getYearMonth());
+        if (view instanceof MonthView) {
+            MonthView monthView = (MonthView) view;
+            monthView.setDecoration(decoration);
+            model.copyCellStates(mCellStateBuffer);
+            return monthView.setCellStates(mCellStateBuffer);
+        }
+        Holder holder = (Holder) view.getTag();
+        this.bindHolderDecoration(monthGrid, decoration, holder);
+        return this.bindHolderCellStates(model, holder);
+    }
+
+    /**
+     * Holderを生成する。
+     *
+     * @param view 月View（{@code inc_month}）
+     * @return Holderを返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private Holder createHolder(View view) {
+
+        // 背景は一度だけ生成し、以降は使いまわす。
+        if (mCellBackgroundCache == null) {
+            mCellBackgroundCache = new CellBackgroundCache(mContext, mColorSet);
+        }
+
+        Holder holder = new Holder();
+        // 年月テキスト
+        holder.monthTextView = (TextView) view.findViewById(R.id.month_text_view);
+        // 各週
+        int cellIndex = 0;
+        for (int weekResId : INCLUDE_WEEK_RESOURCES_ID_ARRAY) {
+            Holder.WeekViewSet weekViewSet = new Holder.WeekViewSet();
+            weekViewSet.weekView = view.findViewById(weekResId);
+
+            for (int dayResId : INCLUDE_DAY_RESOURCES_ID_ARRAY) {
+                TextView dayTextView = (TextView) weekViewSet.weekView.findViewById(dayResId);
+
+                // クリック時に日付を求めるため、セル番号を持たせる。
+                dayTextView.setTag(new Holder.DayCell(holder, cellIndex++));
+                weekViewSet.dayTextViewList.add(dayTextView);
+            }
+
+            holder.weekViewSetList.add(weekViewSet);
+        }
+        return holder;
+    }
+
+    /**
+     * 日のセル配置をセットする。（※描画状態は{@link #bindHolderCellStates(MonthRenderModel, Holder)}でセットする。）
+     *
+     * @param monthGrid 表示する月のセル配置
+     * @param holder Holder（※この参照に対して操作を行う。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void setHolderWeekView(MonthGrid monthGrid, Holder holder) {
+
+        // ある月が何週あるか（週の数）
+        int weekOfMonth = monthGrid.getWeekCount();
+
+        // 週
+        for (int i = 0; i < MonthGrid.MAX_WEEKS; i++) {
+            Holder.WeekViewSet weekViewSet = holder.weekViewSetList.get(i);
+            View weekView = weekViewSet.weekView;
+
+            // 余った週は非表示にする。（※Viewから削除すると、週数の多い月に使いまわせなくなる。）
+            if (weekOfMonth < (i + 1)) {
+                if (weekView.getVisibility() != View.GONE) {
+                    weekView.setVisibility(View.GONE);
+                }
+                continue;
+            }
+            if (weekView.getVisibility() != View.VISIBLE) {
+                weekView.setVisibility(View.VISIBLE);
+            }
+
+            // 日
+            for (int j = 0; j < MonthGrid.DAYS_OF_WEEK; j++) {
+                TextView dayTextView = weekViewSet.dayTextViewList.get(j);
+                int day = monthGrid.getDayOfMonth(i * MonthGrid.DAYS_OF_WEEK + j);
+
+                // 1日未満の日、余った日はViewを非表示にする。
+                if (day == 0) {
+                    dayTextView.setVisibility(View.INVISIBLE);
+                    dayTextView.setOnClickListener(null);
+                    continue;
+                }
+
+                // 日付をセットする。
+                dayTextView.setVisibility(View.VISIBLE);
+                dayTextView.setText(DAY_TEXT_ARRAY[day]);
+            }
+        }
+
+        holder.yearMonth = monthGrid.getYearMonth();
+        for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; cellIndex++) {
+            holder.cellEpochDays[cellIndex] = monthGrid.getEpochDay(cellIndex);
+        }
+        Arrays.fill(holder.cellStates, CellState.UNKNOWN);
+        holder.decoration = null;
+    }
+
+    /**
+     * 日の装飾をセットする。（※前回から装飾が変わったセルのみ日付テキストを更新する。）
+     *
+     * @param monthGrid 表示する月のセル配置
+     * @param decoration 表示する月の装飾（無い場合{@code null}）
+     * @param holder Holder（※この参照に対して操作を行う。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private void bindHolderDecoration(MonthGrid monthGrid, MonthDecoration decoration, Holder holder) {
+        MonthDecoration previous = holder.decoration;
+        if (previous == decoration) {
+            return;
+        }
+
+        int cellCount = monthGrid.getWeekCount() * MonthGrid.DAYS_OF_WEEK;
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            int day = monthGrid.getDayOfMonth(cellIndex);
+            if (day == 0) {
+                continue;
+            }
+            DayDecoration dayDecoration = (decoration != null) ? decoration.get(day) : null;
+            if (dayDecoration == ((previous != null) ? previous.get(day) : null)) {
+                continue;
+            }
+
+            TextView dayTextView = holder.weekViewSetList.get(cellIndex / MonthGrid.DAYS_OF_WEEK)
+                    .dayTextViewList.get(cellIndex % MonthGrid.DAYS_OF_WEEK);
+            dayTextView.setText((dayDecoration != null) ? decorateDayText(day, dayDecoration) : DAY_TEXT_ARRAY[day]);
+        }
+        holder.decoration = decoration;
+    }
+
+    /**
+     * 装飾付きの日付テキストを返す。（※日付の下の行に、ドットとラベルを小さい文字で表示する。）
+     *
+     * @param day 日
+     * @param dayDecoration 日の装飾
+     * @return 日付テキスト
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static CharSequence decorateDayText(int day, DayDecoration dayDecoration) {
+        CharSequence label = dayDecoration.getLabel();
+        if (!dayDecoration.hasDot() && label == null) {
+            return DAY_TEXT_ARRAY[day];
+        }
+
+        SpannableStringBuilder builder = new SpannableStringBuilder(DAY_TEXT_ARRAY[day]);
+        builder.append('\n');
+        int start = builder.length();
+        if (dayDecoration.hasDot()) {
+            builder.append(DOT_TEXT);
+            builder.setSpan(new ForegroundColorSpan(dayDecoration.getDotColor()), start, builder.length(),
+                    Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+        if (label != null) {
+            builder.append(label);
+        }
+        builder.setSpan(new RelativeSizeSpan(DECORATION_TEXT_SCALE), start, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        return builder;
+    }
+
+    /**
+     * 日の描画状態をセットする。（※前回から描画状態が変わったセルのみ更新する。）
+     *
+     * @param model 表示する月の描画内容
+     * @param holder Holder（※この参照に対して操作を行う。）
+     * @return 更新したセル数を返す。
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private int bindHolderCellStates(MonthRenderModel model, Holder holder) {
+        int cellCount = model.getMonthGrid().getWeekCount() * MonthGrid.DAYS_OF_WEEK;
+        int changed = 0;
+
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            int state = model.getCellState(cellIndex);
+            if (state == CellState.UNKNOWN || state == holder.cellStates[cellIndex]) {
+                continue;
+            }
+            int column = cellIndex % MonthGrid.DAYS_OF_WEEK;
+            TextView dayTextView = holder.weekViewSetList.get(cellIndex / MonthGrid.DAYS_OF_WEEK).dayTextViewList.get(column);
+
+            dayTextView.setBackground(mCellBackgroundCache.newDrawable(state));
+            dayTextView.setTextColor(model.getTextColor(cellIndex));
+
+            // クリックイベントをセットする。
+            dayTextView.setOnClickListener(CellState.isSelectable(state) ? this : null);
+
+            holder.cellStates[cellIndex] = state;
+            changed++;
+        }
+        return changed;
+    }
+
+    @Override
+    public void onClick(View view) {
+        // セルに持たせたセル番号から日付を求める。（※ヘッダーの年月テキストは参照しない。）
+        Holder.DayCell dayCell = (Holder.DayCell) view.getTag();
+        int epochDay = dayCell.holder.cellEpochDays[dayCell.cellIndex];
+        if (epochDay == EpochDays.NONE) {
+            return;
+        }
+
+        // リスナーがセットされている場合、クリック時のイベントを通知する。
+        if (mOnDateClickListener != null) {
+            mOnDateClickListener.onDateClick(view, epochDay);
+        }
+    }
+
+    @Override
+    public void onDayClick(MonthView view, int epochDay) {
+        // リスナーがセットされている場合、クリック時のイベントを通知する。
+        if (mOnDateClickListener != null) {
+            mOnDateClickListener.onDateClick(view, epochDay);
+        }
+    }
+
+    /**
+     * Holderクラス。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    static class Holder {
+
+        /** 年月 */
+        TextView monthTextView;
+        /** 描画中の年月テキスト */
+        CharSequence headerText;
+        /** 各週 */
+        List<WeekViewSet> weekViewSetList = new ArrayList<>();
+
+        /** 描画中の年月キー */
+        int yearMonth = Integer.MIN_VALUE;
+        /** 描画中の装飾 */
+        MonthDecoration decoration;
+        /** 描画中のセル毎の描画状態 */
+        int[] cellStates = new int[MonthGrid.CELL_COUNT];
+        /** 描画中のセル毎のエポック日 */
+        int[] cellEpochDays = new int[MonthGrid.CELL_COUNT];
+
+        /**
+         * 日セルのタグ。（※クリック時に日付を求めるために利用する。）
+         *
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        static class DayCell {
+            /** 日セルを含む月のHolder */
+            final Holder holder;
+            /** セル番号 */
+            final int cellIndex;
+
+            /**
+             * コンストラクタ。
+             *
+             * @param holder 日セルを含む月のHolder
+             * @param cellIndex セル番号
+             * @author tomo-sato
+             * @since 1.0.0
+             */
+            DayCell(Holder holder, int cellIndex) {
+                this.holder = holder;
+                this.cellIndex = cellIndex;
+            }
+        }
+
+        /**
+         * 1週間のView情報を保持するクラス。
+         *
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        static class WeekViewSet {
+            /** 週 */
+            View weekView;
+            /** 1週間の日リスト */
+            List<TextView> dayTextViewList = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayDeque;
+
+/**
+ * 事前に生成した月Viewのプール。
+ * <p>メインスレッドのアイドル時（{@link MessageQueue.IdleHandler}）に1件ずつ生成し、
+ * 初回スクロール時のレイアウトの生成を省く。
+ * 取り出した分は補充しない。（※2回目以降のスクロールはリストの再利用で足りるため。）
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+class MonthViewPool implements MessageQueue.IdleHandler {
+
+    /**
+     * 月Viewの生成処理。
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    interface Factory {
+
+        /**
+         * 月Viewを生成する。
+         *
+         * @param parent 親View
+         * @return 月View
+         * @author tomo-sato
+         * @since 1.0.0
+         */
+        View inflate(ViewGroup parent);
+    }
+
+    /** 月Viewの生成処理 */
+    private final Factory mFactory;
+
+    /** 生成済みの月View */
+    private final ArrayDeque<View> mViews = new ArrayDeque<>();
+
+    /** 親View（※レイアウトパラメータの生成に使用する。） */
+    private ViewGroup mParent;
+
+    /** 残りの生成数 */
+    private int mRemainingCount;
+
+    /** アイドル時の処理を登録済みかどうか */
+    private boolean mIsRegistered;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param factory 月Viewの生成処理
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    MonthViewPool(Factory factory) {
+        mFactory = factory;
+    }
+
+    /**
+     * 引数で指定された数になるまで、アイドル時に月Viewを生成する。
+     * <p>0を指定した場合、生成を中止し、生成済みの月Viewも破棄する。
+     *
+     * @param parent 親View
+     * @param count プールする数
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    void warmUp(ViewGroup parent, int count) {
+        mParent = parent;
+        while (mViews.size() > count) {
+            mViews.pollLast();
+        }
+        mRemainingCount = count - mViews.size();
+
+        if (mRemainingCount > 0 && !mIsRegistered) {
+            Looper.myQueue().addIdleHandler(this);
+            mIsRegistered = true;
+        } else if (mRemainingCount == 0 && mIsRegistered) {
+            Looper.myQueue().removeIdleHandler(this);
+            mIsRegistered = false;
+        }
+    }
+
+    /**
+     * 生成済みの月Viewを取り出す。
+     *
+     * @return 月View（※無い場合は{@code null}を返す。）
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    View poll() {
+        return mViews.pollFirst();
+    }
+
+    @Override
+    public boolean queueIdle() {
+        // 1回のアイドルで1件のみ生成し、フレームを跨いで少しずつ生成する。
+        if (mRemainingCount > 0) {
+            mViews.addLast(mFactory.inflate(mParent));
+            mRemainingCount--;
+        }
+        mIsRegistered = mRemainingCount > 0;
+        return mIsRegistered;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SimpleItemAnimator;
+import android.view.View;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.R;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.MonthRenderer;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthSource;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.CalendarMetricsListener;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.MonthHeaderFormatter;
+
+/**
+ * {@link RecyclerView}と{@link MonthRecyclerAdapter}による月リスト。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+public class RecyclerViewBackend implements MonthListBackend {
+
+    /** 月リスト */
+    private RecyclerView mRecyclerView;
+
+    /** 月リストアダプター */
+    private MonthRecyclerAdapter mMonthRecyclerAdapter;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param context Context
+     * @param colorSet カレンダー色情報
+     * @param monthRenderer 月の描画方式
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public RecyclerViewBackend(Context context, ColorSet colorSet, MonthRenderer monthRenderer) {
+        mRecyclerView = new RecyclerView(context);
+        mRecyclerView.setId(R.id.month_list);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(context));
+
+        // 部分描画時にクロスフェードさせない。
+        RecyclerView.ItemAnimator itemAnimator = mRecyclerView.getItemAnimator();
+        if (itemAnimator instanceof SimpleItemAnimator) {
+            ((SimpleItemAnimator) itemAnimator).setSupportsChangeAnimations(false);
+        }
+
+        mMonthRecyclerAdapter = new MonthRecyclerAdapter(context, colorSet);
+        mMonthRecyclerAdapter.setMonthRenderer(monthRenderer);
+        mRecyclerView.setAdapter(mMonthRecyclerAdapter);
+    }
+
+    /**
+     * 月リストアダプターを返す。
+     *
+     * @return 月リストアダプター
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    public MonthRecyclerAdapter getAdapter() {
+        return mMonthRecyclerAdapter;
+    }
+
+    @Override
+    public View getView() {
+        return mRecyclerView;
+    }
+
+    @Override
+    public void setMonthSource(MonthSource monthSource) {
+        mMonthRecyclerAdapter.setMonthSource(monthSource);
+    }
+
+    @Override
+    public void scrollToPosition(int position) {
+        mRecyclerView.scrollToPosition(position);
+    }
+
+    @Override
+    public void setMonthHeaderFormatter(MonthHeaderFormatter monthHeaderFormatter) {
+        mMonthRecyclerAdapter.setMonthHeaderFormatter(monthHeaderFormatter);
+    }
+
+    @Override
+    public void setAvailableSchedule(AvailableSchedule availableSchedule) {
+        mMonthRecyclerAdapter.setAvailableSchedule(availableSchedule);
+    }
+
+    @Override
+    public void notifyAllMonthsChanged() {
+        mMonthRecyclerAdapter.notifyAllCellStatesChanged();
+    }
+
+    @Override
+    public void notifyMonthsChanged(DirtyMonthSet dirtyMonthSet) {
+        mMonthRecyclerAdapter.notifyMonthsChanged(dirtyMonthSet);
+    }
+
+    @Override
+    public void setOnDateClickListener(MonthListAdapter.OnDateClickListener listener) {
+        mMonthRecyclerAdapter.setOnDateClickListener(listener);
+    }
+
+    @Override
+    public void setCalendarMetricsListener(CalendarMetricsListener listener) {
+        mMonthRecyclerAdapter.setCalendarMetricsListener(listener);
+    }
+
+    @Override
+    public void warmUpMonthViews(int count) {
+        mMonthRecyclerAdapter.warmUpViews(mRecyclerView, count);
+    }
+
+    @Override
+    public void setDayDecorationProvider(DayDecorationProvider dayDecorationProvider) {
+        mMonthRecyclerAdapter.setDayDecorationProvider(dayDecorationProvider);
+    }
+
+    @Override
+    public void refreshDayDecorations() {
+        mMonthRecyclerAdapter.refreshDayDecorations();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.BuildConfig;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.DayDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthDecoration;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.ui.DayDecorationProvider;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.DirtyMonthSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link DayDecorationStore}のテストクラス。
+ * <p>メモリ上の提供元と、実行を任意のタイミングで行う取得スレッドで、取得・先読み・破棄を確認する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class DayDecorationStoreTest {
+
+    private static final int JAN = EpochDays.yearMonthOf(2017, 1);
+    private static final int FEB = EpochDays.yearMonthOf(2017, 2);
+
+    private QueuedExecutor mExecutor;
+    private InMemoryDayDecorationProvider mProvider;
+    private List<Integer> mLoadedYearMonths;
+    private DayDecorationStore mStore;
+
+    @Before
+    public void setUp() throws Exception {
+        mExecutor = new QueuedExecutor();
+        mProvider = new InMemoryDayDecorationProvider();
+        mLoadedYearMonths = new ArrayList<>();
+
+        mStore = new DayDecorationStore();
+        mStore.setExecutor(mExecutor);
+        mStore.setOnDecorationsLoadedListener(new MonthRenderModelStore.OnModelsPublishedListener() {
+            @Override
+            public void onModelsPublished(DirtyMonthSet dirtyMonthSet) {
+                for (int i = 0; i < dirtyMonthSet.getRangeCount(); i++) {
+                    for (int yearMonth = dirtyMonthSet.getFromYearMonth(i); yearMonth <= dirtyMonthSet.getToYearMonth(i); yearMonth++) {
+                        mLoadedYearMonths.add(yearMonth);
+                    }
+                }
+            }
+        });
+        mStore.setDayDecorationProvider(mProvider);
+    }
+
+    @Test
+    public void get_loadsOnceAndNotifiesOnlyLoadedMonth() throws Exception {
+        assertNull(mStore.get(JAN));
+        assertNull(mStore.get(JAN));
+        mExecutor.runAll();
+
+        MonthDecoration decoration = mStore.get(JAN);
+        assertNotNull(decoration);
+        assertEquals("1/15", decoration.get(15).getLabel());
+        assertNull(decoration.get(16));
+        assertEquals(1, (int) mProvider.loadCounts.get(JAN));
+        assertEquals(1, mLoadedYearMonths.size());
+        assertEquals(JAN, (int) mLoadedYearMonths.get(0));
+    }
+
+    @Test
+    public void onMonthBound_prefetchesInScrollDirection() throws Exception {
+        mStore.onMonthBound(JAN);
+        assertTrue(mExecutor.isEmpty());
+
+        // 後の月へスクロール
+        mStore.onMonthBound(FEB);
+        mExecutor.runAll();
+        assertTrue(mProvider.loadCounts.containsKey(FEB + 1));
+        assertTrue(mProvider.loadCounts.containsKey(FEB + 2));
+        assertFalse(mProvider.loadCounts.containsKey(JAN - 1));
+
+        // 前の月へスクロール
+        mStore.onMonthBound(JAN);
+        mExecutor.runAll();
+        assertTrue(mProvider.loadCounts.containsKey(JAN - 1));
+        assertTrue(mProvider.loadCounts.containsKey(JAN - 2));
+
+        // 取得済みの月は取得し直さない。
+        mStore.onMonthBound(FEB);
+        mExecutor.runAll();
+        assertEquals(1, (int) mProvider.loadCounts.get(FEB + 1));
+    }
+
+    @Test
+    public void setDayDecorationProvider_discardsLoadingResult() throws Exception {
+        assertNull(mStore.get(JAN));
+        mStore.setDayDecorationProvider(new InMemoryDayDecorationProvider());
+        mExecutor.runAll();
+
+        // 変更前の提供元の結果は破棄し、通知もしない。
+        assertTrue(mLoadedYearMonths.isEmpty());
+        assertNull(mStore.get(JAN));
+        mExecutor.runAll();
+        assertNotNull(mStore.get(JAN));
+    }
+
+    @Test
+    public void refreshAll_keepsDecorationUntilReloaded() throws Exception {
+        mStore.get(JAN);
+        mExecutor.runAll();
+        MonthDecoration decoration = mStore.get(JAN);
+
+        mStore.refreshAll();
+        assertSame(decoration, mStore.get(JAN));
+        mExecutor.runAll();
+
+        assertNotNull(mStore.get(JAN));
+        assertTrue(decoration != mStore.get(JAN));
+        assertEquals(2, (int) mProvider.loadCounts.get(JAN));
+    }
+
+    @Test
+    public void refreshAll_reloadsLoadingMonth() throws Exception {
+        assertNull(mStore.get(JAN));
+        mStore.refreshAll();
+        mExecutor.runAll();
+
+        // 取得中だった月は、変更前の結果を破棄して取得し直す。
+        assertNotNull(mStore.get(JAN));
+        assertEquals(2, (int) mProvider.loadCounts.get(JAN));
+        assertEquals(1, mLoadedYearMonths.size());
+        assertEquals(JAN, (int) mLoadedYearMonths.get(0));
+    }
+
+    @Test
+    public void get_reloadsAfterLoadFailure() throws Exception {
+        mProvider.failCount = 1;
+        assertNull(mStore.get(JAN));
+        mExecutor.runAll();
+
+        // 失敗した月は保持も通知もせず、次回の取得時に取得し直す。
+        assertTrue(mLoadedYearMonths.isEmpty());
+        assertNull(mStore.get(JAN));
+        mExecutor.runAll();
+
+        assertNotNull(mStore.get(JAN));
+        assertEquals(2, (int) mProvider.loadCounts.get(JAN));
+        assertEquals(1, mLoadedYearMonths.size());
+    }
+
+    /**
+     * メモリ上の装飾の提供元。（※各月の15日にラベルを付ける。）
+     */
+    private static class InMemoryDayDecorationProvider implements DayDecorationProvider {
+
+        /** 年月キー毎の取得回数 */
+        final Map<Integer, Integer> loadCounts = new HashMap<>();
+
+        /** 取得に失敗させる残り回数 */
+        int failCount;
+
+        @Override
+        public DayDecoration[] loadDecorations(int year, int month) {
+            int yearMonth = EpochDays.yearMonthOf(year, month);
+            Integer count = loadCounts.get(yearMonth);
+            loadCounts.put(yearMonth, (count != null) ? count + 1 : 1);
+            if (failCount > 0) {
+                failCount--;
+                throw new IllegalStateException("load failed");
+            }
+
+            DayDecoration[] decorations = new DayDecoration[EpochDays.lengthOfMonth(yearMonth)];
+            decorations[14] = new DayDecoration(month + "/15", 0xFFFF0000);
+            return decorations;
+        }
+    }
+
+    /**
+     * {@link #runAll()}を呼び出すまで実行しない取得スレッド。
+     */
+    private static class QueuedExecutor implements Executor {
+
+        /** 実行待ちの処理 */
+        private final Deque<Runnable> mQueue = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            mQueue.add(command);
+        }
+
+        /**
+         * 実行待ちが無いかどうかを返す。
+         *
+         * @return 実行待ちが無い場合trueを返す。
+         */
+        boolean isEmpty() {
+            return mQueue.isEmpty();
+        }
+
+        /**
+         * 実行待ちの処理を全て実行し、UIスレッドへの通知も実行する。
+         */
+        void runAll() {
+            while (!mQueue.isEmpty()) {
+                mQueue.poll().run();
+            }
+            ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2017 tomo-sato
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.dcworks.android.views.scrollmultiselectablecalendar.ui.list;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ListView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import jp.dcworks.android.views.scrollmultiselectablecalendar.BuildConfig;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.consts.MonthRenderer;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.AvailableSchedule;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.ColorSet;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.entity.MonthRange;
+import jp.dcworks.android.views.scrollmultiselectablecalendar.util.EpochDays;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link MonthListAdapter#getView(int, View, ViewGroup)}の生成・再描画の計測。
+ * <p>ListViewの再利用（スクラップ）を模したスクロールのシナリオ毎に、以下を計測する。
+ * <ul>
+ *     <li>{@code inflations}：Viewの生成回数</li>
+ *     <li>{@code rebinds}：Viewを再利用した描画回数</li>
+ *     <li>{@code nanosPerBind}：1回の描画時間（ナノ秒）</li>
+ *     <li>{@code bytesPerBind}：1回の描画のメモリ確保量（バイト。※計測できないJVMでは-1）</li>
+ * </ul>
+ * 計測結果は{@code build/reports/bind-harness/results.properties}に出力し、
+ * {@code bind-harness-baseline.properties}の値を超えた場合は失敗とする。
+ * {@code inflations}、{@code rebinds}、{@code bytesPerBind}は基準値を必須とし、{@code nanosPerBind}は記載のある場合のみ比較する。
+ *
+ * @author tomo-sato
+ * @since 1.0.0
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class MonthListAdapterBindHarnessTest {
+
+    /** 基準値のリソース名 */
+    private static final String BASELINE_RESOURCE = "bind-harness-baseline.properties";
+
+    /** 計測結果の出力先 */
+    private static final File RESULT_FILE = new File("build/reports/bind-harness/results.properties");
+
+    /** 描画時間の許容倍率（※環境による揺らぎを考慮する。） */
+    private static final double TIME_TOLERANCE = Double.parseDouble(System.getProperty("bindHarness.timeTolerance", "2.0"));
+
+    /** メモリ確保量の許容倍率 */
+    private static final double BYTES_TOLERANCE = 1.2;
+
+    /** 表示される行数 */
+    private static final int VISIBLE_ROWS = 3;
+
+    /** 表示する月数（2017年1月〜2021年12月） */
+    private static final int MONTHS = 60;
+
+    /**
+     * スクロールのシナリオ。（※先頭に表示される位置の並び）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private enum Scenario {
+        /** 1行ずつ末尾まで */
+        FORWARD(range(0, MONTHS - VISIBLE_ROWS)),
+        /** 1行ずつ末尾まで進み、先頭まで戻る */
+        BACK_AND_FORTH(concat(range(0, MONTHS - VISIBLE_ROWS), range(MONTHS - VISIBLE_ROWS, 0))),
+        /** 表示範囲外への移動 */
+        JUMP(new int[]{0, 12, 24, 36, 48, 0, 30, 6});
+
+        /** 先頭に表示される位置の並び */
+        final int[] firstPositions;
+
+        Scenario(int[] firstPositions) {
+            this.firstPositions = firstPositions;
+        }
+    }
+
+    @Test
+    public void bindMetrics_doNotRegress() throws Exception {
+        Properties baseline = loadBaseline();
+        Properties results = new Properties();
+        List<String> regressions = new ArrayList<>();
+
+        for (MonthRenderer monthRenderer : MonthRenderer.values()) {
+            for (Scenario scenario : Scenario.values()) {
+                for (boolean recycle : new boolean[]{true, false}) {
+                    String key = monthRenderer.name().toLowerCase(Locale.US) + "."
+                            + scenario.name().toLowerCase(Locale.US) + "."
+                            + (recycle ? "recycle" : "noRecycle");
+
+                    // 初回のクラスロード、JITの影響を除くため、一度空回しする。
+                    run(monthRenderer, scenario, recycle);
+                    ScrollDriver driver = run(monthRenderer, scenario, recycle);
+
+                    results.setProperty(key + ".inflations", String.valueOf(driver.inflations));
+                    results.setProperty(key + ".rebinds", String.valueOf(driver.binds - driver.inflations));
+                    results.setProperty(key + ".nanosPerBind", String.valueOf(driver.getNanosPerBind()));
+                    results.setProperty(key + ".bytesPerBind", String.valueOf(driver.getBytesPerBind()));
+
+                    check(regressions, baseline, key + ".inflations", driver.inflations, 1.0, true);
+                    check(regressions, baseline, key + ".rebinds", driver.binds - driver.inflations, 1.0, true);
+                    check(regressions, baseline, key + ".nanosPerBind", driver.getNanosPerBind(), TIME_TOLERANCE, false);
+                    if (driver.getBytesPerBind() >= 0) {
+                        check(regressions, baseline, key + ".bytesPerBind", driver.getBytesPerBind(), BYTES_TOLERANCE, true);
+                    }
+                }
+            }
+        }
+
+        writeResults(results);
+        assertTrue("Bind regressions against " + BASELINE_RESOURCE + ":\n" + join(regressions), regressions.isEmpty());
+    }
+
+    /**
+     * シナリオを実行する。
+     *
+     * @param monthRenderer 月の描画方式
+     * @param scenario シナリオ
+     * @param recycle 再利用する場合true
+     * @return 実行後のスクロール
+     */
+    private static ScrollDriver run(MonthRenderer monthRenderer, Scenario scenario, boolean recycle) {
+        MonthListAdapter adapter = new MonthListAdapter(RuntimeEnvironment.application,
+                new ColorSet(RuntimeEnvironment.application));
+        adapter.setMonthRenderer(monthRenderer);
+        adapter.setMonthSource(MonthRange.of(
+                EpochDays.toCalendar(EpochDays.of(2017, 1, 1)), EpochDays.toCalendar(EpochDays.of(2021, 12, 1))));
+        adapter.setAvailableSchedule(newSchedule());
+
+        ScrollDriver driver = new ScrollDriver(adapter, new ListView(RuntimeEnvironment.application), recycle);
+        for (int firstPosition : scenario.firstPositions) {
+            driver.scrollTo(firstPosition);
+        }
+        return driver;
+    }
+
+    /**
+     * 計測用のスケジュールを生成する。（※選択可能範囲、個別選択、範囲選択を含む。）
+     *
+     * @return 利用可能スケジュール
+     */
+    private static AvailableSchedule newSchedule() {
+        AvailableSchedule availableSchedule = new AvailableSchedule();
+        availableSchedule.selectableFromCalendar = EpochDays.toCalendar(EpochDays.of(2017, 3, 1));
+        availableSchedule.selectableToCalendar = EpochDays.toCalendar(EpochDays.of(2020, 12, 31));
+        availableSchedule.selectedFromCalendar = EpochDays.toCalendar(EpochDays.of(2018, 1, 20));
+        availableSchedule.selectedToCalendar = EpochDays.toCalendar(EpochDays.of(2018, 3, 10));
+        for (int epochDay = EpochDays.of(2017, 1, 1); epochDay < EpochDays.of(2022, 1, 1); epochDay += 5) {
+            availableSchedule.getSelectedDayIndex().add(epochDay);
+        }
+        return availableSchedule;
+    }
+
+    /**
+     * 基準値と比較し、超えた場合は一覧に追加する。（※必須の基準値が無い場合も一覧に追加する。）
+     */
+    private static void check(List<String> regressions, Properties baseline, String key, long actual, double tolerance,
+                              boolean required) {
+        String value = baseline.getProperty(key);
+        if (value == null) {
+            if (required) {
+                regressions.add(String.format(Locale.US, "%s: %d (no baseline)", key, actual));
+            }
+            return;
+        }
+        long expected = Long.parseLong(value.trim());
+        if (actual > expected * tolerance) {
+            regressions.add(String.format(Locale.US, "%s: %d > %d (x%.1f)", key, actual, expected, tolerance));
+        }
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        InputStream in = MonthListAdapterBindHarnessTest.class.getClassLoader().getResourceAsStream(BASELINE_RESOURCE);
+        if (in != null) {
+            try {
+                baseline.load(in);
+            } finally {
+                in.close();
+            }
+        }
+        return baseline;
+    }
+
+    private static void writeResults(Properties results) throws IOException {
+        File dir = RESULT_FILE.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        OutputStream out = new FileOutputStream(RESULT_FILE);
+        try {
+            results.store(out, "MonthListAdapter bind harness (copy into src/test/resources/" + BASELINE_RESOURCE + " to update the baseline)");
+        } finally {
+            out.close();
+        }
+    }
+
+    private static int[] range(int from, int to) {
+        int step = (from <= to) ? 1 : -1;
+        int[] values = new int[Math.abs(to - from) + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] values = new int[first.length + second.length];
+        System.arraycopy(first, 0, values, 0, first.length);
+        System.arraycopy(second, 0, values, first.length, second.length);
+        return values;
+    }
+
+    private static String join(List<String> lines) {
+        StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.append("  ").append(line).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * ListViewの再利用を模したスクロール。
+     * <p>表示範囲外になった行はスクラップに入れ、新たに表示される行の{@code convertView}としてスクラップの末尾から渡す。
+     * {@code getView}が別のViewを返した場合、渡したViewはスクラップに戻す。（※{@code AbsListView#obtainView}と同じ）
+     *
+     * @author tomo-sato
+     * @since 1.0.0
+     */
+    private static final class ScrollDriver {
+
+        /** 計測対象のアダプタ */
+        private final MonthListAdapter mAdapter;
+        /** 親View */
+        private final ViewGroup mParent;
+        /** 再利用する場合true */
+        private final boolean mRecycle;
+        /** 表示中の行（位置、View） */
+        private final Map<Integer, View> mActiveViews = new HashMap<>();
+        /** スクラップ */
+        private final Deque<View> mScrapViews = new ArrayDeque<>();
+        /** メモリ確保量の計測（※計測できない場合null） */
+        private final com.sun.management.ThreadMXBean mThreadMXBean;
+
+        /** 描画回数 */
+        int binds;
+        /** 生成回数 */
+        int inflations;
+        /** 描画時間の合計（ナノ秒） */
+        private long mNanos;
+        /** メモリ確保量の合計（バイト） */
+        private long mBytes;
+
+        ScrollDriver(MonthListAdapter adapter, ViewGroup parent, boolean recycle) {
+            mAdapter = adapter;
+            mParent = parent;
+            mRecycle = recycle;
+
+            java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+                mThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+                mThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+            } else {
+                mThreadMXBean = null;
+            }
+        }
+
+        void scrollTo(int firstPosition) {
+            int lastPosition = firstPosition + VISIBLE_ROWS - 1;
+
+            // 表示範囲外になった行をスクラップに入れる。
+            Iterator<Map.Entry<Integer, View>> iterator = mActiveViews.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, View> entry = iterator.next();
+                if (entry.getKey() < firstPosition || lastPosition < entry.getKey()) {
+                    mScrapViews.addLast(entry.getValue());
+                    iterator.remove();
+                }
+            }
+
+            for (int position = firstPosition; position <= lastPosition; position++) {
+                if (!mActiveViews.containsKey(position)) {
+                    mActiveViews.put(position, obtainView(position));
+                }
+            }
+        }
+
+        private View obtainView(int position) {
+            View scrapView = mRecycle ? mScrapViews.pollLast() : null;
+
+            long threadId = Thread.currentThread().getId();
+            long bytes = (mThreadMXBean != null) ? mThreadMXBean.getThreadAllocatedBytes(threadId) : 0;
+            long nanos = System.nanoTime();
+
+            View view = mAdapter.getView(position, scrapView, mParent);
+
+            mNanos += System.nanoTime() - nanos;
+            if (mThreadMXBean != null) {
+                mBytes += mThreadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+            }
+            binds++;
+
+            if (view != scrapView) {
+                inflations++;
+                if (scrapView != null) {
+                    mScrapViews.addLast(scrapView);
+                }
+            }
+            return view;
+        }
+
+        long getNanosPerBind() {
+            return (binds == 0) ? 0 : mNanos / binds;
+        }
+
+        long getBytesPerBind() {
+            if (mThreadMXBean == null) {
+                return -1;
+            }
+            return (binds == 0) ? 0 : mBytes / binds;
+        }
+    }
+}